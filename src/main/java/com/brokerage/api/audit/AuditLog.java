@@ -0,0 +1,250 @@
+package com.brokerage.api.audit;
+
+import com.brokerage.api.config.AuditProperties;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.event.OrderEvent.ReservedBalance;
+import com.brokerage.api.security.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes one binary AuditRecord per committed order change to rotating files, independent of the application
+ * log and its levels. Order threads only copy the fields into a slot of the AuditRingBuffer; a single writer
+ * thread checksums the records and appends them to the current file. A failed write is retried with a new file, and
+ * the writer's state is reported as the auditLog health component and as audit.* meters.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLog implements InitializingBean, DisposableBean, HealthIndicator {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuditProperties auditProperties;
+    private final MeterRegistry meterRegistry;
+
+    private AuditRingBuffer buffer;
+    // Epoch nanos at System.nanoTime() == 0, so timestamps need no Instant per record
+    private long epochOffsetNanos;
+    private Thread writer;
+    private volatile boolean running;
+    private FileChannel file;
+    private volatile Path filePath;
+    // The last failed write, until a write succeeds again
+    private volatile Exception writerFailure;
+    private Counter droppedRecords;
+    private Counter writeFailures;
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        Files.createDirectories(Path.of(auditProperties.getDirectory()));
+        buffer = new AuditRingBuffer(auditProperties.getBufferSize());
+        Instant now = Instant.now();
+        epochOffsetNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano() - System.nanoTime();
+        droppedRecords = Counter.builder("audit.records.dropped")
+                .description("Audit records not written because the buffer stayed full")
+                .register(meterRegistry);
+        writeFailures = Counter.builder("audit.write.failures")
+                .description("Failed writes of the audit writer, each retried with a new file")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.records", buffer, AuditRingBuffer::size)
+                .description("Audit records waiting for the writer")
+                .register(meterRegistry);
+        Gauge.builder("audit.writer.failing", this, auditLog -> auditLog.writerFailure != null ? 1 : 0)
+                .description("1 while the audit writer can not write")
+                .register(meterRegistry);
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        // While the writer is failing a full buffer will not drain soon, so order threads do not wait for it
+        long sequence = buffer.claim(writerFailure == null ? auditProperties.getClaimTimeout().toNanos() : 0);
+        if (sequence < 0) {
+            droppedRecords.increment();
+            log.error("Audit buffer is full, record not written: {}", event);
+            return;
+        }
+        ReservedBalance balance = event.getReservedBalance();
+        try {
+            AuditRecord.write(buffer.slots(), buffer.offset(sequence), epochOffsetNanos + System.nanoTime(), sequence,
+                    currentUserId(), event.getType(), valueOf(event.getOrderId()), valueOf(event.getCustomerId()),
+                    event.getAssetName(), event.getOrderSide(), event.getOrderType(), event.getStatus(),
+                    valueOf(event.getSize()), valueOf(event.getPrice()), valueOf(event.getRemainingSize()),
+                    valueOf(event.getFillSize()), valueOf(event.getFillPrice()),
+                    balance != null ? balance.getSizeBefore() : Double.NaN,
+                    balance != null ? balance.getUsableBefore() : Double.NaN,
+                    balance != null ? balance.getSizeAfter() : Double.NaN,
+                    balance != null ? balance.getUsableAfter() : Double.NaN);
+        } finally {
+            buffer.publish(sequence);
+        }
+    }
+
+    // The current file, for tests and operators
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = writerFailure == null && writer.isAlive() ? Health.up() : Health.down();
+        if (writerFailure != null) {
+            health.withDetail("error", writerFailure.toString());
+        }
+        return health.withDetail("file", String.valueOf(filePath))
+                .withDetail("bufferedRecords", buffer.size())
+                .withDetail("droppedRecords", (long) droppedRecords.count())
+                .build();
+    }
+
+    // Waits until every record published so far is written
+    public void flush() {
+        while (!buffer.isEmpty() && writer.isAlive()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void writeLoop() {
+        try {
+            while (running || !buffer.isEmpty()) {
+                try {
+                    if (buffer.drain(this::append) == 0) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    } else if (writerFailure != null) {
+                        writerFailure = null;
+                        log.info("Audit log writer recovered, writing to {}", filePath);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    onWriteFailure(e);
+                    if (!running) {
+                        log.error("Audit log writer stopped with {} records not written", buffer.size());
+                        return;
+                    }
+                    LockSupport.parkNanos(auditProperties.getRetryInterval().toNanos());
+                }
+            }
+        } finally {
+            closeFile();
+        }
+    }
+
+    // The failed run stays in the buffer and is written again to a new file, so records written to the failed file
+    // before the error appear twice, with the same sequence numbers
+    private void onWriteFailure(Exception e) {
+        writeFailures.increment();
+        if (writerFailure == null) {
+            log.error("Audit log write failed, retrying with a new file every {}", auditProperties.getRetryInterval(), e);
+        }
+        writerFailure = e;
+        closeFile();
+    }
+
+    private void append(ByteBuffer records, long firstSequence, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            AuditRecord.seal(records, records.position() + i * AuditRecord.SIZE);
+        }
+        long maxFileSize = auditProperties.getMaxFileSize().toBytes();
+        int end = records.limit();
+        while (records.position() < end) {
+            if (file == null || (file.size() > AuditRecord.FILE_HEADER_SIZE
+                    && file.size() + AuditRecord.SIZE > maxFileSize)) {
+                rotate();
+            }
+            // Whole records up to the size limit, but at least one so a tiny limit still makes progress
+            long room = Math.max(AuditRecord.SIZE, (maxFileSize - file.size()) / AuditRecord.SIZE * AuditRecord.SIZE);
+            records.limit((int) Math.min(end, records.position() + room));
+            while (records.hasRemaining()) {
+                file.write(records);
+            }
+            records.limit(end);
+        }
+        if (auditProperties.isFsync()) {
+            file.force(false);
+        }
+    }
+
+    private void rotate() throws IOException {
+        closeFile();
+        Path directory = Files.createDirectories(Path.of(auditProperties.getDirectory()));
+        String name = "audit-" + LocalDateTime.now().format(FILE_TIME);
+        Path path = directory.resolve(name + ".bin");
+        for (int i = 1; Files.exists(path); i++) {
+            path = directory.resolve(name + "-" + i + ".bin");
+        }
+        file = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        filePath = path;
+
+        ByteBuffer header = ByteBuffer.allocate(AuditRecord.FILE_HEADER_SIZE)
+                .put(AuditRecord.FILE_MAGIC)
+                .putInt(AuditRecord.FILE_VERSION)
+                .putInt(AuditRecord.SIZE)
+                .flip();
+        while (header.hasRemaining()) {
+            file.write(header);
+        }
+        log.info("Writing audit records to {}", path);
+    }
+
+    private void closeFile() {
+        if (file == null) {
+            return;
+        }
+        try (FileChannel closing = file) {
+            closing.force(true);
+        } catch (IOException e) {
+            log.error("Could not close audit file {}", filePath, e);
+        } finally {
+            file = null;
+        }
+    }
+
+    private static long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId() : 0L;
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static double valueOf(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+}
@@ -0,0 +1,90 @@
+package com.brokerage.api.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Prints audit files as text, one line per record:
+ * <pre>
+ * java -cp target/classes com.brokerage.api.audit.AuditLogDecoder audit/audit-*.bin
+ * </pre>
+ * Records whose checksum does not match are marked CORRUPT, and a truncated last record is reported. The exit
+ * code is 1 if any file had problems.
+ */
+public class AuditLogDecoder {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditLogDecoder <audit file>...");
+            System.exit(2);
+        }
+        boolean ok = true;
+        for (String file : args) {
+            ok &= decode(Path.of(file), System.out);
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    public static boolean decode(Path path, PrintStream out) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(path));
+        byte[] magic = new byte[AuditRecord.FILE_MAGIC.length];
+        if (content.remaining() >= AuditRecord.FILE_HEADER_SIZE) {
+            content.get(magic);
+        }
+        if (!Arrays.equals(magic, AuditRecord.FILE_MAGIC)) {
+            out.println(path + ": not an audit file");
+            return false;
+        }
+        int version = content.getInt();
+        int recordSize = content.getInt();
+        if (version != AuditRecord.FILE_VERSION || recordSize != AuditRecord.SIZE) {
+            out.println(path + ": unsupported version " + version + " with " + recordSize + "-byte records");
+            return false;
+        }
+
+        boolean ok = true;
+        int offset = AuditRecord.FILE_HEADER_SIZE;
+        for (; offset + AuditRecord.SIZE <= content.limit(); offset += AuditRecord.SIZE) {
+            AuditRecord.Decoded record = AuditRecord.read(content, offset);
+            ok &= record.valid();
+            out.println(format(record));
+        }
+        if (offset < content.limit()) {
+            out.println(path + ": truncated record of " + (content.limit() - offset) + " bytes at the end");
+            ok = false;
+        }
+        return ok;
+    }
+
+    static String format(AuditRecord.Decoded record) {
+        StringBuilder line = new StringBuilder(200)
+                .append(record.timestamp())
+                .append(" seq=").append(record.sequence())
+                .append(" user=").append(record.userId())
+                .append(' ').append(record.action())
+                .append(" order=").append(record.orderId())
+                .append(" customer=").append(record.customerId())
+                .append(" asset=").append(record.assetName())
+                .append(" side=").append(record.side())
+                .append(" type=").append(record.orderType())
+                .append(" status=").append(record.status())
+                .append(" size=").append(record.size())
+                .append(" price=").append(record.price())
+                .append(" remaining=").append(record.remainingSize());
+        if (!Double.isNaN(record.fillSize())) {
+            line.append(" fill=").append(record.fillSize()).append('@').append(record.fillPrice());
+        }
+        if (!Double.isNaN(record.usableBefore())) {
+            line.append(" balance=").append(record.sizeBefore()).append('/').append(record.usableBefore())
+                    .append("->").append(record.sizeAfter()).append('/').append(record.usableAfter());
+        }
+        if (!record.valid()) {
+            line.append(" CORRUPT");
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package com.brokerage.api.audit;
+
+import com.brokerage.api.event.OrderEventType;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.model.OrderType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * Fixed 136-byte big-endian layout of one audit record. Enum fields hold the ordinal of the constant, so new
+ * constants may only be added at the end. Doubles that do not apply, like the fill of a CREATED record or the
+ * balance of an action that did not touch it, are NaN.
+ * <pre>
+ *   0 long   timestamp, nanoseconds since the epoch
+ *   8 long   sequence, per process start
+ *  16 long   user id of the acting user, 0 for the scheduler
+ *  24 long   order id
+ *  32 long   customer id
+ *  40 byte   action (OrderEventType), side, order type, status
+ *  44 int    CRC32C of the record with this field zeroed
+ *  48 byte[16] asset name, US-ASCII, zero padded
+ *  64 double size, price, remaining size, fill size, fill price
+ * 104 double reserved asset (TRY for BUY, the asset for SELL) size before, usable before, size after, usable after
+ * </pre>
+ */
+public final class AuditRecord {
+
+    public static final int SIZE = 136;
+    public static final byte[] FILE_MAGIC = "BRKAUDIT".getBytes(StandardCharsets.US_ASCII);
+    public static final int FILE_VERSION = 1;
+    // Magic, version and record size
+    public static final int FILE_HEADER_SIZE = 16;
+
+    private static final int TIMESTAMP = 0;
+    private static final int SEQUENCE = 8;
+    private static final int USER_ID = 16;
+    private static final int ORDER_ID = 24;
+    private static final int CUSTOMER_ID = 32;
+    private static final int ACTION = 40;
+    private static final int SIDE = 41;
+    private static final int ORDER_TYPE = 42;
+    private static final int STATUS = 43;
+    private static final int CRC = 44;
+    private static final int ASSET = 48;
+    private static final int ASSET_LENGTH = 16;
+    private static final int SIZE_FIELD = 64;
+    private static final int PRICE = 72;
+    private static final int REMAINING = 80;
+    private static final int FILL_SIZE = 88;
+    private static final int FILL_PRICE = 96;
+    private static final int SIZE_BEFORE = 104;
+    private static final int USABLE_BEFORE = 112;
+    private static final int SIZE_AFTER = 120;
+    private static final int USABLE_AFTER = 128;
+
+    private static final byte NONE = -1;
+
+    private AuditRecord() {
+    }
+
+    public static void write(ByteBuffer buffer, int offset, long timestampNanos, long sequence, long userId,
+                             OrderEventType action, long orderId, long customerId, String assetName,
+                             OrderSide side, OrderType orderType, OrderStatus status,
+                             double size, double price, double remaining, double fillSize, double fillPrice,
+                             double sizeBefore, double usableBefore, double sizeAfter, double usableAfter) {
+        buffer.putLong(offset + TIMESTAMP, timestampNanos);
+        buffer.putLong(offset + SEQUENCE, sequence);
+        buffer.putLong(offset + USER_ID, userId);
+        buffer.putLong(offset + ORDER_ID, orderId);
+        buffer.putLong(offset + CUSTOMER_ID, customerId);
+        buffer.put(offset + ACTION, code(action));
+        buffer.put(offset + SIDE, code(side));
+        buffer.put(offset + ORDER_TYPE, code(orderType));
+        buffer.put(offset + STATUS, code(status));
+        buffer.putInt(offset + CRC, 0);
+        for (int i = 0; i < ASSET_LENGTH; i++) {
+            char c = assetName != null && i < assetName.length() ? assetName.charAt(i) : 0;
+            buffer.put(offset + ASSET + i, c < 0x80 ? (byte) c : (byte) '?');
+        }
+        buffer.putDouble(offset + SIZE_FIELD, size);
+        buffer.putDouble(offset + PRICE, price);
+        buffer.putDouble(offset + REMAINING, remaining);
+        buffer.putDouble(offset + FILL_SIZE, fillSize);
+        buffer.putDouble(offset + FILL_PRICE, fillPrice);
+        buffer.putDouble(offset + SIZE_BEFORE, sizeBefore);
+        buffer.putDouble(offset + USABLE_BEFORE, usableBefore);
+        buffer.putDouble(offset + SIZE_AFTER, sizeAfter);
+        buffer.putDouble(offset + USABLE_AFTER, usableAfter);
+    }
+
+    // Stores the checksum of a record written with a zero CRC field
+    public static void seal(ByteBuffer buffer, int offset) {
+        buffer.putInt(offset + CRC, checksum(buffer, offset));
+    }
+
+    public static Decoded read(ByteBuffer buffer, int offset) {
+        int crc = buffer.getInt(offset + CRC);
+        buffer.putInt(offset + CRC, 0);
+        boolean valid = crc == checksum(buffer, offset);
+        buffer.putInt(offset + CRC, crc);
+
+        byte[] asset = new byte[ASSET_LENGTH];
+        int length = 0;
+        for (; length < ASSET_LENGTH && buffer.get(offset + ASSET + length) != 0; length++) {
+            asset[length] = buffer.get(offset + ASSET + length);
+        }
+        return new Decoded(
+                buffer.getLong(offset + TIMESTAMP),
+                buffer.getLong(offset + SEQUENCE),
+                buffer.getLong(offset + USER_ID),
+                decode(OrderEventType.values(), buffer.get(offset + ACTION)),
+                buffer.getLong(offset + ORDER_ID),
+                buffer.getLong(offset + CUSTOMER_ID),
+                new String(asset, 0, length, StandardCharsets.US_ASCII),
+                decode(OrderSide.values(), buffer.get(offset + SIDE)),
+                decode(OrderType.values(), buffer.get(offset + ORDER_TYPE)),
+                decode(OrderStatus.values(), buffer.get(offset + STATUS)),
+                buffer.getDouble(offset + SIZE_FIELD),
+                buffer.getDouble(offset + PRICE),
+                buffer.getDouble(offset + REMAINING),
+                buffer.getDouble(offset + FILL_SIZE),
+                buffer.getDouble(offset + FILL_PRICE),
+                buffer.getDouble(offset + SIZE_BEFORE),
+                buffer.getDouble(offset + USABLE_BEFORE),
+                buffer.getDouble(offset + SIZE_AFTER),
+                buffer.getDouble(offset + USABLE_AFTER),
+                valid);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, SIZE));
+        return (int) crc.getValue();
+    }
+
+    private static byte code(Enum<?> value) {
+        return value != null ? (byte) value.ordinal() : NONE;
+    }
+
+    private static <E extends Enum<E>> E decode(E[] values, byte code) {
+        return code >= 0 && code < values.length ? values[code] : null;
+    }
+
+    public record Decoded(long timestampNanos, long sequence, long userId, OrderEventType action, long orderId,
+                          long customerId, String assetName, OrderSide side, OrderType orderType, OrderStatus status,
+                          double size, double price, double remainingSize, double fillSize, double fillPrice,
+                          double sizeBefore, double usableBefore, double sizeAfter, double usableAfter,
+                          boolean valid) {
+
+        public Instant timestamp() {
+            return Instant.ofEpochSecond(0, timestampNanos);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.brokerage.api.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free ring of fixed-size audit record slots for many producers and one consumer. A producer claims a
+ * free sequence with one compare-and-set, writes its record into the slot in place and publishes it. The consumer
+ * hands out runs of consecutive published slots and frees them afterwards. Producers that run into a full ring
+ * wait for the consumer up to a timeout, records are never overwritten.
+ */
+public class AuditRingBuffer {
+
+    @FunctionalInterface
+    public interface RecordSink {
+        // Called with the run of records between the buffer's position and limit, in sequence order
+        void write(ByteBuffer records, long firstSequence, int count) throws IOException;
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final ByteBuffer slots;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    // Per slot: sequence + 1 of the record published in it
+    private final AtomicLongArray published;
+
+    public AuditRingBuffer(int minimumCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(1, minimumCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = ByteBuffer.allocateDirect(capacity * AuditRecord.SIZE);
+        this.published = new AtomicLongArray(capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // The slots, to be written at offset(sequence) between claim and publish
+    public ByteBuffer slots() {
+        return slots;
+    }
+
+    // Returns the claimed sequence, or -1 if no slot was freed within the timeout
+    public long claim(long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        for (int spins = 0; ; ) {
+            long sequence = claimed.get();
+            if (sequence - consumed.get() < capacity) {
+                // Only free slots are claimed, so a producer that gives up leaves no gap for the consumer
+                if (claimed.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+            } else if (System.nanoTime() - deadline >= 0) {
+                return -1;
+            } else if (spins++ < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+    }
+
+    public int offset(long sequence) {
+        return (int) (sequence & mask) * AuditRecord.SIZE;
+    }
+
+    public void publish(long sequence) {
+        published.lazySet((int) (sequence & mask), sequence + 1);
+    }
+
+    /**
+     * Passes the published records that follow the last drained one to the sink, at most up to the end of the ring,
+     * and frees their slots. Returns the number of records drained.
+     */
+    public int drain(RecordSink sink) throws IOException {
+        long first = consumed.get();
+        int start = (int) (first & mask);
+        int count = 0;
+        while (start + count < capacity && published.get(start + count) == first + count + 1) {
+            count++;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        ByteBuffer records = slots.duplicate();
+        records.limit((start + count) * AuditRecord.SIZE).position(start * AuditRecord.SIZE);
+        sink.write(records, first, count);
+        consumed.lazySet(first + count);
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return consumed.get() == claimed.get();
+    }
+
+    // Records claimed and not drained yet
+    public int size() {
+        return (int) (claimed.get() - consumed.get());
+    }
+}
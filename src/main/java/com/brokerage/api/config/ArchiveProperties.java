@@ -0,0 +1,24 @@
+package com.brokerage.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.archive")
+@Data
+public class ArchiveProperties {
+
+    // Moves closed orders from the orders table to monthly archive tables, see OrderArchiver
+    private boolean enabled = true;
+
+    // Closed orders created longer ago than this are archived
+    private Duration olderThan = Duration.ofDays(30);
+
+    // Orders moved per transaction
+    private int batchSize = 1000;
+
+    private long intervalMs = 600_000;
+}
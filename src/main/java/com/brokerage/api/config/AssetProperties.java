@@ -0,0 +1,19 @@
+package com.brokerage.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.assets")
+@Data
+public class AssetProperties {
+
+    // Customers per IN query of GET /api/assets/bulk
+    private int bulkChunkSize = 500;
+
+    // Chunk queries running at the same time
+    private int bulkQueryThreads = 4;
+
+    private int bulkMaxCustomers = 10_000;
+}
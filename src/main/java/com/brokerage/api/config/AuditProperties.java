@@ -0,0 +1,36 @@
+package com.brokerage.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.audit")
+@Data
+public class AuditProperties {
+
+    private boolean enabled = true;
+
+    // Audit files are written here as audit-<start time>.bin. Deployments point this at durable storage
+    private String directory = Path.of(System.getProperty("java.io.tmpdir"), "brokerage-api", "audit").toString();
+
+    // A new file is started once the current one reaches this size
+    private DataSize maxFileSize = DataSize.ofMegabytes(64);
+
+    // Records buffered between the order threads and the writer, rounded up to a power of two
+    private int bufferSize = 8192;
+
+    // Longest an order thread waits for the writer when the buffer is full. The record is then logged at ERROR
+    // instead and counted in audit.records.dropped
+    private Duration claimTimeout = Duration.ofSeconds(1);
+
+    // Pause before the writer retries with a new file after a failed write
+    private Duration retryInterval = Duration.ofSeconds(1);
+
+    // Force every written batch to disk
+    private boolean fsync = false;
+}
@@ -0,0 +1,91 @@
+package com.brokerage.api.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+
+/**
+ * CBOR (application/cbor) and Smile (application/x-jackson-smile) bodies next to JSON, chosen by the Accept and
+ * Content-Type headers; JSON stays the default. The binary formats write LocalDateTime values as nanoseconds since
+ * the epoch, taking them as local times of the server's time zone like LocalDateTime.now() does, and enums as their
+ * ordinal, so clients decode numbers only. Both are read back the same way, ISO strings are accepted as well.
+ * <p>
+ * The mappers are wrapped in the converters rather than exposed as beans, as an ObjectMapper bean would replace
+ * the JSON one.
+ */
+@Configuration
+public class BinaryContentConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryMapper(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryMapper(builder, new SmileFactory()));
+    }
+
+    public static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        ZoneId zone = ZoneId.systemDefault();
+        return builder
+                .factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                .serializerByType(LocalDateTime.class, new EpochNanosSerializer(zone.getRules()))
+                .deserializerByType(LocalDateTime.class, new EpochNanosDeserializer(zone))
+                .build();
+    }
+
+    static class EpochNanosSerializer extends JsonSerializer<LocalDateTime> {
+
+        private final ZoneRules rules;
+
+        EpochNanosSerializer(ZoneRules rules) {
+            this.rules = rules;
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeNumber(value.toEpochSecond(rules.getOffset(value)) * 1_000_000_000L + value.getNano());
+        }
+    }
+
+    static class EpochNanosDeserializer extends JsonDeserializer<LocalDateTime> {
+
+        private final ZoneId zone;
+
+        EpochNanosDeserializer(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDateTime.ofInstant(Instant.ofEpochSecond(0, parser.getLongValue()), zone);
+            }
+            return LocalDateTimeDeserializer.INSTANCE.deserialize(parser, context);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.brokerage.api.config;
 
+import com.brokerage.api.event.DatabaseSeededEvent;
 import com.brokerage.api.model.Asset;
 import com.brokerage.api.model.Customer;
 import com.brokerage.api.model.User;
@@ -8,7 +9,9 @@ import com.brokerage.api.repository.CustomerRepository;
 import com.brokerage.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @RequiredArgsConstructor
@@ -27,23 +31,39 @@ public class DatabaseInitializer {
     private final AssetRepository assetRepository;
     private final PasswordEncoder passwordEncoder;
 
+    // Deferred seeding runs on a background thread, so startup does not wait for the password hashing. Logins of
+    // the seed users fail until it is done
     @Bean
-    public CommandLineRunner initDatabase() {
+    public CommandLineRunner initDatabase(ApplicationEventPublisher eventPublisher,
+                                          @Value("${app.seeding.deferred:false}") boolean deferred) {
         return args -> {
-            initAdmin();
+            if (!deferred) {
+                seed(eventPublisher);
+                return;
+            }
+            Thread seeding = new Thread(() -> seed(eventPublisher), "database-seeding");
+            seeding.setDaemon(true);
+            seeding.start();
+        };
+    }
 
-            // Creating first customer
-            User customer1User = initCustomerUser("customer1", "password123");
-            Customer customer1 = initCustomer("Customer 1", customer1User);
-            initCustomerAssets(customer1.getId());
+    private void seed(ApplicationEventPublisher eventPublisher) {
+        long start = System.nanoTime();
+        initAdmin();
 
-            // Creating second customer
-            User customer2User = initCustomerUser("customer2", "password123");
-            Customer customer2 = initCustomer("Customer 2", customer2User);
-            initCustomerAssets(customer2.getId());
+        // Creating first customer
+        User customer1User = initCustomerUser("customer1", "password123");
+        Customer customer1 = initCustomer("Customer 1", customer1User);
+        initCustomerAssets(customer1.getId());
 
-            logDatabaseState();
-        };
+        // Creating second customer
+        User customer2User = initCustomerUser("customer2", "password123");
+        Customer customer2 = initCustomer("Customer 2", customer2User);
+        initCustomerAssets(customer2.getId());
+
+        logDatabaseState();
+        log.info("Database seeded in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        eventPublisher.publishEvent(new DatabaseSeededEvent());
     }
 
     @Transactional
@@ -0,0 +1,32 @@
+package com.brokerage.api.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * Hibernate opens hibernate.javax.cache.uri as a java.net.URL, and only Tomcat registers a handler for
+     * classpath: URLs. The cache manager is created here instead, so the reactive stack on Netty starts too.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jcacheManagerCustomizer() {
+        return properties -> {
+            Object uri = properties.get(ConfigSettings.CONFIG_URI);
+            Object provider = properties.get(ConfigSettings.PROVIDER);
+            if (uri == null || provider == null || properties.containsKey(ConfigSettings.CACHE_MANAGER)) {
+                return;
+            }
+            CachingProvider cachingProvider = Caching.getCachingProvider(provider.toString());
+            properties.put(ConfigSettings.CACHE_MANAGER,
+                    cachingProvider.getCacheManager(URI.create(uri.toString()), getClass().getClassLoader()));
+        };
+    }
+}
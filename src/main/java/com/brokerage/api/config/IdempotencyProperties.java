@@ -0,0 +1,21 @@
+package com.brokerage.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+@Data
+public class IdempotencyProperties {
+
+    // How long a key is remembered, retries after this window create a new order
+    private Duration ttl = Duration.ofHours(24);
+
+    // Most recent keys kept in memory, older ones are read from the database
+    private int cacheSize = 10_000;
+
+    private long purgeIntervalMs = 600_000;
+}
@@ -0,0 +1,34 @@
+package com.brokerage.api.config;
+
+import com.brokerage.api.logging.LogSamplingInstaller;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * With spring.main.lazy-initialization, as in the faststart profile, beans are created when first used: the
+ * controllers, services and Swagger with the first request that needs them. Beans nothing asks for but which have to
+ * run anyway, the @Scheduled jobs and the log sampling, are still created at startup.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter backgroundBeans() {
+        return (beanName, beanDefinition, beanType) ->
+                beanType == LogSamplingInstaller.class || hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        AtomicBoolean scheduled = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType,
+                method -> scheduled.set(true),
+                method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return scheduled.get();
+    }
+}
@@ -0,0 +1,17 @@
+package com.brokerage.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.logging")
+@Data
+public class LoggingProperties {
+
+    // Logger category to N: only one in N of its INFO, DEBUG and TRACE events is written, WARN and ERROR always are
+    private Map<String, Integer> sampling = new HashMap<>();
+}
@@ -0,0 +1,29 @@
+package com.brokerage.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+@Component
+@ConfigurationProperties(prefix = "app.orders")
+@Data
+public class OrderProperties {
+
+    // DAY orders expire at this local time, or at the next day's close when placed after it
+    private LocalTime dayCloseTime = LocalTime.of(18, 0);
+
+    // Matching is not immediate, so IOC orders rest for this window before they expire
+    private Duration iocWindow = Duration.ofSeconds(1);
+
+    private long expiryTickMs = 100;
+
+    private int expiryBatchSize = 500;
+
+    // Default and upper bound of the limit of GET /api/orders/changes
+    private int changesBatchSize = 500;
+
+    private int changesMaxBatchSize = 5000;
+}
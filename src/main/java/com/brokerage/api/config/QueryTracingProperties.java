@@ -0,0 +1,22 @@
+package com.brokerage.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.query-tracing")
+@Data
+public class QueryTracingProperties {
+
+    private boolean enabled = true;
+
+    // Adds the X-DB-* headers with the counts of a request to its response, meant for development
+    private boolean headers = false;
+
+    // Requests running more statements or spending more time in JDBC calls are logged and counted as over budget
+    private int maxStatements = 10;
+    private Duration maxTime = Duration.ofMillis(100);
+}
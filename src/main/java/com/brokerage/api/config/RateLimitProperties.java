@@ -0,0 +1,34 @@
+package com.brokerage.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Limits per role authority, e.g. ROLE_CUSTOMER; users with several roles get the most generous limit
+    private Map<String, RoleLimits> roles = new HashMap<>();
+
+    @Data
+    public static class RoleLimits {
+        // Order entry: POST, PATCH and DELETE requests
+        private Limit orders = new Limit();
+        // Every GET request
+        private Limit queries = new Limit();
+    }
+
+    @Data
+    public static class Limit {
+        private double requestsPerSecond = 10;
+        // Requests that can be sent at once after an idle period
+        private int burst = 20;
+    }
+}
@@ -0,0 +1,26 @@
+package com.brokerage.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.replica")
+@Data
+public class ReplicaProperties {
+
+    // Routes read-only transactions to the replica database, see ReplicaDataSourceConfig
+    private boolean enabled = false;
+
+    private String url;
+    private String username = "sa";
+    private String password = "";
+    private int maximumPoolSize = 10;
+
+    // Read-only transactions go to the primary while replication is further behind than this
+    private Duration maxStaleness = Duration.ofSeconds(1);
+
+    private long applyIntervalMs = 50;
+}
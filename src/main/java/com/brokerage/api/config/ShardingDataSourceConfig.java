@@ -0,0 +1,64 @@
+package com.brokerage.api.config;
+
+import com.brokerage.api.sharding.ShardMap;
+import com.brokerage.api.sharding.ShardRoutingAspect;
+import com.brokerage.api.sharding.ShardRoutingDataSource;
+import com.brokerage.api.sharding.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Customer sharding enabled by the sharding Spring profile: orders, assets and fills are spread over several
+ * databases by customer, users and customers stay on the first one. Repository calls are routed by ShardRoutingAspect.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingDataSourceConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties) {
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + shards.size());
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            shards.add(dataSource);
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(shards);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         ShardRoutingDataSource shardRoutingDataSource,
+                                                         ShardMap shardMap) {
+        return new ShardSchemaInitializer(entityManagerFactory, shardRoutingDataSource, shardMap);
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardMap shardMap, ShardingProperties properties) {
+        return new ShardRoutingAspect(shardMap, properties.getFanOutThreads());
+    }
+}
@@ -0,0 +1,35 @@
+package com.brokerage.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.sharding")
+@Data
+public class ShardingProperties {
+
+    // Spreads the orders, assets and fills of customers over the shards below, see ShardingDataSourceConfig
+    private boolean enabled = false;
+
+    // Shard databases in shard order, the first one also holds users and customers
+    private List<Shard> shards = new ArrayList<>();
+
+    // Points per shard on the consistent hash ring
+    private int virtualNodes = 128;
+
+    private int maximumPoolSize = 10;
+
+    // Threads running the per-shard parts of queries that are not bound to a single shard
+    private int fanOutThreads = 8;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username = "sa";
+        private String password = "";
+    }
+}
@@ -1,23 +1,60 @@
 package com.brokerage.api.controller;
 import com.brokerage.api.dto.request.MatchOrderRequest;
+import com.brokerage.api.dto.request.PriceUpdateRequest;
+import com.brokerage.api.dto.response.InstrumentExposureResponse;
 import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.risk.InstrumentExposureTracker;
+import com.brokerage.api.risk.PreTradeRiskEngine;
 import com.brokerage.api.service.OrderService;
+import com.brokerage.api.service.PriceService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import javax.validation.Valid;
+import java.util.List;
+import java.util.Map;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/admin")
 @PreAuthorize("hasRole('ADMIN')")
 @RequiredArgsConstructor
+@Validated
 public class AdminController {
 
     private final OrderService orderService;
+    private final PriceService priceService;
+    private final PreTradeRiskEngine riskEngine;
+    private final InstrumentExposureTracker exposureTracker;
 
     @PostMapping("/orders/match")
     public ResponseEntity<OrderResponse> matchOrder(@Valid @RequestBody MatchOrderRequest request) {
-        return ResponseEntity.ok(orderService.matchOrder(request.getOrderId()));
+        return ResponseEntity.ok(orderService.matchOrder(request.getOrderId(), request.getSize(), request.getPrice()));
+    }
+
+    @GetMapping("/prices")
+    public ResponseEntity<Map<String, Double>> getPrices() {
+        return ResponseEntity.ok(priceService.getPrices());
+    }
+
+    @PostMapping("/prices")
+    public ResponseEntity<Map<String, Double>> uploadPrices(
+            @RequestBody List<@NotNull @Valid PriceUpdateRequest> request) {
+        priceService.updatePrices(request);
+        return ResponseEntity.ok(priceService.getPrices());
+    }
+
+    @GetMapping("/risk/rejections")
+    public ResponseEntity<Map<String, Long>> getRiskRejections() {
+        return ResponseEntity.ok(riskEngine.getRejectionCounts());
+    }
+
+    @GetMapping("/exposure")
+    public ResponseEntity<List<InstrumentExposureResponse>> getExposure() {
+        return ResponseEntity.ok(exposureTracker.getExposures());
     }
 }
@@ -2,29 +2,89 @@ package com.brokerage.api.controller;
 
 import com.brokerage.api.dto.request.AssetFilterRequest;
 import com.brokerage.api.dto.response.AssetResponse;
+import com.brokerage.api.dto.response.PortfolioValuationResponse;
 import com.brokerage.api.exception.ResourceNotFoundException;
 import com.brokerage.api.service.AssetService;
+import com.brokerage.api.service.BalanceVersionService;
+import com.brokerage.api.service.BulkAssetService;
+import com.brokerage.api.service.PortfolioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/assets")
 @RequiredArgsConstructor
 @Slf4j
 public class AssetController {
 
     private final AssetService assetService;
+    private final PortfolioService portfolioService;
+    private final BalanceVersionService balanceVersionService;
+    private final BulkAssetService bulkAssetService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or @securityService.isCustomerOwner(#customerId, authentication)")
-    public ResponseEntity<List<AssetResponse>> getAssetsByCustomerId(@RequestParam Long customerId) {
+    public ResponseEntity<List<AssetResponse>> getAssetsByCustomerId(@RequestParam Long customerId,
+                                                                     WebRequest request) {
+        // The version is taken before the assets are read, a change in between only costs the next poll a 200
+        Optional<String> eTag = balanceVersionService.getETag(customerId);
+        if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+            log.debug("Assets of customer ID: {} not modified", customerId);
+            // checkNotModified has written the ETag header already
+            return revalidated(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).build();
+        }
+
         log.info("Getting assets for customer ID: {}", customerId);
-        return ResponseEntity.ok(assetService.getAssetsByCustomerId(customerId));
+        List<AssetResponse> assets = assetService.getAssetsByCustomerId(customerId);
+        return eTag.isPresent()
+                ? revalidated(ResponseEntity.ok()).eTag(eTag.get()).body(assets)
+                : ResponseEntity.ok(assets);
+    }
+
+    // One asset per line (application/x-ndjson); each chunk of customers is written as soon as its query completes
+    @GetMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void getAssetsByCustomerIds(@RequestParam(required = false) List<Long> customerIds,
+                                       @RequestParam(required = false) Long fromCustomerId,
+                                       @RequestParam(required = false) Long toCustomerId,
+                                       HttpServletResponse response) throws IOException {
+        List<Long> ids = bulkAssetService.resolveCustomerIds(customerIds, fromCustomerId, toCustomerId);
+        log.info("Getting assets of {} customers", ids.size());
+
+        ObjectWriter writer = objectMapper.writerFor(AssetResponse.class);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream body = response.getOutputStream();
+        bulkAssetService.getAssetsByCustomerIds(ids, assets -> {
+            try {
+                for (AssetResponse asset : assets) {
+                    body.write(writer.writeValueAsBytes(asset));
+                    body.write('\n');
+                }
+                body.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     @GetMapping("/filter")
@@ -46,6 +106,13 @@ public class AssetController {
         return ResponseEntity.ok(assetService.filterAssets(request));
     }
 
+    @GetMapping("/valuation")
+    @PreAuthorize("hasRole('ADMIN') or @securityService.isCustomerOwner(#customerId, authentication)")
+    public ResponseEntity<PortfolioValuationResponse> getPortfolioValuation(@RequestParam Long customerId) {
+        log.info("Getting portfolio valuation for customer ID: {}", customerId);
+        return ResponseEntity.ok(portfolioService.getPortfolioValuation(customerId));
+    }
+
     @GetMapping("/{customerId}/{assetName}")
     @PreAuthorize("hasRole('ADMIN') or @securityService.isCustomerOwner(#customerId, authentication)")
     public ResponseEntity<AssetResponse> getAssetByCustomerIdAndName(
@@ -66,4 +133,10 @@ public class AssetController {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    // The tag is weak and the response varies by Accept, as JSON, CBOR and Smile bodies share the version
+    private static ResponseEntity.BodyBuilder revalidated(ResponseEntity.BodyBuilder builder) {
+        return builder.cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+}
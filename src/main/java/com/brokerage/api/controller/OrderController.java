@@ -1,17 +1,24 @@
 package com.brokerage.api.controller;
 
+import com.brokerage.api.dto.request.AmendOrderRequest;
 import com.brokerage.api.dto.request.CreateOrderRequest;
 import com.brokerage.api.dto.request.OrderFilterRequest;
+import com.brokerage.api.dto.response.FillResponse;
+import com.brokerage.api.dto.response.OrderChangesResponse;
 import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.metrics.OrderMetrics;
 import com.brokerage.api.model.Customer;
+import com.brokerage.api.model.IdempotentOperation;
 import com.brokerage.api.model.User;
 import com.brokerage.api.repository.CustomerRepository;
 import com.brokerage.api.repository.UserRepository;
 import com.brokerage.api.security.CurrentUser;
 import com.brokerage.api.security.UserPrincipal;
+import com.brokerage.api.service.IdempotencyService;
 import com.brokerage.api.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,31 +28,41 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 @Slf4j
 public class OrderController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
     private final UserRepository userRepository;
     private final CustomerRepository customerRepository;
+    private final OrderMetrics orderMetrics;
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@RequestBody CreateOrderRequest request,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
                                                      @CurrentUser UserPrincipal currentUser) {
-        log.info("Create order request received: {}", request);
+        log.debug("Create order request received: {}", request);
         // If admin, allow creating orders for any customer
         boolean isAdmin = currentUser.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
 
         if (isAdmin) {
-            log.info("Admin user creating order for customer ID: {}", request.getCustomerId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(orderService.createOrder(request));
+            log.debug("Admin user creating order for customer ID: {}", request.getCustomerId());
+            return idempotent(HttpStatus.CREATED, currentUser, idempotencyKey, IdempotentOperation.CREATE_ORDER, request,
+                    () -> orderService.createOrder(request));
         }
 
         // If regular user, verify they are creating an order for their own customer
+        long ownershipStart = System.nanoTime();
         User user = userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -58,9 +75,11 @@ public class OrderController {
                     user.getUsername(), request.getCustomerId(), customer.getId());
             throw new AccessDeniedException("You can only create orders for your own account");
         }
+        orderMetrics.record(OrderMetrics.Stage.OWNERSHIP, ownershipStart);
 
-        log.info("Customer user creating order for their account (ID: {})", customer.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(orderService.createOrder(request));
+        log.debug("Customer user creating order for their account (ID: {})", customer.getId());
+        return idempotent(HttpStatus.CREATED, currentUser, idempotencyKey, IdempotentOperation.CREATE_ORDER, request,
+                () -> orderService.createOrder(request));
     }
 
     @GetMapping
@@ -87,25 +106,66 @@ public class OrderController {
         return ResponseEntity.ok(orderService.filterOrders(request));
     }
 
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('ADMIN') or @securityService.isCustomerOwner(#customerId, authentication)")
+    public ResponseEntity<OrderChangesResponse> getOrderChanges(
+            @RequestParam Long customerId,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getOrderChanges(customerId, after, limit));
+    }
+
+    @GetMapping("/{orderId}/fills")
+    @PreAuthorize("hasRole('ADMIN') or @securityService.isOrderOwner(#orderId, authentication)")
+    public ResponseEntity<List<FillResponse>> getFills(@PathVariable Long orderId) {
+        return ResponseEntity.ok(orderService.getFills(orderId));
+    }
+
+    @PatchMapping("/{orderId}")
+    @PreAuthorize("hasRole('ADMIN') or @securityService.isOrderOwner(#orderId, authentication)")
+    public ResponseEntity<OrderResponse> amendOrder(
+            @PathVariable Long orderId,
+            @RequestBody AmendOrderRequest request,
+            @CurrentUser UserPrincipal currentUser) {
+        return ResponseEntity.ok(orderService.amendOrder(orderId, request, getCustomerIdUnlessAdmin(currentUser)));
+    }
+
     @DeleteMapping("/{orderId}")
     @PreAuthorize("hasRole('ADMIN') or @securityService.isOrderOwner(#orderId, authentication)")
     public ResponseEntity<OrderResponse> cancelOrder(
             @PathVariable Long orderId,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @CurrentUser UserPrincipal currentUser) {
 
-        Long customerId = null;
+        Long customerId = getCustomerIdUnlessAdmin(currentUser);
+        log.debug("Cancelling order ID: {} for customer ID: {}", orderId, customerId);
 
-        // If admin is canceling, need to get the customerId from the order
-        if (currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-            log.info("Admin cancelling order ID: {}", orderId);
-            customerId = null; // Service will handle getting customer ID from order
-        } else {
-            User user = userRepository.findById(currentUser.getId()).orElseThrow();
-            Customer customer = customerRepository.findByUser(user).orElseThrow();
-            customerId = customer.getId();
-            log.info("Customer user (ID: {}) cancelling order ID: {}", customerId, orderId);
+        return idempotent(HttpStatus.OK, currentUser, idempotencyKey, IdempotentOperation.CANCEL_ORDER, orderId,
+                () -> orderService.cancelOrder(orderId, customerId));
+    }
+
+    // Without a key the action simply runs, with a key retries get the original response and a replay header
+    private ResponseEntity<OrderResponse> idempotent(HttpStatus status, UserPrincipal currentUser, String idempotencyKey,
+                                                     IdempotentOperation operation, Object request,
+                                                     Supplier<OrderResponse> action) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(status).body(action.get());
         }
 
-        return ResponseEntity.ok(orderService.cancelOrder(orderId, customerId));
+        IdempotencyService.Result result = idempotencyService.execute(
+                currentUser.getId(), idempotencyKey, operation, request, action);
+        return ResponseEntity.status(status)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.response());
+    }
+
+    // Admins act on any order, so null is passed and the service uses the customer ID of the order
+    private Long getCustomerIdUnlessAdmin(UserPrincipal currentUser) {
+        if (currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            return null;
+        }
+        User user = userRepository.findById(currentUser.getId()).orElseThrow();
+        Customer customer = customerRepository.findByUser(user).orElseThrow();
+        return customer.getId();
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.brokerage.api.dto.request;
+
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmendOrderRequest {
+
+    // New total order size including already filled quantity, unchanged when null
+    @Positive(message = "Size must be positive")
+    private Double size;
+
+    // New limit price, unchanged when null
+    @Positive(message = "Price must be positive")
+    private Double price;
+}
@@ -1,6 +1,8 @@
 package com.brokerage.api.dto.request;
 
 import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderType;
+import com.brokerage.api.model.TimeInForce;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -8,6 +10,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
 
 @Data
 @Builder
@@ -28,7 +31,20 @@ public class CreateOrderRequest {
     @Positive(message = "Size must be positive")
     private Double size;
 
-    @NotNull(message = "Price is required")
+    // Required except for STOP orders, which use the stop price
     @Positive(message = "Price must be positive")
     private Double price;
+
+    // Defaults to LIMIT
+    private OrderType orderType;
+
+    // Required for STOP and STOP_LIMIT orders
+    @Positive(message = "Stop price must be positive")
+    private Double stopPrice;
+
+    // Defaults to GTC
+    private TimeInForce timeInForce;
+
+    // Required for GTT orders
+    private LocalDateTime expireDate;
 }
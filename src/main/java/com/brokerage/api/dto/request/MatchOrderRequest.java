@@ -3,7 +3,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import javax.validation.constraints.NotNull;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 @Data
 @Builder
@@ -13,4 +14,12 @@ public class MatchOrderRequest {
 
     @NotNull(message = "Order ID is required")
     private Long orderId;
+
+    // Fill size, defaults to the remaining size of the order
+    @Positive(message = "Size must be positive")
+    private Double size;
+
+    // Execution price, defaults to the order price
+    @Positive(message = "Price must be positive")
+    private Double price;
 }
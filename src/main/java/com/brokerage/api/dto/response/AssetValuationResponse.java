@@ -0,0 +1,17 @@
+package com.brokerage.api.dto.response;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetValuationResponse {
+    private String assetName;
+    private Double size;
+    // null when no price is known for the asset yet
+    private Double price;
+    private Double marketValue;
+}
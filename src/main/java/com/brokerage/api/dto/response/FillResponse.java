@@ -0,0 +1,18 @@
+package com.brokerage.api.dto.response;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FillResponse {
+    private Long id;
+    private Long orderId;
+    private Double size;
+    private Double price;
+    private LocalDateTime fillDate;
+}
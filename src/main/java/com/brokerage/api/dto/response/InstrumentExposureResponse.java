@@ -0,0 +1,22 @@
+package com.brokerage.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstrumentExposureResponse {
+    private String assetName;
+    // Sum over all customers' holdings of the instrument
+    private Double totalSize;
+    private Double totalUsable;
+    // Held but reserved for open orders, totalSize - totalUsable
+    private Double reservedSize;
+    // Remaining size times price of the open orders of the instrument, in TRY
+    private Double openBuyNotional;
+    private Double openSellNotional;
+}
@@ -0,0 +1,15 @@
+package com.brokerage.api.dto.response;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangeResponse {
+    private Long sequence;
+    // State of the order after the change
+    private OrderResponse order;
+}
@@ -0,0 +1,19 @@
+package com.brokerage.api.dto.response;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangesResponse {
+    private Long customerId;
+    // Sequence of the last change returned, or the requested one if there is none; the next request's after
+    private Long lastSequence;
+    // The batch is full, more changes can be fetched right away
+    private boolean hasMore;
+    private List<OrderChangeResponse> changes;
+}
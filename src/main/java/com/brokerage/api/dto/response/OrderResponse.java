@@ -1,6 +1,8 @@
 package com.brokerage.api.dto.response;
 import com.brokerage.api.model.OrderSide;
 import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.model.OrderType;
+import com.brokerage.api.model.TimeInForce;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +20,14 @@ public class OrderResponse {
     private OrderSide orderSide;
     private Double size;
     private Double price;
+    private OrderType orderType;
+    private Double stopPrice;
+    private Double filledSize;
+    private Double remainingSize;
+    private Double averageFillPrice;
     private OrderStatus status;
     private LocalDateTime createDate;
+    private LocalDateTime priorityDate;
+    private TimeInForce timeInForce;
+    private LocalDateTime expireDate;
 }
@@ -0,0 +1,19 @@
+package com.brokerage.api.dto.response;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioValuationResponse {
+    private Long customerId;
+    private String currency;
+    private Double totalValue;
+    private List<AssetValuationResponse> positions;
+    private LocalDateTime valuationTime;
+}
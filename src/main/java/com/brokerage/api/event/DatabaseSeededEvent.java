@@ -0,0 +1,9 @@
+package com.brokerage.api.event;
+
+/**
+ * Published once the seed users, customers and assets exist. Components that load state from the database at
+ * startup listen to it instead of ApplicationReadyEvent, because deferred seeding finishes after the application
+ * is ready.
+ */
+public class DatabaseSeededEvent {
+}
@@ -0,0 +1,93 @@
+package com.brokerage.api.event;
+
+import com.brokerage.api.model.Asset;
+import com.brokerage.api.model.Fill;
+import com.brokerage.api.model.Order;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.model.OrderType;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of an order state change, published after the order and its asset reservations were updated.
+ */
+@Value
+@Builder
+public class OrderEvent {
+    OrderEventType type;
+    Long orderId;
+    Long customerId;
+    String assetName;
+    OrderSide orderSide;
+    Double size;
+    Double price;
+    OrderType orderType;
+    Double stopPrice;
+    // Status and remaining size after the change
+    OrderStatus status;
+    Double remainingSize;
+    LocalDateTime expireDate;
+    // Only set for AMENDED events
+    Double previousRemainingSize;
+    Double previousPrice;
+    // Only set for FILLED events
+    Double fillSize;
+    Double fillPrice;
+    // Balance of the asset holding the reservation (TRY for BUY, the asset for SELL), when the change touched it
+    @With
+    ReservedBalance reservedBalance;
+
+    public static OrderEvent of(OrderEventType type, Order order) {
+        return snapshot(type, order).build();
+    }
+
+    public static OrderEvent ofAmend(Order order, double previousRemainingSize, double previousPrice) {
+        return snapshot(OrderEventType.AMENDED, order)
+                .previousRemainingSize(previousRemainingSize)
+                .previousPrice(previousPrice)
+                .build();
+    }
+
+    public static OrderEvent ofFill(Order order, Fill fill) {
+        return snapshot(OrderEventType.FILLED, order)
+                .fillSize(fill.getSize())
+                .fillPrice(fill.getPrice())
+                .build();
+    }
+
+    @Value
+    public static class ReservedBalance {
+        double sizeBefore;
+        double usableBefore;
+        double sizeAfter;
+        double usableAfter;
+
+        public static ReservedBalance before(Asset asset) {
+            return new ReservedBalance(asset.getSize(), asset.getUsableSize(), asset.getSize(), asset.getUsableSize());
+        }
+
+        public ReservedBalance after(Asset asset) {
+            return new ReservedBalance(sizeBefore, usableBefore, asset.getSize(), asset.getUsableSize());
+        }
+    }
+
+    private static OrderEventBuilder snapshot(OrderEventType type, Order order) {
+        return OrderEvent.builder()
+                .type(type)
+                .orderId(order.getId())
+                .customerId(order.getCustomerId())
+                .assetName(order.getAssetName())
+                .orderSide(order.getOrderSide())
+                .size(order.getSize())
+                .price(order.getPrice())
+                .orderType(order.getOrderType())
+                .stopPrice(order.getStopPrice())
+                .status(order.getStatus())
+                .remainingSize(order.getRemainingSize())
+                .expireDate(order.getExpireDate());
+    }
+}
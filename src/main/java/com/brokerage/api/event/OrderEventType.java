@@ -0,0 +1,5 @@
+package com.brokerage.api.event;
+
+public enum OrderEventType {
+    CREATED, AMENDED, TRIGGERED, FILLED, CANCELED, EXPIRED
+}
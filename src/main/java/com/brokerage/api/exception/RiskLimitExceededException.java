@@ -0,0 +1,9 @@
+package com.brokerage.api.exception;
+import org.springframework.http.HttpStatus;
+
+public class RiskLimitExceededException extends ApiException {
+
+    public RiskLimitExceededException(String message) {
+        super(message, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+}
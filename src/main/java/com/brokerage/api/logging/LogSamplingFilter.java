@@ -0,0 +1,59 @@
+package com.brokerage.api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appender filter that keeps one in N events of a logger category, matched on the longest configured prefix of
+ * the logger name. WARN and ERROR events are never dropped. Runs before an event is formatted or queued.
+ */
+public class LogSamplingFilter extends Filter<ILoggingEvent> {
+
+    private static final Sampler ALL = new Sampler(1, new AtomicLong());
+
+    private final Map<String, Integer> rates;
+    private final ConcurrentMap<String, Sampler> samplersByCategory = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Sampler> samplersByLogger = new ConcurrentHashMap<>();
+
+    public LogSamplingFilter(Map<String, Integer> rates) {
+        this.rates = Map.copyOf(rates);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = samplersByLogger.computeIfAbsent(event.getLoggerName(), this::resolve);
+        if (sampler.rate() <= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return sampler.count().getAndIncrement() % sampler.rate() == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // Loggers of one category share its counter, so the rate holds for the category as a whole
+    private Sampler resolve(String loggerName) {
+        String category = loggerName;
+        while (true) {
+            Integer rate = rates.get(category);
+            if (rate != null) {
+                return samplersByCategory.computeIfAbsent(category, name -> new Sampler(rate, new AtomicLong()));
+            }
+            int dot = category.lastIndexOf('.');
+            if (dot < 0) {
+                return ALL;
+            }
+            category = category.substring(0, dot);
+        }
+    }
+
+    private record Sampler(int rate, AtomicLong count) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.brokerage.api.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.brokerage.api.config.LoggingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Adds a LogSamplingFilter for app.logging.sampling to the appenders of the root logger.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LogSamplingInstaller implements InitializingBean {
+
+    private final LoggingProperties loggingProperties;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (loggingProperties.getSampling().isEmpty()
+                || !(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        LogSamplingFilter filter = new LogSamplingFilter(loggingProperties.getSampling());
+        filter.setContext(context);
+        filter.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> appenders = root.iteratorForAppenders(); appenders.hasNext(); ) {
+            appenders.next().addFilter(filter);
+        }
+        log.info("Sampling log categories {}", loggingProperties.getSampling());
+    }
+}
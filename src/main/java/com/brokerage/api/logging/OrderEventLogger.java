@@ -0,0 +1,39 @@
+package com.brokerage.api.logging;
+
+import com.brokerage.api.event.OrderEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * One structured INFO event per committed order change, under the com.brokerage.api.orders category. The message
+ * is the event type and the order fields are key/value pairs, so nothing is formatted on the request thread.
+ */
+@Component
+@Slf4j(topic = "com.brokerage.api.orders")
+public class OrderEventLogger {
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        LoggingEventBuilder builder = log.atInfo()
+                .setMessage(event.getType().name())
+                .addKeyValue("orderId", event.getOrderId())
+                .addKeyValue("customerId", event.getCustomerId())
+                .addKeyValue("asset", event.getAssetName())
+                .addKeyValue("side", event.getOrderSide())
+                .addKeyValue("type", event.getOrderType())
+                .addKeyValue("size", event.getSize())
+                .addKeyValue("price", event.getPrice())
+                .addKeyValue("status", event.getStatus())
+                .addKeyValue("remaining", event.getRemainingSize());
+        if (event.getFillSize() != null) {
+            builder = builder.addKeyValue("fillSize", event.getFillSize())
+                    .addKeyValue("fillPrice", event.getFillPrice());
+        }
+        if (event.getPreviousRemainingSize() != null) {
+            builder = builder.addKeyValue("previousRemaining", event.getPreviousRemainingSize());
+        }
+        builder.log();
+    }
+}
@@ -0,0 +1,99 @@
+package com.brokerage.api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of each stage of order entry as orders.create.stage timers with percentile histograms, and the
+ * outcome of each order as orders.create.outcome counters. Meters are registered up front, so recording a
+ * stage is one clock read and a histogram update.
+ */
+@Component
+public class OrderMetrics {
+
+    public enum Stage {
+        AUTH, OWNERSHIP, RISK_CHECK, BALANCE_READ, RESERVATION, INSERT, COMMIT
+    }
+
+    public enum Outcome {
+        ACCEPTED, INSUFFICIENT_FUNDS, NOT_FOUND, RISK_REJECTED
+    }
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+
+    public OrderMetrics(MeterRegistry registry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("orders.create.stage")
+                    .description("Time spent in each stage of order entry")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1_000))
+                    .maximumExpectedValue(Duration.ofSeconds(5))
+                    .register(registry));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("orders.create.outcome")
+                    .description("Orders accepted or rejected at entry")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    // Returns the end of the stage, which is the start of the next one
+    public long record(Stage stage, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers.get(stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void count(Outcome outcome) {
+        outcomeCounters.get(outcome).increment();
+    }
+
+    public <E extends RuntimeException> E count(Outcome outcome, E rejection) {
+        count(outcome);
+        return rejection;
+    }
+
+    /**
+     * Times the commit of the current transaction, including the flush of the reservation, and counts the order
+     * as accepted once it is committed. Without a transaction the order is counted right away.
+     */
+    public void recordCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            count(Outcome.ACCEPTED);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long start;
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                record(Stage.COMMIT, start);
+                count(Outcome.ACCEPTED);
+            }
+        });
+    }
+}
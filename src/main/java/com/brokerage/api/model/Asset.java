@@ -5,9 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
-@Table(name = "assets", uniqueConstraints = {@UniqueConstraint(columnNames = {"customerId", "assetName"})})
+@Table(name = "assets")
+// Balances change with every order, so only the (customerId, assetName) -> id resolution is cached, not the row
+@NaturalIdCache(region = "assetNaturalIds")
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,9 +22,11 @@ public class Asset {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false)
     private Long customerId;
 
+    @NaturalId
     @Column(nullable = false)
     private String assetName;
 
@@ -0,0 +1,37 @@
+package com.brokerage.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Last checkpoint of the firm-wide totals of one instrument, see InstrumentExposureTracker
+@Entity
+@Table(name = "exposure_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExposureCheckpoint {
+
+    @Id
+    private String assetName;
+
+    @Column(nullable = false)
+    private Double totalSize;
+
+    @Column(nullable = false)
+    private Double totalUsable;
+
+    @Column(nullable = false)
+    private Double openBuyNotional;
+
+    @Column(nullable = false)
+    private Double openSellNotional;
+
+    @Column(nullable = false)
+    private LocalDateTime checkpointDate;
+}
@@ -0,0 +1,43 @@
+package com.brokerage.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "fills", indexes = {@Index(columnList = "orderId")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Fill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private String assetName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderSide orderSide;
+
+    @Column(nullable = false)
+    private Double size;
+
+    @Column(nullable = false)
+    private Double price;
+
+    @Column(nullable = false)
+    private LocalDateTime fillDate;
+}
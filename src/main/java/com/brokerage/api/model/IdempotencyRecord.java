@@ -0,0 +1,51 @@
+package com.brokerage.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_records",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"userId", "idempotencyKey"})},
+        indexes = {@Index(columnList = "expireDate")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Keys are scoped to the user sending the request
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IdempotentOperation operation;
+
+    // Hash of the request, a key may not be reused for a different request
+    @Column(nullable = false)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    // Original response as JSON, returned as is on replays
+    @Column(nullable = false, length = 4000)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createDate;
+
+    @Column(nullable = false)
+    private LocalDateTime expireDate;
+}
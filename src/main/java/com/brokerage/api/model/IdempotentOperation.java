@@ -0,0 +1,5 @@
+package com.brokerage.api.model;
+
+public enum IdempotentOperation {
+    CREATE_ORDER, CANCEL_ORDER
+}
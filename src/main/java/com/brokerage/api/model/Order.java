@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {@Index(columnList = "customerId, changeSeq")})
 @Data
 @Builder
 @NoArgsConstructor
@@ -35,10 +35,49 @@ public class Order {
     @Column(nullable = false)
     private Double price;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private OrderType orderType = OrderType.LIMIT;
+
+    // Trade price that releases a STOP or STOP_LIMIT order, null for LIMIT orders
+    private Double stopPrice;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Double filledSize = 0.0;
+
+    // Size still reserved and open for fills
+    @Column(nullable = false)
+    private Double remainingSize;
+
+    // Volume weighted price of all fills, null until the first fill
+    private Double averageFillPrice;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private OrderStatus status;
 
     @Column(nullable = false)
     private LocalDateTime createDate;
+
+    // Time priority of the order, reset by amends that increase the size or change the price
+    @Column(nullable = false)
+    private LocalDateTime priorityDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private TimeInForce timeInForce = TimeInForce.GTC;
+
+    // Set for every time-in-force except GTC
+    private LocalDateTime expireDate;
+
+    // Position of the order's last change in the global OrderChangeSequence
+    @Column(nullable = false)
+    private Long changeSeq;
+
+    // Time of the order's last change, closed orders are archived once it is old enough
+    @Column(nullable = false)
+    private LocalDateTime changeDate;
 }
\ No newline at end of file
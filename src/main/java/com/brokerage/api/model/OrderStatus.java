@@ -1,5 +1,18 @@
 package com.brokerage.api.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
-    PENDING, MATCHED, CANCELED
+    PENDING_TRIGGER, PENDING, PARTIALLY_FILLED, MATCHED, CANCELED, EXPIRED;
+
+    // Statuses in which an order still holds a reservation and can be amended, canceled or expired
+    public static final Set<OrderStatus> OPEN = EnumSet.of(PENDING_TRIGGER, PENDING, PARTIALLY_FILLED);
+
+    // Open statuses that can be filled, stop orders only become fillable once triggered
+    public static final Set<OrderStatus> FILLABLE = EnumSet.of(PENDING, PARTIALLY_FILLED);
+
+    public boolean isOpen() {
+        return OPEN.contains(this);
+    }
 }
@@ -0,0 +1,9 @@
+package com.brokerage.api.model;
+
+public enum OrderType {
+    LIMIT, STOP, STOP_LIMIT;
+
+    public boolean isStop() {
+        return this != LIMIT;
+    }
+}
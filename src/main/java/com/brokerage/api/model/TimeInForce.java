@@ -0,0 +1,5 @@
+package com.brokerage.api.model;
+
+public enum TimeInForce {
+    GTC, DAY, GTT, IOC
+}
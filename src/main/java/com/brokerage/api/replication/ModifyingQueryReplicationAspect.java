@@ -0,0 +1,52 @@
+package com.brokerage.api.replication;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * Journals the table of every @Modifying repository query for the replicator, as bulk statements bypass the entity
+ * events. Their rows are not known, so the replicator deletes whatever the primary no longer has. Bulk updates would
+ * need every row copied and are rejected instead.
+ */
+@Aspect
+public class ModifyingQueryReplicationAspect {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReplicaReplicator replicator;
+
+    public ModifyingQueryReplicationAspect(EntityManagerFactory entityManagerFactory, ReplicaReplicator replicator) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.replicator = replicator;
+    }
+
+    @Around("target(org.springframework.data.repository.Repository) "
+            + "&& @annotation(org.springframework.data.jpa.repository.Modifying)")
+    public Object journal(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Query query = method.getAnnotation(Query.class);
+        if (query == null || !query.value().trim().toUpperCase(Locale.ROOT).startsWith("DELETE")) {
+            throw new UnsupportedOperationException(method.getName() + " is not replicated, "
+                    + "only bulk deletes can be used with the replica");
+        }
+
+        Object result = joinPoint.proceed();
+        Class<?> entity = ResolvableType.forClass(method.getDeclaringClass()).as(Repository.class).resolveGeneric(0);
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entity);
+        replicator.recordBulkDelete(persister.getTableName(), persister.getIdentifierColumnNames()[0]);
+        return result;
+    }
+}
@@ -0,0 +1,44 @@
+package com.brokerage.api.replication;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica as long as it is not more than the tolerated staleness behind the
+ * primary, everything else to the primary.
+ * <p>
+ * The route is decided when the transaction opens its connection, so this data source has to be wrapped in a
+ * LazyConnectionDataSourceProxy: the read-only flag of a transaction is only set after the transaction manager
+ * asked for the connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaReplicator replicator;
+    private final long maxStalenessNanos;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaReplicator replicator,
+                                      Duration maxStaleness) {
+        this.replicator = replicator;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicator.getLagNanos() <= maxStalenessNanos) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
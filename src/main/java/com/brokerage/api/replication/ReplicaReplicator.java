@@ -0,0 +1,190 @@
+package com.brokerage.api.replication;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps the replica database in sync with the primary. The replica is seeded with an H2 SCRIPT snapshot of the
+ * primary once the application is ready; after that, the rows changed by each committed transaction are journaled and
+ * copied to the replica on the next apply tick. A change copies the current primary row with MERGE, or deletes the row
+ * when it is gone, so applying a change twice or out of order is harmless.
+ * <p>
+ * Entity rows and element collections such as user_roles are journaled by ReplicationEventListener, bulk deletes by
+ * ModifyingQueryReplicationAspect. Collections are copied by owner, bulk deletes remove the replica rows that are gone
+ * from the primary; both are journaled once their transaction commits. A batch applies bulk deletes before rows, so a copied row
+ * never meets a deleted row with the same unique key, and clears collections before and fills them after the rows, so
+ * their owners exist.
+ */
+@Slf4j
+public class ReplicaReplicator {
+
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+
+    private final Queue<Change> journal = new ConcurrentLinkedQueue<>();
+    // Changes taken from the journal but not applied yet, retried on the next tick if the replica failed
+    private final List<Change> batch = new ArrayList<>();
+    private volatile boolean seeded;
+    private volatile long applyingSince = NONE;
+
+    public ReplicaReplicator(DataSource primary, DataSource replica) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+    }
+
+    public void record(String table, String idColumn, Object id) {
+        journal.add(new Change(Kind.ROW, table, idColumn, id, System.nanoTime()));
+    }
+
+    public void recordCollection(String table, String keyColumn, Object ownerId) {
+        afterCommit(() -> journal.add(new Change(Kind.COLLECTION, table, keyColumn, ownerId, System.nanoTime())));
+    }
+
+    // Rows removed by a statement that does not name them, such as a purge by date
+    public void recordBulkDelete(String table, String idColumn) {
+        afterCommit(() -> journal.add(new Change(Kind.BULK_DELETE, table, idColumn, table, System.nanoTime())));
+    }
+
+    // How long the oldest change not yet on the replica has been committed, unbounded until the replica is seeded
+    public long getLagNanos() {
+        if (!seeded) {
+            return Long.MAX_VALUE;
+        }
+        long oldest = applyingSince;
+        Change head = journal.peek();
+        if (head != null) {
+            oldest = Math.min(oldest, head.committedNanos());
+        }
+        return oldest == NONE ? 0 : System.nanoTime() - oldest;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        // Changes committed meanwhile stay in the journal and are applied on top of the snapshot
+        List<String> script = primary.queryForList("SCRIPT NOPASSWORDS NOSETTINGS", String.class);
+        replica.batchUpdate(script.toArray(new String[0]));
+        seeded = true;
+        log.info("Seeded replica with {} statements", script.size());
+        apply();
+    }
+
+    @Scheduled(fixedDelayString = "${app.replica.apply-interval-ms:50}")
+    public synchronized void apply() {
+        if (!seeded) {
+            return;
+        }
+        if (batch.isEmpty()) {
+            Change head = journal.peek();
+            if (head == null) {
+                return;
+            }
+            applyingSince = head.committedNanos();
+            Change change;
+            while ((change = journal.poll()) != null) {
+                batch.add(change);
+            }
+        }
+
+        // Only the latest state of a row is copied, however often it changed
+        Map<List<Object>, Change> rows = new LinkedHashMap<>();
+        batch.forEach(change -> rows.put(List.of(change.kind(), change.table(), change.id()), change));
+        try {
+            rows.values().stream()
+                    .filter(change -> change.kind() == Kind.COLLECTION)
+                    .forEach(this::clearCollection);
+            rows.values().stream()
+                    .sorted(Comparator.comparing(Change::kind))
+                    .forEach(this::apply);
+            batch.clear();
+            applyingSince = NONE;
+        } catch (RuntimeException e) {
+            log.error("Replicating {} changed rows failed, retrying on the next tick", rows.size(), e);
+        }
+    }
+
+    private void apply(Change change) {
+        switch (change.kind()) {
+            case BULK_DELETE -> deleteMissing(change);
+            case ROW -> copy(change);
+            case COLLECTION -> copyCollection(change);
+        }
+    }
+
+    private void deleteMissing(Change change) {
+        String select = "SELECT " + change.idColumn() + " FROM " + change.table();
+        Set<Object> current = new HashSet<>(primary.queryForList(select, Object.class));
+        List<Object[]> deleted = replica.queryForList(select, Object.class).stream()
+                .filter(id -> !current.contains(id))
+                .map(id -> new Object[]{id})
+                .toList();
+        replica.batchUpdate("DELETE FROM " + change.table() + " WHERE " + change.idColumn() + " = ?", deleted);
+    }
+
+    private void clearCollection(Change change) {
+        replica.update("DELETE FROM " + change.table() + " WHERE " + change.idColumn() + " = ?", change.id());
+    }
+
+    private void copyCollection(Change change) {
+        List<Map<String, Object>> current = primary.queryForList(
+                "SELECT * FROM " + change.table() + " WHERE " + change.idColumn() + " = ?", change.id());
+        for (Map<String, Object> row : current) {
+            replica.update("INSERT INTO " + change.table() + " (" + String.join(", ", row.keySet()) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(row.size(), "?")) + ")", row.values().toArray());
+        }
+    }
+
+    private void copy(Change change) {
+        List<Map<String, Object>> current = primary.queryForList(
+                "SELECT * FROM " + change.table() + " WHERE " + change.idColumn() + " = ?", change.id());
+        if (current.isEmpty()) {
+            replica.update("DELETE FROM " + change.table() + " WHERE " + change.idColumn() + " = ?", change.id());
+            return;
+        }
+
+        Map<String, Object> row = current.get(0);
+        replica.update("MERGE INTO " + change.table() + " (" + String.join(", ", row.keySet()) + ") KEY ("
+                        + change.idColumn() + ") VALUES (" + String.join(", ", Collections.nCopies(row.size(), "?")) + ")",
+                row.values().toArray());
+    }
+
+    // Changes made in a transaction must not be copied before they are visible on the primary
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // In the order a batch applies them
+    private enum Kind {
+        BULK_DELETE, ROW, COLLECTION
+    }
+
+    private record Change(Kind kind, String table, String idColumn, Object id, long committedNanos) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.brokerage.api.replication;
+
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Journals the rows of every entity inserted, updated or deleted by a committed transaction for the replicator, and the
+ * owners of the element collections it changed. Collection events fire on flush, the replicator holds them back until
+ * the commit. Bulk JPQL statements bypass these events and are journaled by ModifyingQueryReplicationAspect.
+ */
+public class ReplicationEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    private final ReplicaReplicator replicator;
+
+    public ReplicationEventListener(ReplicaReplicator replicator) {
+        this.replicator = replicator;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        recordCollection(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        recordCollection(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        recordCollection(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void record(EntityPersister persister, Object id) {
+        AbstractEntityPersister entityPersister = (AbstractEntityPersister) persister;
+        replicator.record(entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()[0], id);
+    }
+
+    private void recordCollection(AbstractCollectionEvent event) {
+        // A new collection has no role yet, its entry knows the persister it is flushed with
+        CollectionEntry entry = event.getSession().getPersistenceContextInternal()
+                .getCollectionEntry(event.getCollection());
+        AbstractCollectionPersister persister = (AbstractCollectionPersister) (entry.getCurrentPersister() != null
+                ? entry.getCurrentPersister() : entry.getLoadedPersister());
+        replicator.recordCollection(persister.getTableName(), persister.getKeyColumnNames()[0],
+                event.getAffectedOwnerIdOrNull());
+    }
+}
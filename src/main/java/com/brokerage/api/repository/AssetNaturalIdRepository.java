@@ -0,0 +1,13 @@
+package com.brokerage.api.repository;
+
+import com.brokerage.api.model.Asset;
+import java.util.Optional;
+
+/**
+ * (customerId, assetName) lookups through the natural-id API, so the id is resolved from the second-level cache and
+ * only the row itself is read from the database.
+ */
+public interface AssetNaturalIdRepository {
+
+    Optional<Asset> findByCustomerIdAndAssetName(Long customerId, String assetName);
+}
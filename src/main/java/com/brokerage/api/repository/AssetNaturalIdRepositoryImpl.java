@@ -0,0 +1,25 @@
+package com.brokerage.api.repository;
+
+import com.brokerage.api.model.Asset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Optional;
+
+// Read-only transaction unless called within one, as in UserNaturalIdRepositoryImpl
+@Transactional(readOnly = true)
+class AssetNaturalIdRepositoryImpl implements AssetNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Asset> findByCustomerIdAndAssetName(Long customerId, String assetName) {
+        return entityManager.unwrap(Session.class)
+                .byNaturalId(Asset.class)
+                .using("customerId", customerId)
+                .using("assetName", assetName)
+                .loadOptional();
+    }
+}
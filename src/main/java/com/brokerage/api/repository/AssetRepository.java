@@ -1,19 +1,40 @@
 package com.brokerage.api.repository;
+import com.brokerage.api.dto.response.AssetResponse;
 import com.brokerage.api.model.Asset;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface AssetRepository extends JpaRepository<Asset, Long> {
+public interface AssetRepository extends JpaRepository<Asset, Long>, AssetNaturalIdRepository {
 
     List<Asset> findByCustomerId(Long customerId);
 
-    Optional<Asset> findByCustomerIdAndAssetName(Long customerId, String assetName);
+    // Read path: projects straight into the response, no managed entities are created
+    @Query("SELECT new com.brokerage.api.dto.response.AssetResponse(a.id, a.customerId, a.assetName, a.size, a.usableSize) " +
+            "FROM Asset a WHERE a.customerId = :customerId")
+    List<AssetResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT new com.brokerage.api.dto.response.AssetResponse(a.id, a.customerId, a.assetName, a.size, a.usableSize) " +
+            "FROM Asset a WHERE a.customerId IN :customerIds ORDER BY a.customerId, a.id")
+    List<AssetResponse> findResponsesByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
 
     @Query("SELECT a FROM Asset a WHERE a.customerId = :customerId AND a.assetName != 'TRY'")
     List<Asset> findAllExcludingTRYByCustomerId(@Param("customerId") Long customerId);
+
+    // Holdings of all customers per instrument, with sharding one row per instrument and shard
+    @Query("SELECT a.assetName AS assetName, SUM(a.size) AS totalSize, SUM(a.usableSize) AS totalUsable " +
+            "FROM Asset a GROUP BY a.assetName")
+    List<InstrumentTotals> sumByAssetName();
+
+    interface InstrumentTotals {
+        String getAssetName();
+
+        Double getTotalSize();
+
+        Double getTotalUsable();
+    }
 }
\ No newline at end of file
@@ -2,7 +2,10 @@ package com.brokerage.api.repository;
 
 import com.brokerage.api.model.Customer;
 import com.brokerage.api.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -11,5 +14,10 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findByCustomerName(String customerName);
 
+    // Runs on every customer request, the cached result is invalidated by any write to the customers table
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "customerQueries")
+    })
     Optional<Customer> findByUser(User user);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.brokerage.api.repository;
+
+import com.brokerage.api.model.ExposureCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExposureCheckpointRepository extends JpaRepository<ExposureCheckpoint, String> {
+}
@@ -0,0 +1,12 @@
+package com.brokerage.api.repository;
+
+import com.brokerage.api.model.Fill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface FillRepository extends JpaRepository<Fill, Long> {
+
+    List<Fill> findByOrderIdOrderById(Long orderId);
+}
@@ -0,0 +1,32 @@
+package com.brokerage.api.repository;
+
+import com.brokerage.api.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKeyAndExpireDateAfter(
+            Long userId, String idempotencyKey, LocalDateTime now);
+
+    // Frees a key whose record expired but is not purged yet, in the transaction that reuses it
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.userId = :userId AND r.idempotencyKey = :idempotencyKey "
+            + "AND r.expireDate <= :now")
+    int deleteExpiredByUserIdAndIdempotencyKey(@Param("userId") Long userId,
+                                               @Param("idempotencyKey") String idempotencyKey,
+                                               @Param("now") LocalDateTime now);
+
+    // Runs in its own transaction, so with sharding it is run on every shard
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expireDate <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,224 @@
+package com.brokerage.api.repository;
+
+import com.brokerage.api.dto.response.OrderChangeResponse;
+import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.model.OrderType;
+import com.brokerage.api.model.TimeInForce;
+import com.brokerage.api.sharding.ShardContext;
+import com.brokerage.api.sharding.ShardMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Closed orders moved out of the orders table, partitioned by the month they were created in: the orders of
+ * October 2026 are in orders_archive_202610. Queries only read the partitions of the months they ask for, the
+ * changes feed reads all of them but only for clients that have not seen the newest archived change yet.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository {
+
+    public static final String PARTITION_PREFIX = "orders_archive_";
+
+    public static final String ORDER_COLUMNS = "id, customer_id, asset_name, order_side, size, price, order_type, "
+            + "stop_price, filled_size, remaining_size, average_fill_price, status, create_date, priority_date, "
+            + "time_in_force, expire_date, change_seq, change_date";
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardMap shardMap;
+
+    // Months that have a partition, per shard, loaded on first use
+    private final Map<Integer, NavigableSet<YearMonth>> partitions = new ConcurrentHashMap<>();
+    // Highest change_seq in the partitions, per shard, loaded on first use
+    private final Map<Integer, Long> maxChangeSeqs = new ConcurrentHashMap<>();
+
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_MONTH);
+    }
+
+    public static Optional<YearMonth> partitionMonth(String tableName) {
+        String name = tableName.toLowerCase();
+        if (!name.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_MONTH));
+    }
+
+    public List<OrderResponse> findByCustomerIdAndDateRange(Long customerId, LocalDateTime startDate,
+                                                            LocalDateTime endDate) {
+        int shard = shardMap.shardForCustomer(customerId);
+        return ShardContext.callOn(shard, () -> {
+            NavigableSet<YearMonth> months = partitions(shard)
+                    .subSet(YearMonth.from(startDate), true, YearMonth.from(endDate), true);
+            if (months.isEmpty()) {
+                return List.of();
+            }
+
+            String sql = months.stream()
+                    .map(month -> "SELECT " + ORDER_COLUMNS + " FROM " + partitionName(month)
+                            + " WHERE customer_id = ? AND create_date BETWEEN ? AND ?")
+                    .collect(Collectors.joining(" UNION ALL ")) + " ORDER BY create_date, id";
+            List<Object> args = new ArrayList<>();
+            months.forEach(month -> Collections.addAll(args, customerId, startDate, endDate));
+            return jdbcTemplate.query(sql, this::mapToOrderResponse, args.toArray());
+        });
+    }
+
+    public Optional<Long> findCustomerIdById(Long orderId) {
+        int shard = shardMap.shardOfId(orderId);
+        return ShardContext.callOn(shard, () -> {
+            for (YearMonth month : partitions(shard).descendingSet()) {
+                List<Long> customerIds = jdbcTemplate.queryForList(
+                        "SELECT customer_id FROM " + partitionName(month) + " WHERE id = ?", Long.class, orderId);
+                if (!customerIds.isEmpty()) {
+                    return Optional.of(customerIds.get(0));
+                }
+            }
+            return Optional.<Long>empty();
+        });
+    }
+
+    // Archived orders whose last change is in (after, visibleThrough], oldest change first
+    public List<OrderChangeResponse> findChanges(Long customerId, long after, long visibleThrough, int limit) {
+        int shard = shardMap.shardForCustomer(customerId);
+        return ShardContext.callOn(shard, () -> {
+            if (after >= findMaxChangeSeq(shard)) {
+                return List.of();
+            }
+
+            NavigableSet<YearMonth> months = partitions(shard);
+            String sql = months.stream()
+                    .map(month -> "SELECT " + ORDER_COLUMNS + " FROM " + partitionName(month)
+                            + " WHERE customer_id = ? AND change_seq > ? AND change_seq <= ?")
+                    .collect(Collectors.joining(" UNION ALL ")) + " ORDER BY change_seq LIMIT ?";
+            List<Object> args = new ArrayList<>();
+            months.forEach(month -> Collections.addAll(args, customerId, after, visibleThrough));
+            args.add(limit);
+            return jdbcTemplate.query(sql, (rs, rowNum) -> OrderChangeResponse.builder()
+                    .sequence(rs.getLong("change_seq"))
+                    .order(mapToOrderResponse(rs, rowNum))
+                    .build(), args.toArray());
+        });
+    }
+
+    // 0 while the shard has no archived orders
+    public long findMaxChangeSeq(int shard) {
+        return maxChangeSeqs.computeIfAbsent(shard, key -> ShardContext.callOn(shard, () -> {
+            NavigableSet<YearMonth> months = partitions(shard);
+            if (months.isEmpty()) {
+                return 0L;
+            }
+            String sql = "SELECT MAX(change_seq) FROM (" + months.stream()
+                    .map(month -> "SELECT MAX(change_seq) AS change_seq FROM " + partitionName(month))
+                    .collect(Collectors.joining(" UNION ALL ")) + ")";
+            Long max = jdbcTemplate.queryForObject(sql, Long.class);
+            return max != null ? max : 0L;
+        }));
+    }
+
+    // Closed orders last changed before the cutoff, oldest change first, grouped by their partition
+    public Map<YearMonth, List<Long>> findArchivable(int shard, LocalDateTime cutoff, int limit) {
+        return ShardContext.callOn(shard, () -> {
+            Map<YearMonth, List<Long>> orderIds = new TreeMap<>();
+            jdbcTemplate.query("SELECT id, create_date FROM orders WHERE status IN ('MATCHED', 'CANCELED', 'EXPIRED') "
+                            + "AND change_date < ? ORDER BY change_date, id LIMIT ?",
+                    rs -> {
+                        YearMonth month = YearMonth.from(rs.getObject("create_date", LocalDateTime.class));
+                        orderIds.computeIfAbsent(month, key -> new ArrayList<>()).add(rs.getLong("id"));
+                    }, cutoff, limit);
+            return orderIds;
+        });
+    }
+
+    // DDL commits in H2, so partitions are created before the move transaction
+    public void createPartition(int shard, YearMonth month) {
+        if (partitions(shard).contains(month)) {
+            return;
+        }
+        String partition = partitionName(month);
+        ShardContext.callOn(shard, () -> {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " AS SELECT " + ORDER_COLUMNS
+                    + " FROM orders WITH NO DATA");
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + partition + "_id ON " + partition + " (id)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + partition + "_customer ON " + partition
+                    + " (customer_id, create_date)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + partition + "_changes ON " + partition
+                    + " (customer_id, change_seq)");
+            return null;
+        });
+        partitions(shard).add(month);
+    }
+
+    // Has to run in a transaction, so an order is either in the orders table or in its partition
+    public int moveToPartition(int shard, YearMonth month, List<Long> orderIds) {
+        String ids = orderIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        Object[] args = orderIds.toArray();
+        return ShardContext.callOn(shard, () -> {
+            // Raised before the commit, so a feed read that misses the orders in the orders table reads the partition
+            Long maxChangeSeq = jdbcTemplate.queryForObject(
+                    "SELECT MAX(change_seq) FROM orders WHERE id IN (" + ids + ")", Long.class, args);
+            if (maxChangeSeq != null) {
+                findMaxChangeSeq(shard);
+                maxChangeSeqs.merge(shard, maxChangeSeq, Math::max);
+            }
+            jdbcTemplate.update("INSERT INTO " + partitionName(month) + " (" + ORDER_COLUMNS + ") SELECT "
+                    + ORDER_COLUMNS + " FROM orders WHERE id IN (" + ids + ")", args);
+            return jdbcTemplate.update("DELETE FROM orders WHERE id IN (" + ids + ")", args);
+        });
+    }
+
+    private NavigableSet<YearMonth> partitions(int shard) {
+        return partitions.computeIfAbsent(shard, key -> ShardContext.callOn(shard, () -> {
+            NavigableSet<YearMonth> months = new ConcurrentSkipListSet<>();
+            jdbcTemplate.queryForList("SELECT table_name FROM information_schema.tables "
+                            + "WHERE table_schema = 'PUBLIC' AND LOWER(table_name) LIKE 'orders\\_archive\\_%'",
+                            String.class)
+                    .forEach(table -> partitionMonth(table).ifPresent(months::add));
+            return months;
+        }));
+    }
+
+    private OrderResponse mapToOrderResponse(ResultSet rs, int rowNum) throws SQLException {
+        Double stopPrice = rs.getObject("stop_price", Double.class);
+        Double averageFillPrice = rs.getObject("average_fill_price", Double.class);
+        return OrderResponse.builder()
+                .id(rs.getLong("id"))
+                .customerId(rs.getLong("customer_id"))
+                .assetName(rs.getString("asset_name"))
+                .orderSide(OrderSide.valueOf(rs.getString("order_side")))
+                .size(rs.getDouble("size"))
+                .price(rs.getDouble("price"))
+                .orderType(OrderType.valueOf(rs.getString("order_type")))
+                .stopPrice(stopPrice)
+                .filledSize(rs.getDouble("filled_size"))
+                .remainingSize(rs.getDouble("remaining_size"))
+                .averageFillPrice(averageFillPrice)
+                .status(OrderStatus.valueOf(rs.getString("status")))
+                .createDate(rs.getObject("create_date", LocalDateTime.class))
+                .priorityDate(rs.getObject("priority_date", LocalDateTime.class))
+                .timeInForce(TimeInForce.valueOf(rs.getString("time_in_force")))
+                .expireDate(rs.getObject("expire_date", LocalDateTime.class))
+                .build();
+    }
+}
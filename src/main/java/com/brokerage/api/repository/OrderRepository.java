@@ -1,12 +1,16 @@
 package com.brokerage.api.repository;
 
+import com.brokerage.api.dto.response.OrderResponse;
 import com.brokerage.api.model.Order;
+import com.brokerage.api.model.OrderSide;
 import com.brokerage.api.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +21,12 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     List<Order> findByCustomerIdAndStatus(Long customerId, OrderStatus status);
 
-    @Query("SELECT o FROM Order o WHERE o.customerId = :customerId AND o.createDate BETWEEN :startDate AND :endDate")
-    List<Order> findByCustomerIdAndDateRange(
+    // Read path: projects straight into the response, no managed entities are created
+    @Query("SELECT new com.brokerage.api.dto.response.OrderResponse(o.id, o.customerId, o.assetName, o.orderSide, " +
+            "o.size, o.price, o.orderType, o.stopPrice, o.filledSize, o.remainingSize, o.averageFillPrice, o.status, " +
+            "o.createDate, o.priorityDate, o.timeInForce, o.expireDate) " +
+            "FROM Order o WHERE o.customerId = :customerId AND o.createDate BETWEEN :startDate AND :endDate")
+    List<OrderResponse> findResponsesByCustomerIdAndDateRange(
             @Param("customerId") Long customerId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
@@ -26,4 +34,33 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByIdAndStatus(Long id, OrderStatus status);
 
     List<Order> findByStatus(OrderStatus status);
+
+    Optional<Order> findByIdAndStatusIn(Long id, Collection<OrderStatus> statuses);
+
+    List<Order> findByStatusIn(Collection<OrderStatus> statuses);
+
+    List<Order> findByIdInAndStatusIn(Collection<Long> ids, Collection<OrderStatus> statuses);
+
+    List<Order> findByStatusInAndExpireDateIsNotNull(Collection<OrderStatus> statuses);
+
+    // Changes feed: orders whose last change is in (after, visibleThrough], oldest change first
+    @Query("SELECT o FROM Order o WHERE o.customerId = :customerId AND o.changeSeq > :after " +
+            "AND o.changeSeq <= :visibleThrough ORDER BY o.changeSeq")
+    List<Order> findChanges(@Param("customerId") Long customerId,
+                            @Param("after") long after,
+                            @Param("visibleThrough") long visibleThrough,
+                            Pageable pageable);
+
+    // Remaining notional of the orders in the given statuses per instrument and side, with sharding per shard as well
+    @Query("SELECT o.assetName AS assetName, o.orderSide AS orderSide, SUM(o.remainingSize * o.price) AS notional " +
+            "FROM Order o WHERE o.status IN :statuses GROUP BY o.assetName, o.orderSide")
+    List<SideNotional> sumNotionalByAssetNameAndSide(@Param("statuses") Collection<OrderStatus> statuses);
+
+    interface SideNotional {
+        String getAssetName();
+
+        OrderSide getOrderSide();
+
+        Double getNotional();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.brokerage.api.repository;
+
+import com.brokerage.api.model.User;
+import java.util.Optional;
+
+/**
+ * Username lookups through the natural-id API, so repeated lookups are answered from the second-level cache.
+ */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,149 @@
+package com.brokerage.api.risk;
+
+import com.brokerage.api.dto.response.InstrumentExposureResponse;
+import com.brokerage.api.event.DatabaseSeededEvent;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.event.OrderEvent.ReservedBalance;
+import com.brokerage.api.model.ExposureCheckpoint;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.repository.AssetRepository;
+import com.brokerage.api.repository.ExposureCheckpointRepository;
+import com.brokerage.api.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Firm-wide totals per instrument: the holdings of all customers, the part of them that is usable, and the notional
+ * of open orders per side. Summed from the database once it is seeded and maintained from committed order events
+ * afterwards, so reading them costs one entry per instrument. Every event updates each instrument it touches in one
+ * atomic step. The totals are written to exposure_checkpoints every app.risk.exposure-checkpoint-interval-ms.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InstrumentExposureTracker {
+
+    private static final String TRY = "TRY";
+
+    private final AssetRepository assetRepository;
+    private final OrderRepository orderRepository;
+    private final ExposureCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Exposure> exposures = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @EventListener(DatabaseSeededEvent.class)
+    public void load() {
+        for (AssetRepository.InstrumentTotals totals : assetRepository.sumByAssetName()) {
+            add(totals.getAssetName(), new Exposure(totals.getTotalSize(), totals.getTotalUsable(), 0, 0));
+        }
+        for (OrderRepository.SideNotional open : orderRepository.sumNotionalByAssetNameAndSide(OrderStatus.OPEN)) {
+            add(open.getAssetName(), Exposure.ofNotional(open.getOrderSide(), open.getNotional()));
+        }
+        loaded = true;
+        log.info("Instrument exposure loaded for {} instruments", exposures.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        boolean buy = event.getOrderSide() == OrderSide.BUY;
+        Map<String, Exposure> deltas = new HashMap<>(4);
+        // The reservation is held in TRY for BUY orders and in the asset itself for SELL orders
+        ReservedBalance balance = event.getReservedBalance();
+        if (balance != null) {
+            Exposure reserved = new Exposure(balance.getSizeAfter() - balance.getSizeBefore(),
+                    balance.getUsableAfter() - balance.getUsableBefore(), 0, 0);
+            deltas.merge(buy ? TRY : event.getAssetName(), reserved, Exposure::plus);
+        }
+
+        double notional = switch (event.getType()) {
+            case CREATED -> event.getSize() * event.getPrice();
+            case AMENDED -> event.getRemainingSize() * event.getPrice()
+                    - event.getPreviousRemainingSize() * event.getPreviousPrice();
+            case FILLED -> {
+                // The fill also credits the other side: the bought asset, or the TRY received for the sold one
+                double received = buy ? event.getFillSize() : event.getFillSize() * event.getFillPrice();
+                deltas.merge(buy ? event.getAssetName() : TRY, new Exposure(received, received, 0, 0), Exposure::plus);
+                yield -event.getFillSize() * event.getPrice();
+            }
+            case CANCELED, EXPIRED -> -event.getRemainingSize() * event.getPrice();
+            case TRIGGERED -> 0;
+        };
+        if (notional != 0) {
+            deltas.merge(event.getAssetName(), Exposure.ofNotional(event.getOrderSide(), notional), Exposure::plus);
+        }
+        deltas.forEach(this::add);
+    }
+
+    // Sorted by asset name
+    public List<InstrumentExposureResponse> getExposures() {
+        return new TreeMap<>(exposures).entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.risk.exposure-checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        if (!loaded) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ExposureCheckpoint> checkpoints = exposures.entrySet().stream()
+                .map(entry -> entry.getValue().toCheckpoint(entry.getKey(), now))
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.saveAll(checkpoints));
+        log.debug("Checkpointed the exposure of {} instruments", checkpoints.size());
+    }
+
+    private void add(String assetName, Exposure delta) {
+        exposures.merge(assetName, delta, Exposure::plus);
+    }
+
+    private record Exposure(double totalSize, double totalUsable, double openBuyNotional, double openSellNotional) {
+
+        static Exposure ofNotional(OrderSide side, double notional) {
+            return side == OrderSide.BUY ? new Exposure(0, 0, notional, 0) : new Exposure(0, 0, 0, notional);
+        }
+
+        Exposure plus(Exposure other) {
+            return new Exposure(totalSize + other.totalSize, totalUsable + other.totalUsable,
+                    openBuyNotional + other.openBuyNotional, openSellNotional + other.openSellNotional);
+        }
+
+        InstrumentExposureResponse toResponse(String assetName) {
+            return InstrumentExposureResponse.builder()
+                    .assetName(assetName)
+                    .totalSize(totalSize)
+                    .totalUsable(totalUsable)
+                    .reservedSize(totalSize - totalUsable)
+                    .openBuyNotional(openBuyNotional)
+                    .openSellNotional(openSellNotional)
+                    .build();
+        }
+
+        ExposureCheckpoint toCheckpoint(String assetName, LocalDateTime checkpointDate) {
+            return ExposureCheckpoint.builder()
+                    .assetName(assetName)
+                    .totalSize(totalSize)
+                    .totalUsable(totalUsable)
+                    .openBuyNotional(openBuyNotional)
+                    .openSellNotional(openSellNotional)
+                    .checkpointDate(checkpointDate)
+                    .build();
+        }
+    }
+}
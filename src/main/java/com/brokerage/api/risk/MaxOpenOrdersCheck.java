@@ -0,0 +1,29 @@
+package com.brokerage.api.risk;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class MaxOpenOrdersCheck implements PreTradeRiskCheck {
+
+    private final RiskProperties riskProperties;
+    private final RiskExposureTracker exposureTracker;
+
+    @Override
+    public String getName() {
+        return "max-open-orders";
+    }
+
+    @Override
+    public Optional<String> check(RiskOrder order) {
+        Integer limit = riskProperties.getMaxOpenOrders();
+        // Amending does not open another order
+        if (limit != null && !order.isAmend() && exposureTracker.getOpenOrders(order.getCustomerId()) >= limit) {
+            return Optional.of("Customer already has the maximum of " + limit + " open orders");
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,27 @@
+package com.brokerage.api.risk;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class MaxOrderNotionalCheck implements PreTradeRiskCheck {
+
+    private final RiskProperties riskProperties;
+
+    @Override
+    public String getName() {
+        return "max-order-notional";
+    }
+
+    @Override
+    public Optional<String> check(RiskOrder order) {
+        Double limit = riskProperties.getMaxOrderNotional();
+        if (limit != null && order.getNotional() > limit) {
+            return Optional.of("Order notional " + order.getNotional() + " exceeds the limit of " + limit);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,41 @@
+package com.brokerage.api.risk;
+
+import com.brokerage.api.model.OrderSide;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class PositionLimitCheck implements PreTradeRiskCheck {
+
+    private final RiskProperties riskProperties;
+    private final RiskExposureTracker exposureTracker;
+
+    @Override
+    public String getName() {
+        return "position-limit";
+    }
+
+    @Override
+    public Optional<String> check(RiskOrder order) {
+        // SELL orders can only reduce a position
+        if (order.getOrderSide() != OrderSide.BUY) {
+            return Optional.empty();
+        }
+
+        Double limit = riskProperties.getPositionLimit(order.getAssetName());
+        if (limit == null) {
+            return Optional.empty();
+        }
+
+        double position = exposureTracker.getPosition(order.getCustomerId(), order.getAssetName())
+                + order.getSize() - order.getPreviousSize();
+        if (position > limit) {
+            return Optional.of("Position in " + order.getAssetName() + " would reach " + position
+                    + ", exceeding the limit of " + limit);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,15 @@
+package com.brokerage.api.risk;
+
+import java.util.Optional;
+
+/**
+ * A single pre-trade rule. Every bean implementing this interface is picked up by {@link PreTradeRiskEngine}.
+ * Implementations must only consult in-memory state, they run on every order before funds are reserved.
+ */
+public interface PreTradeRiskCheck {
+
+    String getName();
+
+    // Returns the rejection reason, or empty when the order passes the rule
+    Optional<String> check(RiskOrder order);
+}
@@ -0,0 +1,49 @@
+package com.brokerage.api.risk;
+
+import com.brokerage.api.exception.RiskLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+public class PreTradeRiskEngine {
+
+    private final List<PreTradeRiskCheck> checks;
+    private final RiskProperties riskProperties;
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+
+    public PreTradeRiskEngine(List<PreTradeRiskCheck> checks, RiskProperties riskProperties) {
+        this.checks = checks;
+        this.riskProperties = riskProperties;
+        checks.forEach(check -> rejections.put(check.getName(), new LongAdder()));
+    }
+
+    public void check(RiskOrder order) {
+        if (!riskProperties.isEnabled()) {
+            return;
+        }
+
+        for (PreTradeRiskCheck check : checks) {
+            Optional<String> rejection = check.check(order);
+            if (rejection.isPresent()) {
+                rejections.get(check.getName()).increment();
+                log.warn("Order rejected by risk check {} for customer ID: {}: {}",
+                        check.getName(), order.getCustomerId(), rejection.get());
+                throw new RiskLimitExceededException(rejection.get());
+            }
+        }
+    }
+
+    public Map<String, Long> getRejectionCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        rejections.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+}
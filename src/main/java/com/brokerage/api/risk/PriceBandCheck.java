@@ -0,0 +1,41 @@
+package com.brokerage.api.risk;
+
+import com.brokerage.api.service.PriceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class PriceBandCheck implements PreTradeRiskCheck {
+
+    private final RiskProperties riskProperties;
+    private final PriceService priceService;
+
+    @Override
+    public String getName() {
+        return "price-band";
+    }
+
+    @Override
+    public Optional<String> check(RiskOrder order) {
+        Double bandPercent = riskProperties.getPriceBandPercent();
+        if (bandPercent == null) {
+            return Optional.empty();
+        }
+
+        // Without a last price there is nothing to compare against
+        Double lastPrice = priceService.getPrice(order.getAssetName()).orElse(null);
+        if (lastPrice == null) {
+            return Optional.empty();
+        }
+
+        double deviationPercent = Math.abs(order.getPrice() - lastPrice) / lastPrice * 100;
+        if (deviationPercent > bandPercent) {
+            return Optional.of("Order price " + order.getPrice() + " deviates more than " + bandPercent
+                    + "% from the last price " + lastPrice);
+        }
+        return Optional.empty();
+    }
+}
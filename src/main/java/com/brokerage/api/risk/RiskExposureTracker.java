@@ -0,0 +1,108 @@
+package com.brokerage.api.risk;
+
+import com.brokerage.api.event.DatabaseSeededEvent;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.model.Asset;
+import com.brokerage.api.model.Order;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.repository.AssetRepository;
+import com.brokerage.api.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * In-memory exposure counters used by the pre-trade checks. Loaded from the database once it is seeded and
+ * maintained from committed order events afterwards, so checks never hit the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RiskExposureTracker {
+
+    private final AssetRepository assetRepository;
+    private final OrderRepository orderRepository;
+
+    private final Map<Long, AtomicInteger> openOrders = new ConcurrentHashMap<>();
+    // Holdings plus quantity of open BUY orders, per customer and instrument
+    private final Map<PositionKey, DoubleAdder> positions = new ConcurrentHashMap<>();
+
+    @EventListener(DatabaseSeededEvent.class)
+    public void load() {
+        for (Asset asset : assetRepository.findAll()) {
+            if (!"TRY".equals(asset.getAssetName())) {
+                position(asset.getCustomerId(), asset.getAssetName()).add(asset.getSize());
+            }
+        }
+        for (Order order : orderRepository.findByStatusIn(OrderStatus.OPEN)) {
+            openOrders(order.getCustomerId()).incrementAndGet();
+            if (order.getOrderSide() == OrderSide.BUY) {
+                position(order.getCustomerId(), order.getAssetName()).add(order.getRemainingSize());
+            }
+        }
+        log.info("Risk exposure loaded for {} customers", openOrders.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        boolean buy = event.getOrderSide() == OrderSide.BUY;
+        switch (event.getType()) {
+            case CREATED -> {
+                openOrders(event.getCustomerId()).incrementAndGet();
+                if (buy) {
+                    position(event.getCustomerId(), event.getAssetName()).add(event.getSize());
+                }
+            }
+            case AMENDED -> {
+                if (buy) {
+                    position(event.getCustomerId(), event.getAssetName())
+                            .add(event.getRemainingSize() - event.getPreviousRemainingSize());
+                }
+            }
+            case FILLED -> {
+                if (!event.getStatus().isOpen()) {
+                    openOrders(event.getCustomerId()).decrementAndGet();
+                }
+                // A BUY fill moves quantity from the open order to holdings, the position is unchanged
+                if (!buy) {
+                    position(event.getCustomerId(), event.getAssetName()).add(-event.getFillSize());
+                }
+            }
+            case CANCELED, EXPIRED -> {
+                openOrders(event.getCustomerId()).decrementAndGet();
+                if (buy) {
+                    position(event.getCustomerId(), event.getAssetName()).add(-event.getRemainingSize());
+                }
+            }
+        }
+    }
+
+    public int getOpenOrders(Long customerId) {
+        AtomicInteger count = openOrders.get(customerId);
+        return count != null ? count.get() : 0;
+    }
+
+    public double getPosition(Long customerId, String assetName) {
+        DoubleAdder position = positions.get(new PositionKey(customerId, assetName));
+        return position != null ? position.sum() : 0.0;
+    }
+
+    private AtomicInteger openOrders(Long customerId) {
+        return openOrders.computeIfAbsent(customerId, id -> new AtomicInteger());
+    }
+
+    private DoubleAdder position(Long customerId, String assetName) {
+        return positions.computeIfAbsent(new PositionKey(customerId, assetName), key -> new DoubleAdder());
+    }
+
+    private record PositionKey(Long customerId, String assetName) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.brokerage.api.risk;
+
+import com.brokerage.api.dto.request.CreateOrderRequest;
+import com.brokerage.api.model.Order;
+import com.brokerage.api.model.OrderSide;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder(toBuilder = true)
+public class RiskOrder {
+    Long customerId;
+    String assetName;
+    OrderSide orderSide;
+    double size;
+    double price;
+    // Set when an open order is amended, its current remaining size is already part of the exposure
+    boolean amend;
+    double previousSize;
+
+    public static RiskOrder from(CreateOrderRequest request, double price) {
+        return RiskOrder.builder()
+                .customerId(request.getCustomerId())
+                .assetName(request.getAssetName())
+                .orderSide(request.getOrderSide())
+                .size(request.getSize())
+                .price(price)
+                .build();
+    }
+
+    public static RiskOrder forAmend(Order order, double newRemainingSize, double newPrice) {
+        return RiskOrder.builder()
+                .customerId(order.getCustomerId())
+                .assetName(order.getAssetName())
+                .orderSide(order.getOrderSide())
+                .size(newRemainingSize)
+                .price(newPrice)
+                .amend(true)
+                .previousSize(order.getRemainingSize())
+                .build();
+    }
+
+    public double getNotional() {
+        return size * price;
+    }
+}
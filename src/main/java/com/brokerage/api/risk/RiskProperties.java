@@ -0,0 +1,36 @@
+package com.brokerage.api.risk;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// A limit left empty disables the corresponding check
+@Component
+@ConfigurationProperties(prefix = "app.risk")
+@Data
+public class RiskProperties {
+
+    private boolean enabled = true;
+
+    private Double maxOrderNotional;
+
+    private Integer maxOpenOrders;
+
+    // Default per-instrument position limit, overridden per asset by positionLimits
+    private Double maxPosition;
+
+    private Map<String, Double> positionLimits = new HashMap<>();
+
+    // Maximum deviation of the order price from the last price, in percent
+    private Double priceBandPercent;
+
+    // How often InstrumentExposureTracker writes its totals to exposure_checkpoints
+    private long exposureCheckpointIntervalMs = 60_000;
+
+    public Double getPositionLimit(String assetName) {
+        return positionLimits.getOrDefault(assetName, maxPosition);
+    }
+}
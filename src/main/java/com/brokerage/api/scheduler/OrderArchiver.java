@@ -0,0 +1,65 @@
+package com.brokerage.api.scheduler;
+
+import com.brokerage.api.config.ArchiveProperties;
+import com.brokerage.api.repository.OrderArchiveRepository;
+import com.brokerage.api.sharding.ShardMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the orders table down to open and recently closed orders by moving closed orders not changed for
+ * app.archive.older-than to their monthly archive partition. Open orders are never archived, so the in-memory
+ * trackers loaded from the orders table are not affected.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiver {
+
+    private final OrderArchiveRepository archiveRepository;
+    private final ArchiveProperties archiveProperties;
+    private final ShardMap shardMap;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:600000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveProperties.getOlderThan());
+        int archived = 0;
+        for (int shard = 0; shard < shardMap.getShardCount(); shard++) {
+            archived += archiveShard(shard, cutoff);
+        }
+        if (archived > 0) {
+            log.info("Archived {} closed orders last changed before {}", archived, cutoff);
+        }
+    }
+
+    private int archiveShard(int shard, LocalDateTime cutoff) {
+        int batchSize = archiveProperties.getBatchSize();
+        int archived = 0;
+        int found;
+        do {
+            Map<YearMonth, List<Long>> batch = archiveRepository.findArchivable(shard, cutoff, batchSize);
+            found = batch.values().stream().mapToInt(List::size).sum();
+            if (found == 0) {
+                break;
+            }
+
+            batch.keySet().forEach(month -> archiveRepository.createPartition(shard, month));
+            Integer moved = transactionTemplate.execute(status -> batch.entrySet().stream()
+                    .mapToInt(entry -> archiveRepository.moveToPartition(shard, entry.getKey(), entry.getValue()))
+                    .sum());
+            archived += moved != null ? moved : 0;
+        } while (found == batchSize);
+        return archived;
+    }
+}
@@ -0,0 +1,105 @@
+package com.brokerage.api.scheduler;
+
+import com.brokerage.api.config.OrderProperties;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.event.OrderEventType;
+import com.brokerage.api.model.Order;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.repository.OrderRepository;
+import com.brokerage.api.service.OrderService;
+import com.brokerage.api.sharding.ShardMap;
+import com.brokerage.api.util.HierarchicalTimerWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Expires orders with a time-in-force. Expiries are kept in a timer wheel owned by the scheduler thread; request
+ * threads only enqueue new expiries, which are moved into the wheel on the next tick.
+ */
+@Component
+@Slf4j
+public class OrderExpiryScheduler {
+
+    private static final int WHEEL_LEVELS = 4;
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final OrderProperties orderProperties;
+    private final ShardMap shardMap;
+
+    private final Queue<ScheduledExpiry> incoming = new ConcurrentLinkedQueue<>();
+    private final HierarchicalTimerWheel<Long> wheel;
+
+    public OrderExpiryScheduler(OrderService orderService, OrderRepository orderRepository,
+                                OrderProperties orderProperties, ShardMap shardMap) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.orderProperties = orderProperties;
+        this.shardMap = shardMap;
+        this.wheel = new HierarchicalTimerWheel<>(orderProperties.getExpiryTickMs(), WHEEL_LEVELS,
+                System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Order> orders = orderRepository.findByStatusInAndExpireDateIsNotNull(OrderStatus.OPEN);
+        orders.forEach(order -> schedule(order.getId(), order.getExpireDate()));
+        log.info("Scheduled expiry of {} open orders", orders.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() == OrderEventType.CREATED && event.getExpireDate() != null) {
+            schedule(event.getOrderId(), event.getExpireDate());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.expiry-tick-ms:100}")
+    public void tick() {
+        ScheduledExpiry expiry;
+        while ((expiry = incoming.poll()) != null) {
+            wheel.schedule(expiry.orderId(), expiry.deadlineMs());
+        }
+
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(System.currentTimeMillis(), expired::add);
+
+        // A batch is expired in one transaction, so it only holds orders of one shard
+        int batchSize = orderProperties.getExpiryBatchSize();
+        for (List<Long> orderIds : shardMap.groupByShard(expired).values()) {
+            for (int from = 0; from < orderIds.size(); from += batchSize) {
+                List<Long> batch = orderIds.subList(from, Math.min(from + batchSize, orderIds.size()));
+                try {
+                    orderService.expireOrders(batch);
+                } catch (Exception e) {
+                    // Retried on the next tick
+                    log.error("Failed to expire batch of {} orders", batch.size(), e);
+                    long now = System.currentTimeMillis();
+                    batch.forEach(orderId -> incoming.add(new ScheduledExpiry(orderId, now)));
+                }
+            }
+        }
+    }
+
+    private void schedule(Long orderId, LocalDateTime expireDate) {
+        Instant deadline = expireDate.atZone(ZoneId.systemDefault()).toInstant();
+        // Rounded up so the order is past its expire date when the timer fires
+        long deadlineMs = deadline.toEpochMilli() + (deadline.getNano() % 1_000_000 == 0 ? 0 : 1);
+        incoming.add(new ScheduledExpiry(orderId, deadlineMs));
+    }
+
+    private record ScheduledExpiry(Long orderId, long deadlineMs) {
+    }
+}
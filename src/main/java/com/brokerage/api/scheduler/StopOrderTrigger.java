@@ -0,0 +1,82 @@
+package com.brokerage.api.scheduler;
+
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.model.Order;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.repository.OrderRepository;
+import com.brokerage.api.service.OrderService;
+import com.brokerage.api.sharding.ShardMap;
+import com.brokerage.api.util.StopTriggerIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Releases STOP and STOP_LIMIT orders when a fill trades through their stop price. Waiting orders are kept in a
+ * sorted in-memory index, loaded at startup and maintained from committed order events.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StopOrderTrigger {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final ShardMap shardMap;
+
+    private final StopTriggerIndex index = new StopTriggerIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Order> orders = orderRepository.findByStatus(OrderStatus.PENDING_TRIGGER);
+        orders.forEach(this::add);
+        log.info("Loaded {} stop orders waiting for their trigger price", orders.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        switch (event.getType()) {
+            case CREATED -> {
+                if (event.getStatus() == OrderStatus.PENDING_TRIGGER) {
+                    index.add(event.getAssetName(), event.getOrderSide(), event.getStopPrice(), event.getOrderId());
+                }
+            }
+            case CANCELED, EXPIRED -> {
+                if (event.getOrderType().isStop()) {
+                    index.remove(event.getAssetName(), event.getOrderSide(), event.getStopPrice(), event.getOrderId());
+                }
+            }
+            case FILLED -> trigger(event.getAssetName(), event.getFillPrice());
+            default -> {
+            }
+        }
+    }
+
+    private void trigger(String assetName, double tradePrice) {
+        List<Long> triggered = index.trigger(assetName, tradePrice);
+        if (triggered.isEmpty()) {
+            return;
+        }
+
+        log.info("Trade of {} at {} triggered {} stop orders", assetName, tradePrice, triggered.size());
+        // Orders are triggered in one transaction per shard
+        for (List<Long> orderIds : shardMap.groupByShard(triggered).values()) {
+            try {
+                orderService.triggerOrders(orderIds);
+            } catch (Exception e) {
+                // Put back whatever is still waiting, those orders are triggered again by the next trade
+                log.error("Failed to trigger {} stop orders", orderIds.size(), e);
+                orderRepository.findByIdInAndStatusIn(orderIds, List.of(OrderStatus.PENDING_TRIGGER)).forEach(this::add);
+            }
+        }
+    }
+
+    private void add(Order order) {
+        index.add(order.getAssetName(), order.getOrderSide(), order.getStopPrice(), order.getId());
+    }
+}
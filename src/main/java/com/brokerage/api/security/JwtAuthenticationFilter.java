@@ -4,6 +4,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.brokerage.api.metrics.OrderMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -24,6 +25,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private JwtTokenProvider tokenProvider;
     private UserDetailsService userDetailsService;
+    private OrderMetrics orderMetrics;
 
     // No-args constructor for Spring
     public JwtAuthenticationFilter() {
@@ -39,9 +41,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         this.userDetailsService = userDetailsService;
     }
 
+    @Autowired
+    public void setOrderMetrics(OrderMetrics orderMetrics) {
+        this.orderMetrics = orderMetrics;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
         try {
             String jwt = getJwtFromRequest(request);
             log.debug("JWT from request: {}", jwt);
@@ -69,10 +77,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
         }
+        if (orderMetrics != null && isOrderEntry(request)) {
+            orderMetrics.record(OrderMetrics.Stage.AUTH, start);
+        }
 
         filterChain.doFilter(request, response);
     }
 
+    private boolean isOrderEntry(HttpServletRequest request) {
+        return "POST".equals(request.getMethod()) && "/api/orders".equals(request.getServletPath());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,71 @@
+package com.brokerage.api.security;
+
+import com.brokerage.api.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests of authenticated users above their rate limit with 429. Runs right after the JWT filter so the
+ * user is known; unauthenticated requests are left to the authorization rules.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            RateLimiter.EndpointClass endpointClass = HttpMethod.GET.matches(request.getMethod())
+                    ? RateLimiter.EndpointClass.QUERIES
+                    : RateLimiter.EndpointClass.ORDERS;
+
+            long waitNanos = rateLimiter.tryAcquire(principal.getId(), endpointClass, principal.getAuthorities());
+            if (waitNanos > 0) {
+                // Counted in rate_limit.rejected, a client above its limit would otherwise flood the log
+                log.debug("Rate limit of {} requests exceeded by user {}", endpointClass, principal.getUsername());
+                reject(request, response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        // Retry-After has a resolution of seconds, rounded up so a retry at that time is allowed
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new GlobalExceptionHandler.ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds",
+                "uri=" + request.getRequestURI(),
+                LocalDateTime.now()));
+    }
+}
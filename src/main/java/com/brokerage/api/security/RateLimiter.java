@@ -0,0 +1,129 @@
+package com.brokerage.api.security;
+
+import com.brokerage.api.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user request limits using the generic cell rate algorithm: each bucket is a single AtomicLong holding the
+ * theoretical arrival time of the next request, updated with one compare-and-set, so no locks are taken on the
+ * request path. Buckets live in a ConcurrentHashMap, whose striped bins keep users from contending with each other.
+ * Rejections are counted per endpoint class in rate_limit.rejected rather than logged one by one.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    public enum EndpointClass {
+        ORDERS, QUERIES
+    }
+
+    private final RateLimitProperties rateLimitProperties;
+    private final Map<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public RateLimiter(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+        this.rateLimitProperties = rateLimitProperties;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rejections.put(endpointClass, Counter.builder("rate_limit.rejected")
+                    .description("Requests rejected with 429 because the user exceeded the rate limit")
+                    .tag("endpoint_class", endpointClass.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    // Returns 0 when the request is allowed, otherwise the nanoseconds until it would be
+    public long tryAcquire(Long userId, EndpointClass endpointClass, Collection<? extends GrantedAuthority> authorities) {
+        if (!rateLimitProperties.isEnabled()) {
+            return 0;
+        }
+
+        Bucket bucket = buckets.get(new BucketKey(userId, endpointClass));
+        if (bucket == null) {
+            RateLimitProperties.Limit limit = resolveLimit(endpointClass, authorities);
+            if (limit == null) {
+                return 0;
+            }
+            bucket = buckets.computeIfAbsent(new BucketKey(userId, endpointClass), key -> new Bucket(limit));
+        }
+        long waitNanos = bucket.tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            rejections.get(endpointClass).increment();
+        }
+        return waitNanos;
+    }
+
+    // Buckets that fully refilled hold no state worth keeping
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    int getBucketCount() {
+        return buckets.size();
+    }
+
+    private RateLimitProperties.Limit resolveLimit(EndpointClass endpointClass,
+                                                   Collection<? extends GrantedAuthority> authorities) {
+        RateLimitProperties.Limit best = null;
+        for (GrantedAuthority authority : authorities) {
+            RateLimitProperties.RoleLimits roleLimits = rateLimitProperties.getRoles().get(authority.getAuthority());
+            if (roleLimits == null) {
+                continue;
+            }
+            RateLimitProperties.Limit limit = endpointClass == EndpointClass.ORDERS
+                    ? roleLimits.getOrders()
+                    : roleLimits.getQueries();
+            if (best == null || limit.getRequestsPerSecond() > best.getRequestsPerSecond()) {
+                best = limit;
+            }
+        }
+        return best;
+    }
+
+    private record BucketKey(Long userId, EndpointClass endpointClass) {
+    }
+
+    static class Bucket {
+        // Time between two requests at the sustained rate
+        private final long emissionIntervalNanos;
+        // How far the theoretical arrival time may run ahead of now, this is what allows the burst
+        private final long burstNanos;
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(RateLimitProperties.Limit limit) {
+            this.emissionIntervalNanos = (long) (1_000_000_000L / limit.getRequestsPerSecond());
+            this.burstNanos = emissionIntervalNanos * limit.getBurst();
+        }
+
+        long tryAcquire(long nowNanos) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+                long allowedAt = newTat - burstNanos;
+                if (allowedAt > nowNanos) {
+                    return allowedAt - nowNanos;
+                }
+                if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isIdle(long nowNanos) {
+            return theoreticalArrival.get() <= nowNanos;
+        }
+    }
+}
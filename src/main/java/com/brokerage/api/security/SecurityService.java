@@ -6,6 +6,7 @@ import com.brokerage.api.model.Order;
 import com.brokerage.api.model.User;
 import com.brokerage.api.repository.AssetRepository;
 import com.brokerage.api.repository.CustomerRepository;
+import com.brokerage.api.repository.OrderArchiveRepository;
 import com.brokerage.api.repository.OrderRepository;
 import com.brokerage.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,7 @@ public class SecurityService {
 
     private final CustomerRepository customerRepository;
     private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
     private final AssetRepository assetRepository;
     private final UserRepository userRepository;
 
@@ -97,14 +99,16 @@ public class SecurityService {
             Customer associatedCustomer = customerRepository.findByUser(user).orElseThrow();
             Long userCustomerId = associatedCustomer.getId();
 
-            // if the order belongs to this customer
-            Order order = orderRepository.findById(orderId)
+            // if the order belongs to this customer, archived orders keep their fills
+            Long orderCustomerId = orderRepository.findById(orderId)
+                    .map(Order::getCustomerId)
+                    .or(() -> orderArchiveRepository.findCustomerIdById(orderId))
                     .orElseThrow(() -> {
                         log.warn("Order not found with ID: {}", orderId);
                         return new AccessDeniedException("Order not found");
                     });
 
-            boolean isOwner = order.getCustomerId().equals(userCustomerId);
+            boolean isOwner = orderCustomerId.equals(userCustomerId);
             log.debug("Is customer {} owner of order {}? {}", userCustomerId, orderId, isOwner);
 
             if (!isOwner) {
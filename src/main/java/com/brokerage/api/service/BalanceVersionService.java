@@ -0,0 +1,11 @@
+package com.brokerage.api.service;
+import java.util.Optional;
+
+public interface BalanceVersionService {
+
+    // Increases after every committed order change of the customer, lets callers detect stale balances
+    long getVersion(Long customerId);
+
+    // Entity tag of the customer's current balances, empty while a read may still return older balances
+    Optional<String> getETag(Long customerId);
+}
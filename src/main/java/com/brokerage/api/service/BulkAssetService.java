@@ -0,0 +1,19 @@
+package com.brokerage.api.service;
+
+import com.brokerage.api.dto.response.AssetResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BulkAssetService {
+
+    // The customers of a bulk request, given either as a set of IDs or as a closed range of IDs
+    List<Long> resolveCustomerIds(Collection<Long> customerIds, Long fromCustomerId, Long toCustomerId);
+
+    // Chunks of at most app.assets.bulk-chunk-size customers, each on a single shard
+    List<List<Long>> chunk(Collection<Long> customerIds);
+
+    // Reads the chunks on parallel queries and passes each to the consumer, on the calling thread, as soon as it is read
+    void getAssetsByCustomerIds(Collection<Long> customerIds, Consumer<List<AssetResponse>> chunkConsumer);
+}
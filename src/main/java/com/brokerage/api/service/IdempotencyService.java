@@ -0,0 +1,15 @@
+package com.brokerage.api.service;
+import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.model.IdempotentOperation;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    // Runs the action once per user and key, later calls with the same key return the original response
+    Result execute(Long userId, String idempotencyKey, IdempotentOperation operation, Object request,
+                   Supplier<OrderResponse> action);
+
+    record Result(OrderResponse response, boolean replayed) {
+    }
+}
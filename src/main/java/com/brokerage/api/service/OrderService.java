@@ -1,9 +1,13 @@
 package com.brokerage.api.service;
+import com.brokerage.api.dto.request.AmendOrderRequest;
 import com.brokerage.api.dto.request.CreateOrderRequest;
 import com.brokerage.api.dto.request.OrderFilterRequest;
+import com.brokerage.api.dto.response.FillResponse;
+import com.brokerage.api.dto.response.OrderChangesResponse;
 import com.brokerage.api.dto.response.OrderResponse;
 import com.brokerage.api.model.Order;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderService {
@@ -16,6 +20,25 @@ public interface OrderService {
 
     OrderResponse cancelOrder(Long orderId, Long customerId);
 
+    // Changes the size or price of an open order, customerId is null for admins
+    OrderResponse amendOrder(Long orderId, AmendOrderRequest request, Long customerId);
+
     // Bonus 2 - Match pending orders
-    OrderResponse matchOrder(Long orderId);
+    default OrderResponse matchOrder(Long orderId) {
+        return matchOrder(orderId, null, null);
+    }
+
+    // Fills an open order, null size or price fill the whole remaining size at the order price
+    OrderResponse matchOrder(Long orderId, Double fillSize, Double fillPrice);
+
+    List<FillResponse> getFills(Long orderId);
+
+    // Orders of the customer changed after the given sequence, in change order, a null limit takes the default
+    OrderChangesResponse getOrderChanges(Long customerId, long after, Integer limit);
+
+    // Releases stop orders into the book, runs in its own transaction as it is called after the triggering fill committed
+    int triggerOrders(Collection<Long> orderIds);
+
+    // Expires the given orders that are still pending and past their expire date, returns how many were expired
+    int expireOrders(Collection<Long> orderIds);
 }
@@ -0,0 +1,7 @@
+package com.brokerage.api.service;
+import com.brokerage.api.dto.response.PortfolioValuationResponse;
+
+public interface PortfolioService {
+
+    PortfolioValuationResponse getPortfolioValuation(Long customerId);
+}
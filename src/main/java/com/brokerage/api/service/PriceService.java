@@ -0,0 +1,21 @@
+package com.brokerage.api.service;
+import com.brokerage.api.dto.request.PriceUpdateRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface PriceService {
+
+    Optional<Double> getPrice(String assetName);
+
+    Map<String, Double> getPrices();
+
+    void updatePrice(String assetName, Double price);
+
+    // Applies every price or, if any of them is invalid, none
+    void updatePrices(List<PriceUpdateRequest> updates);
+
+    // Incremented on every price change, lets callers detect stale derived values
+    long getVersion();
+}
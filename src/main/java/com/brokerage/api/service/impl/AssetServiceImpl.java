@@ -22,18 +22,17 @@ public class AssetServiceImpl implements AssetService {
     private final AssetRepository assetRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public List<AssetResponse> getAssetsByCustomerId(Long customerId) {
         log.debug("Getting assets for customer ID: {}", customerId);
-        return assetRepository.findByCustomerId(customerId)
-                .stream()
-                .map(this::mapToAssetResponse)
-                .collect(Collectors.toList());
+        return assetRepository.findResponsesByCustomerId(customerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AssetResponse> filterAssets(AssetFilterRequest request) {
         log.debug("Filtering assets with request: {}", request);
-        List<Asset> assets = assetRepository.findByCustomerId(request.getCustomerId());
+        List<AssetResponse> assets = assetRepository.findResponsesByCustomerId(request.getCustomerId());
 
         // Apply filters
         if (request.getAssetName() != null && !request.getAssetName().isEmpty()) {
@@ -48,9 +47,7 @@ public class AssetServiceImpl implements AssetService {
                     .collect(Collectors.toList());
         }
 
-        return assets.stream()
-                .map(this::mapToAssetResponse)
-                .collect(Collectors.toList());
+        return assets;
     }
 
     @Override
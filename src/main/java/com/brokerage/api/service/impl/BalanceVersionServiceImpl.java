@@ -0,0 +1,56 @@
+package com.brokerage.api.service.impl;
+
+import com.brokerage.api.event.DatabaseSeededEvent;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.replication.ReplicaReplicator;
+import com.brokerage.api.service.BalanceVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versions are taken from one sequence, so seeding can move every customer past their current version at once.
+ * Entity tags also carry the start time of this instance, as versions start over on a restart.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceVersionServiceImpl implements BalanceVersionService {
+
+    private final Optional<ReplicaReplicator> replicaReplicator;
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private volatile long floor;
+
+    @Override
+    public long getVersion(Long customerId) {
+        return Math.max(versions.getOrDefault(customerId, 0L), floor);
+    }
+
+    @Override
+    public Optional<String> getETag(Long customerId) {
+        long version = getVersion(customerId);
+        // Changes are journaled before the version moves, a replica without lag already has the ones counted
+        if (replicaReplicator.isPresent() && replicaReplicator.get().getLagNanos() > 0) {
+            return Optional.empty();
+        }
+        return Optional.of("W/\"" + epoch + "-" + version + "\"");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        versions.merge(event.getCustomerId(), sequence.incrementAndGet(), Math::max);
+    }
+
+    @EventListener(DatabaseSeededEvent.class)
+    public void onDatabaseSeeded() {
+        floor = sequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,143 @@
+package com.brokerage.api.service.impl;
+
+import com.brokerage.api.config.AssetProperties;
+import com.brokerage.api.dto.response.AssetResponse;
+import com.brokerage.api.exception.ApiException;
+import com.brokerage.api.repository.AssetRepository;
+import com.brokerage.api.service.BulkAssetService;
+import com.brokerage.api.sharding.ShardContext;
+import com.brokerage.api.sharding.ShardMap;
+import com.brokerage.api.tracing.QueryStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Assets of many customers in a few queries: the customers are split into chunks per shard, and every chunk is read
+ * with one IN query on a small pool of its own, so a large request can not take every database connection.
+ */
+@Service
+@Slf4j
+public class BulkAssetServiceImpl implements BulkAssetService, DisposableBean {
+
+    private final AssetRepository assetRepository;
+    private final ShardMap shardMap;
+    private final AssetProperties assetProperties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService queryExecutor;
+
+    public BulkAssetServiceImpl(AssetRepository assetRepository, ShardMap shardMap, AssetProperties assetProperties,
+                                PlatformTransactionManager transactionManager) {
+        this.assetRepository = assetRepository;
+        this.shardMap = shardMap;
+        this.assetProperties = assetProperties;
+        // Read-only, so the chunks go to the replica when it is fresh enough
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.queryExecutor = Executors.newFixedThreadPool(assetProperties.getBulkQueryThreads(),
+                new CustomizableThreadFactory("asset-bulk-"));
+    }
+
+    @Override
+    public List<Long> resolveCustomerIds(Collection<Long> customerIds, Long fromCustomerId, Long toCustomerId) {
+        boolean byIds = customerIds != null && !customerIds.isEmpty();
+        boolean byRange = fromCustomerId != null || toCustomerId != null;
+        if (byIds == byRange) {
+            throw new ApiException("Either customerIds or fromCustomerId and toCustomerId are required");
+        }
+
+        int max = assetProperties.getBulkMaxCustomers();
+        if (byIds) {
+            if (customerIds.size() > max) {
+                throw new ApiException("At most " + max + " customers can be read at once");
+            }
+            return new ArrayList<>(new TreeSet<>(customerIds));
+        }
+        if (fromCustomerId == null || toCustomerId == null || fromCustomerId > toCustomerId) {
+            throw new ApiException("fromCustomerId and toCustomerId must both be given, in ascending order");
+        }
+        if (toCustomerId - fromCustomerId >= max) {
+            throw new ApiException("At most " + max + " customers can be read at once");
+        }
+        return LongStream.rangeClosed(fromCustomerId, toCustomerId).boxed().collect(Collectors.toList());
+    }
+
+    @Override
+    public List<List<Long>> chunk(Collection<Long> customerIds) {
+        Map<Integer, List<Long>> byShard = new TreeMap<>();
+        for (Long customerId : new TreeSet<>(customerIds)) {
+            byShard.computeIfAbsent(shardMap.shardForCustomer(customerId), shard -> new ArrayList<>()).add(customerId);
+        }
+
+        int chunkSize = Math.max(1, assetProperties.getBulkChunkSize());
+        List<List<Long>> chunks = new ArrayList<>();
+        for (List<Long> shardCustomerIds : byShard.values()) {
+            for (int from = 0; from < shardCustomerIds.size(); from += chunkSize) {
+                chunks.add(shardCustomerIds.subList(from, Math.min(from + chunkSize, shardCustomerIds.size())));
+            }
+        }
+        return chunks;
+    }
+
+    @Override
+    public void getAssetsByCustomerIds(Collection<Long> customerIds, Consumer<List<AssetResponse>> chunkConsumer) {
+        List<List<Long>> chunks = chunk(customerIds);
+        log.debug("Reading assets of {} customers in {} chunks", customerIds.size(), chunks.size());
+
+        QueryStats queryStats = QueryStats.current();
+        CompletionService<List<AssetResponse>> completionService = new ExecutorCompletionService<>(queryExecutor);
+        List<Future<List<AssetResponse>>> reads = new ArrayList<>();
+        for (List<Long> chunk : chunks) {
+            reads.add(completionService.submit(() -> readChunk(chunk, queryStats)));
+        }
+
+        try {
+            for (int i = 0; i < chunks.size(); i++) {
+                chunkConsumer.accept(completionService.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading assets", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } finally {
+            // Skips the chunks not started yet after a failure, running queries are not interrupted
+            reads.forEach(read -> read.cancel(false));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        queryExecutor.shutdown();
+    }
+
+    private List<AssetResponse> readChunk(List<Long> customerIds, QueryStats queryStats) {
+        QueryStats previousStats = QueryStats.bind(queryStats);
+        try {
+            // The connection of the transaction is taken on the chunk's shard
+            return ShardContext.callOn(shardMap.shardForCustomer(customerIds.get(0)),
+                    () -> readOnlyTransaction.execute(status -> assetRepository.findResponsesByCustomerIdIn(customerIds)));
+        } finally {
+            QueryStats.bind(previousStats);
+        }
+    }
+}
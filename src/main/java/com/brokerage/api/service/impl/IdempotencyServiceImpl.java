@@ -0,0 +1,161 @@
+package com.brokerage.api.service.impl;
+
+import com.brokerage.api.config.IdempotencyProperties;
+import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.exception.ApiException;
+import com.brokerage.api.model.IdempotencyRecord;
+import com.brokerage.api.model.IdempotentOperation;
+import com.brokerage.api.repository.IdempotencyRecordRepository;
+import com.brokerage.api.service.IdempotencyService;
+import com.brokerage.api.util.ExpiringCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Dedupes retried order requests. Recent keys are answered from a bounded in-memory cache, older ones from the
+ * idempotency_records table, which is written in the same transaction as the order so a committed order always has
+ * its record.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final IdempotencyProperties idempotencyProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ExpiringCache<CacheKey, StoredResponse> cache;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository recordRepository,
+                                  IdempotencyProperties idempotencyProperties,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper) {
+        this.recordRepository = recordRepository;
+        this.idempotencyProperties = idempotencyProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.cache = new ExpiringCache<>(idempotencyProperties.getTtl().toMillis(),
+                idempotencyProperties.getCacheSize());
+    }
+
+    @Override
+    public Result execute(Long userId, String idempotencyKey, IdempotentOperation operation, Object request,
+                          Supplier<OrderResponse> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ApiException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        CacheKey cacheKey = new CacheKey(userId, idempotencyKey);
+        String requestHash = hash(operation, request);
+
+        Optional<StoredResponse> stored = lookup(cacheKey);
+        if (stored.isPresent()) {
+            return replay(cacheKey, stored.get(), operation, requestHash);
+        }
+
+        try {
+            OrderResponse response = transactionTemplate.execute(status -> {
+                OrderResponse result = action.get();
+                LocalDateTime now = LocalDateTime.now();
+                recordRepository.deleteExpiredByUserIdAndIdempotencyKey(userId, idempotencyKey, now);
+                recordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .userId(userId)
+                        .idempotencyKey(idempotencyKey)
+                        .operation(operation)
+                        .requestHash(requestHash)
+                        .orderId(result.getId())
+                        .responseBody(write(result))
+                        .createDate(now)
+                        .expireDate(now.plus(idempotencyProperties.getTtl()))
+                        .build());
+                return result;
+            });
+            cache.put(cacheKey, new StoredResponse(operation, requestHash, response), System.currentTimeMillis());
+            return new Result(response, false);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first, this one was rolled back
+            StoredResponse winner = lookup(cacheKey).orElseThrow(() -> e);
+            log.info("Concurrent request with idempotency key {} of user ID: {}", idempotencyKey, userId);
+            return replay(cacheKey, winner, operation, requestHash);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = recordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private Optional<StoredResponse> lookup(CacheKey cacheKey) {
+        Optional<StoredResponse> cached = cache.get(cacheKey, System.currentTimeMillis());
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        return recordRepository.findByUserIdAndIdempotencyKeyAndExpireDateAfter(
+                        cacheKey.userId(), cacheKey.idempotencyKey(), LocalDateTime.now())
+                .map(record -> new StoredResponse(record.getOperation(), record.getRequestHash(),
+                        read(record.getResponseBody())));
+    }
+
+    private Result replay(CacheKey cacheKey, StoredResponse stored, IdempotentOperation operation, String requestHash) {
+        if (stored.operation() != operation || !stored.requestHash().equals(requestHash)) {
+            throw new ApiException("Idempotency-Key was already used for a different request",
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        log.info("Replaying {} response for idempotency key {} of user ID: {}",
+                operation, cacheKey.idempotencyKey(), cacheKey.userId());
+        return new Result(stored.response(), true);
+    }
+
+    private String hash(IdempotentOperation operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.name().getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to hash request", e);
+        }
+    }
+
+    private String write(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order response", e);
+        }
+    }
+
+    private OrderResponse read(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored order response", e);
+        }
+    }
+
+    private record CacheKey(Long userId, String idempotencyKey) {
+    }
+
+    private record StoredResponse(IdempotentOperation operation, String requestHash, OrderResponse response) {
+    }
+}
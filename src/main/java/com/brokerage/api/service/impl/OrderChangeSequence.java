@@ -0,0 +1,73 @@
+package com.brokerage.api.service.impl;
+
+import com.brokerage.api.repository.OrderArchiveRepository;
+import com.brokerage.api.sharding.ShardContext;
+import com.brokerage.api.sharding.ShardMap;
+import com.brokerage.api.sharding.ShardSchemaInitializer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Global, monotonic sequence of order changes. Numbers are taken inside the changing transactions, which can commit
+ * in a different order; readers that stop at visibleThrough() never skip a number that becomes visible later.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderChangeSequence implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final ShardMap shardMap;
+    private final ObjectProvider<ShardSchemaInitializer> shardSchemaInitializer;
+
+    // Numbers handed out to transactions that have not completed yet
+    private final NavigableSet<Long> pending = new TreeSet<>();
+    private long last;
+
+    @Override
+    public void afterPropertiesSet() {
+        // The other shards have no tables before the initializer ran. Plain JDBC on this thread, since a repository
+        // fan-out would wait on threads that need the bean factory this is still being created in
+        shardSchemaInitializer.getIfAvailable();
+        for (int shard = 0; shard < shardMap.getShardCount(); shard++) {
+            Long stored = ShardContext.callOn(shard,
+                    () -> jdbcTemplate.queryForObject("SELECT MAX(change_seq) FROM orders", Long.class));
+            if (stored != null) {
+                last = Math.max(last, stored);
+            }
+            // Archived orders keep their numbers, the feed still serves them
+            last = Math.max(last, orderArchiveRepository.findMaxChangeSeq(shard));
+        }
+    }
+
+    // Has to be called in the transaction that writes the change
+    public synchronized long next() {
+        long sequence = last + 1;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(sequence);
+            }
+        });
+        last = sequence;
+        pending.add(sequence);
+        return sequence;
+    }
+
+    // Every change up to this number is committed or rolled back
+    public synchronized long visibleThrough() {
+        return pending.isEmpty() ? last : pending.first() - 1;
+    }
+
+    private synchronized void release(long sequence) {
+        pending.remove(sequence);
+    }
+}
@@ -1,24 +1,54 @@
 package com.brokerage.api.service.impl;
 
+import com.brokerage.api.config.OrderProperties;
+import com.brokerage.api.dto.request.AmendOrderRequest;
 import com.brokerage.api.dto.request.CreateOrderRequest;
 import com.brokerage.api.dto.request.OrderFilterRequest;
+import com.brokerage.api.dto.response.FillResponse;
+import com.brokerage.api.dto.response.OrderChangeResponse;
+import com.brokerage.api.dto.response.OrderChangesResponse;
 import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.event.OrderEvent.ReservedBalance;
+import com.brokerage.api.event.OrderEventType;
 import com.brokerage.api.exception.ApiException;
 import com.brokerage.api.exception.InsufficientFundsException;
 import com.brokerage.api.exception.ResourceNotFoundException;
+import com.brokerage.api.exception.RiskLimitExceededException;
+import com.brokerage.api.metrics.OrderMetrics;
+import com.brokerage.api.metrics.OrderMetrics.Outcome;
+import com.brokerage.api.metrics.OrderMetrics.Stage;
 import com.brokerage.api.model.Asset;
+import com.brokerage.api.model.Fill;
 import com.brokerage.api.model.Order;
 import com.brokerage.api.model.OrderSide;
 import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.model.OrderType;
+import com.brokerage.api.model.TimeInForce;
 import com.brokerage.api.repository.AssetRepository;
+import com.brokerage.api.repository.FillRepository;
+import com.brokerage.api.repository.OrderArchiveRepository;
 import com.brokerage.api.repository.OrderRepository;
+import com.brokerage.api.risk.PreTradeRiskEngine;
+import com.brokerage.api.risk.RiskOrder;
 import com.brokerage.api.service.OrderService;
+import com.brokerage.api.service.PriceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,50 +56,88 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
+    private static final double FILL_TOLERANCE = 1e-9;
+    private static final Comparator<OrderResponse> BY_CREATE_DATE =
+            Comparator.comparing(OrderResponse::getCreateDate).thenComparing(OrderResponse::getId);
+
     private final OrderRepository orderRepository;
     private final AssetRepository assetRepository;
+    private final FillRepository fillRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PreTradeRiskEngine riskEngine;
+    private final PriceService priceService;
+    private final OrderProperties orderProperties;
+    private final OrderMetrics orderMetrics;
+    private final OrderChangeSequence orderChangeSequence;
 
     @Override
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
-        log.info("Creating order for customer ID: {}, asset: {}, side: {}, size: {}, price: {}",
+        log.debug("Creating order for customer ID: {}, asset: {}, side: {}, size: {}, price: {}",
                 request.getCustomerId(), request.getAssetName(), request.getOrderSide(),
                 request.getSize(), request.getPrice());
 
+        LocalDateTime now = LocalDateTime.now();
+        TimeInForce timeInForce = request.getTimeInForce() != null ? request.getTimeInForce() : TimeInForce.GTC;
+        LocalDateTime expireDate = resolveExpireDate(timeInForce, request.getExpireDate(), now);
+        OrderType orderType = request.getOrderType() != null ? request.getOrderType() : OrderType.LIMIT;
+        double price = validateOrderType(orderType, request);
+
+        long stageStart = System.nanoTime();
+        try {
+            riskEngine.check(RiskOrder.from(request, price));
+        } catch (RiskLimitExceededException e) {
+            throw orderMetrics.count(Outcome.RISK_REJECTED, e);
+        }
+        stageStart = orderMetrics.record(Stage.RISK_CHECK, stageStart);
+
         // Validating customer has the asset or TRY (depending on BUY/SELL)
+        ReservedBalance reservedBalance = null;
         if (request.getOrderSide() == OrderSide.BUY) {
             // Check if customer has enough TRY to buy
             Asset tryAsset = assetRepository.findByCustomerIdAndAssetName(request.getCustomerId(), "TRY")
-                    .orElseThrow(() -> new ResourceNotFoundException("Customer does not have TRY asset"));
+                    .orElseThrow(() -> orderMetrics.count(Outcome.NOT_FOUND,
+                            new ResourceNotFoundException("Customer does not have TRY asset")));
+            stageStart = orderMetrics.record(Stage.BALANCE_READ, stageStart);
 
-            double requiredAmount = request.getSize() * request.getPrice();
+            double requiredAmount = request.getSize() * price;
 
             if (tryAsset.getUsableSize() < requiredAmount) {
                 log.warn("Insufficient TRY balance for order. Required: {}, Available: {}",
                         requiredAmount, tryAsset.getUsableSize());
-                throw new InsufficientFundsException("Insufficient TRY balance for this order");
+                throw orderMetrics.count(Outcome.INSUFFICIENT_FUNDS,
+                        new InsufficientFundsException("Insufficient TRY balance for this order"));
             }
 
-            log.info("Reserving {} TRY for order", requiredAmount);
+            log.debug("Reserving {} TRY for order", requiredAmount);
             // Update TRY usable size
+            reservedBalance = ReservedBalance.before(tryAsset);
             tryAsset.setUsableSize(tryAsset.getUsableSize() - requiredAmount);
             assetRepository.save(tryAsset);
+            reservedBalance = reservedBalance.after(tryAsset);
         } else if (request.getOrderSide() == OrderSide.SELL) {
             // Checking if customer has enough of the asset to sell
             Asset asset = assetRepository.findByCustomerIdAndAssetName(request.getCustomerId(), request.getAssetName())
-                    .orElseThrow(() -> new ResourceNotFoundException("Customer does not have the requested asset"));
+                    .orElseThrow(() -> orderMetrics.count(Outcome.NOT_FOUND,
+                            new ResourceNotFoundException("Customer does not have the requested asset")));
+            stageStart = orderMetrics.record(Stage.BALANCE_READ, stageStart);
 
             if (asset.getUsableSize() < request.getSize()) {
                 log.warn("Insufficient asset balance for order. Required: {}, Available: {}",
                         request.getSize(), asset.getUsableSize());
-                throw new InsufficientFundsException("Insufficient asset balance for this order");
+                throw orderMetrics.count(Outcome.INSUFFICIENT_FUNDS,
+                        new InsufficientFundsException("Insufficient asset balance for this order"));
             }
 
-            log.info("Reserving {} units of {} for order", request.getSize(), request.getAssetName());
+            log.debug("Reserving {} units of {} for order", request.getSize(), request.getAssetName());
             // Updating asset usable size
+            reservedBalance = ReservedBalance.before(asset);
             asset.setUsableSize(asset.getUsableSize() - request.getSize());
             assetRepository.save(asset);
+            reservedBalance = reservedBalance.after(asset);
         }
+        stageStart = orderMetrics.record(Stage.RESERVATION, stageStart);
 
         // Creating and save order
         Order order = Order.builder()
@@ -77,29 +145,44 @@ public class OrderServiceImpl implements OrderService {
                 .assetName(request.getAssetName())
                 .orderSide(request.getOrderSide())
                 .size(request.getSize())
-                .price(request.getPrice())
-                .status(OrderStatus.PENDING)
-                .createDate(LocalDateTime.now())
+                .price(price)
+                .orderType(orderType)
+                .stopPrice(request.getStopPrice())
+                .remainingSize(request.getSize())
+                .status(orderType.isStop() ? OrderStatus.PENDING_TRIGGER : OrderStatus.PENDING)
+                .createDate(now)
+                .priorityDate(now)
+                .timeInForce(timeInForce)
+                .expireDate(expireDate)
+                .changeSeq(orderChangeSequence.next())
+                .changeDate(now)
                 .build();
 
         Order savedOrder = orderRepository.save(order);
-        log.info("Order created with ID: {}", savedOrder.getId());
+        orderMetrics.record(Stage.INSERT, stageStart);
+        log.debug("Order created with ID: {}", savedOrder.getId());
+        eventPublisher.publishEvent(OrderEvent.of(OrderEventType.CREATED, savedOrder).withReservedBalance(reservedBalance));
+        orderMetrics.recordCommit();
 
         return mapToOrderResponse(savedOrder);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByCustomerIdAndDateRange(Long customerId, LocalDateTime startDate, LocalDateTime endDate) {
-        log.info("Getting orders for customer ID: {} between {} and {}", customerId, startDate, endDate);
-        return orderRepository.findByCustomerIdAndDateRange(customerId, startDate, endDate)
-                .stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        log.debug("Getting orders for customer ID: {} between {} and {}", customerId, startDate, endDate);
+        // Only closed orders are archived, so open orders in the orders table can be older than archived ones
+        List<OrderResponse> orders = new ArrayList<>(
+                orderArchiveRepository.findByCustomerIdAndDateRange(customerId, startDate, endDate));
+        orders.addAll(orderRepository.findResponsesByCustomerIdAndDateRange(customerId, startDate, endDate));
+        orders.sort(BY_CREATE_DATE);
+        return orders;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> filterOrders(OrderFilterRequest request) {
-        log.info("Filtering orders with request: {}", request);
+        log.debug("Filtering orders with request: {}", request);
         // For simplicity,  just filter by customerId and date range here
         LocalDateTime start = request.getStartDate() != null ? request.getStartDate() : LocalDateTime.now().minusYears(10);
         LocalDateTime end = request.getEndDate() != null ? request.getEndDate() : LocalDateTime.now();
@@ -110,7 +193,7 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional
     public OrderResponse cancelOrder(Long orderId, Long customerId) {
-        log.info("Cancelling order with ID: {}, requested by customer ID: {}", orderId, customerId);
+        log.debug("Cancelling order with ID: {}, requested by customer ID: {}", orderId, customerId);
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
@@ -124,53 +207,144 @@ public class OrderServiceImpl implements OrderService {
             throw new ApiException("You don't have permission to cancel this order");
         }
 
-        // Only PENDING orders can be canceled
-        if (order.getStatus() != OrderStatus.PENDING) {
+        // Only open orders can be canceled, fills already done are kept
+        if (!order.getStatus().isOpen()) {
             log.warn("Cannot cancel order with status: {}", order.getStatus());
-            throw new ApiException("Only PENDING orders can be canceled");
+            throw new ApiException("Only PENDING_TRIGGER, PENDING or PARTIALLY_FILLED orders can be canceled");
         }
 
         // Updating the order status
         order.setStatus(OrderStatus.CANCELED);
+        markChanged(order);
         orderRepository.save(order);
-        log.info("Order status updated to CANCELED");
+        log.debug("Order status updated to CANCELED");
 
-        // Return funds to the customer
-        if (order.getOrderSide() == OrderSide.BUY) {
-            // Return TRY to the customer
-            Asset tryAsset = assetRepository.findByCustomerIdAndAssetName(order.getCustomerId(), "TRY")
-                    .orElseThrow(() -> new ResourceNotFoundException("Customer does not have TRY asset"));
+        // Return the funds still reserved for the unfilled part to the customer
+        String reservedAssetName = reservedAssetName(order);
+        double returnAmount = reservedAmount(order);
+        Asset reservedAsset = assetRepository.findByCustomerIdAndAssetName(order.getCustomerId(), reservedAssetName)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer does not have " + reservedAssetName + " asset"));
 
-            double returnAmount = order.getSize() * order.getPrice();
-            tryAsset.setUsableSize(tryAsset.getUsableSize() + returnAmount);
-            assetRepository.save(tryAsset);
-            log.info("Returned {} TRY to customer", returnAmount);
-        } else if (order.getOrderSide() == OrderSide.SELL) {
-            // Return asset to the customer
-            Asset asset = assetRepository.findByCustomerIdAndAssetName(order.getCustomerId(), order.getAssetName())
-                    .orElseThrow(() -> new ResourceNotFoundException("Customer does not have the asset"));
+        ReservedBalance reservedBalance = ReservedBalance.before(reservedAsset);
+        reservedAsset.setUsableSize(reservedAsset.getUsableSize() + returnAmount);
+        assetRepository.save(reservedAsset);
+        log.debug("Returned {} {} to customer", returnAmount, reservedAssetName);
 
-            asset.setUsableSize(asset.getUsableSize() + order.getSize());
-            assetRepository.save(asset);
-            log.info("Returned {} units of {} to customer", order.getSize(), order.getAssetName());
+        eventPublisher.publishEvent(OrderEvent.of(OrderEventType.CANCELED, order)
+                .withReservedBalance(reservedBalance.after(reservedAsset)));
+        return mapToOrderResponse(order);
+    }
+
+    @Override
+    @Transactional
+    public OrderResponse amendOrder(Long orderId, AmendOrderRequest request, Long customerId) {
+        log.debug("Amending order with ID: {}, requested by customer ID: {}, request: {}", orderId, customerId, request);
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+
+        // Verifying the order belongs to the customer (unless admin, customerId is null)
+        if (customerId != null && !order.getCustomerId().equals(customerId)) {
+            log.warn("Permission denied. Order belongs to customer ID: {}, requested by: {}",
+                    order.getCustomerId(), customerId);
+            throw new ApiException("You don't have permission to amend this order");
+        }
+
+        if (!order.getStatus().isOpen()) {
+            log.warn("Cannot amend order with status: {}", order.getStatus());
+            throw new ApiException("Only PENDING_TRIGGER, PENDING or PARTIALLY_FILLED orders can be amended");
+        }
+
+        if (request.getSize() == null && request.getPrice() == null) {
+            throw new ApiException("Size or price is required");
+        }
+
+        double newSize = request.getSize() != null ? request.getSize() : order.getSize();
+        double newPrice = request.getPrice() != null ? request.getPrice() : order.getPrice();
+        if (newSize <= 0 || newPrice <= 0) {
+            throw new ApiException("Size and price must be positive");
+        }
+        if (order.getOrderType() == OrderType.STOP && newPrice != order.getPrice()) {
+            throw new ApiException("The price of STOP orders is their stop price and can not be amended");
+        }
+
+        // Size is the total order size, it can not go below what is already filled
+        double newRemainingSize = newSize - order.getFilledSize();
+        if (newRemainingSize <= FILL_TOLERANCE) {
+            throw new ApiException("Size must be greater than the filled size of " + order.getFilledSize());
+        }
+
+        boolean priceChanged = newPrice != order.getPrice();
+        boolean sizeIncreased = newRemainingSize > order.getRemainingSize();
+        if (priceChanged || sizeIncreased) {
+            riskEngine.check(RiskOrder.forAmend(order, newRemainingSize, newPrice));
+        }
+
+        // Only the difference to the current reservation is reserved or released
+        String reservedAssetName = reservedAssetName(order);
+        double previousReserved = reservedAmount(order);
+        double previousRemainingSize = order.getRemainingSize();
+        double previousPrice = order.getPrice();
+        order.setSize(newSize);
+        order.setPrice(newPrice);
+        order.setRemainingSize(newRemainingSize);
+        double delta = reservedAmount(order) - previousReserved;
+        ReservedBalance reservedBalance = null;
+
+        if (delta != 0) {
+            Asset reservedAsset = assetRepository.findByCustomerIdAndAssetName(order.getCustomerId(), reservedAssetName)
+                    .orElseThrow(() -> new ResourceNotFoundException("Customer does not have " + reservedAssetName + " asset"));
+
+            if (delta > 0 && reservedAsset.getUsableSize() < delta) {
+                log.warn("Insufficient {} balance for amend. Required: {}, Available: {}",
+                        reservedAssetName, delta, reservedAsset.getUsableSize());
+                throw new InsufficientFundsException("Insufficient " + reservedAssetName + " balance for this amend");
+            }
+
+            reservedBalance = ReservedBalance.before(reservedAsset);
+            reservedAsset.setUsableSize(reservedAsset.getUsableSize() - delta);
+            assetRepository.save(reservedAsset);
+            reservedBalance = reservedBalance.after(reservedAsset);
+            log.debug("Adjusted {} reservation by {}", reservedAssetName, delta);
+        }
+
+        // Reducing the size keeps the time priority, anything else puts the order at the back of the queue
+        if (priceChanged || sizeIncreased) {
+            order.setPriorityDate(LocalDateTime.now());
         }
 
+        markChanged(order);
+        orderRepository.save(order);
+        log.debug("Order amended to size: {}, price: {}", newSize, newPrice);
+
+        eventPublisher.publishEvent(OrderEvent.ofAmend(order, previousRemainingSize, previousPrice).withReservedBalance(reservedBalance));
         return mapToOrderResponse(order);
     }
 
     @Override
     @Transactional
-    public OrderResponse matchOrder(Long orderId) {
-        log.info("Matching order with ID: {}", orderId);
-        Order order = orderRepository.findByIdAndStatus(orderId, OrderStatus.PENDING)
-                .orElseThrow(() -> new ResourceNotFoundException("Pending order not found"));
+    public OrderResponse matchOrder(Long orderId, Double fillSize, Double fillPrice) {
+        log.debug("Matching order with ID: {}, size: {}, price: {}", orderId, fillSize, fillPrice);
+        Order order = orderRepository.findByIdAndStatusIn(orderId, OrderStatus.FILLABLE)
+                .orElseThrow(() -> new ResourceNotFoundException("Open order not found"));
 
-        // Updating order status
-        order.setStatus(OrderStatus.MATCHED);
-        orderRepository.save(order);
-        log.info("Order status updated to MATCHED");
+        // Without explicit values the whole remaining size is filled at the order price
+        double size = fillSize != null ? fillSize : order.getRemainingSize();
+        double price = fillPrice != null ? fillPrice : order.getPrice();
+
+        if (size <= 0 || size > order.getRemainingSize() + FILL_TOLERANCE) {
+            throw new ApiException("Fill size must be positive and at most the remaining size of " + order.getRemainingSize());
+        }
+        if (price <= 0) {
+            throw new ApiException("Fill price must be positive");
+        }
+        // Triggered STOP orders are market orders, any other order is bound by its limit price
+        if (order.getOrderType() != OrderType.STOP
+                && (order.getOrderSide() == OrderSide.BUY ? price > order.getPrice() : price < order.getPrice())) {
+            throw new ApiException("Fill price " + price + " is worse than the order limit price " + order.getPrice());
+        }
 
         // Updating customer assets
+        ReservedBalance reservedBalance = null;
         if (order.getOrderSide() == OrderSide.BUY) {
             // Customer is buying an asset with TRY
 
@@ -184,19 +358,28 @@ public class OrderServiceImpl implements OrderService {
                             .build());
 
             // Updating asset sizes
-            asset.setSize(asset.getSize() + order.getSize());
-            asset.setUsableSize(asset.getUsableSize() + order.getSize());
+            asset.setSize(asset.getSize() + size);
+            asset.setUsableSize(asset.getUsableSize() + size);
             assetRepository.save(asset);
-            log.info("Added {} units of {} to customer's assets", order.getSize(), order.getAssetName());
+            log.debug("Added {} units of {} to customer's assets", size, order.getAssetName());
 
-            // TRY has already been deducted from usableSize, now update the actual size too
+            // TRY for this fill was reserved at the limit price, the actual size is reduced by the execution price
+            // and any price improvement goes back to usableSize
             Asset tryAsset = assetRepository.findByCustomerIdAndAssetName(order.getCustomerId(), "TRY")
                     .orElseThrow(() -> new ResourceNotFoundException("Customer does not have TRY asset"));
 
-            double spentAmount = order.getSize() * order.getPrice();
+            double spentAmount = size * price;
+            double releasedAmount = size * (order.getPrice() - price);
+            if (tryAsset.getUsableSize() + releasedAmount < 0) {
+                // Only possible for STOP orders filled above their stop price
+                throw new InsufficientFundsException("Insufficient TRY balance to fill at " + price);
+            }
+            reservedBalance = ReservedBalance.before(tryAsset);
             tryAsset.setSize(tryAsset.getSize() - spentAmount);
+            tryAsset.setUsableSize(tryAsset.getUsableSize() + releasedAmount);
             assetRepository.save(tryAsset);
-            log.info("Deducted {} TRY from customer's balance", spentAmount);
+            reservedBalance = reservedBalance.after(tryAsset);
+            log.debug("Deducted {} TRY from customer's balance", spentAmount);
 
         } else if (order.getOrderSide() == OrderSide.SELL) {
             // Customer is selling an asset for TRY
@@ -205,24 +388,219 @@ public class OrderServiceImpl implements OrderService {
             Asset asset = assetRepository.findByCustomerIdAndAssetName(order.getCustomerId(), order.getAssetName())
                     .orElseThrow(() -> new ResourceNotFoundException("Customer does not have the asset"));
 
-            asset.setSize(asset.getSize() - order.getSize());
+            reservedBalance = ReservedBalance.before(asset);
+            asset.setSize(asset.getSize() - size);
             assetRepository.save(asset);
-            log.info("Removed {} units of {} from customer's assets", order.getSize(), order.getAssetName());
+            reservedBalance = reservedBalance.after(asset);
+            log.debug("Removed {} units of {} from customer's assets", size, order.getAssetName());
 
             // Updating TRY asset
             Asset tryAsset = assetRepository.findByCustomerIdAndAssetName(order.getCustomerId(), "TRY")
                     .orElseThrow(() -> new ResourceNotFoundException("Customer does not have TRY asset"));
 
-            double receivedAmount = order.getSize() * order.getPrice();
+            double receivedAmount = size * price;
             tryAsset.setSize(tryAsset.getSize() + receivedAmount);
             tryAsset.setUsableSize(tryAsset.getUsableSize() + receivedAmount);
             assetRepository.save(tryAsset);
-            log.info("Added {} TRY to customer's balance", receivedAmount);
+            log.debug("Added {} TRY to customer's balance", receivedAmount);
         }
 
+        Fill fill = fillRepository.save(Fill.builder()
+                .orderId(order.getId())
+                .customerId(order.getCustomerId())
+                .assetName(order.getAssetName())
+                .orderSide(order.getOrderSide())
+                .size(size)
+                .price(price)
+                .fillDate(LocalDateTime.now())
+                .build());
+
+        // Updating order fill state
+        double filledBefore = order.getFilledSize();
+        double remaining = order.getRemainingSize() - size;
+        order.setFilledSize(filledBefore + size);
+        order.setAverageFillPrice(order.getAverageFillPrice() == null ? price
+                : (order.getAverageFillPrice() * filledBefore + price * size) / order.getFilledSize());
+        if (remaining <= FILL_TOLERANCE) {
+            order.setRemainingSize(0.0);
+            order.setStatus(OrderStatus.MATCHED);
+        } else {
+            order.setRemainingSize(remaining);
+            order.setStatus(OrderStatus.PARTIALLY_FILLED);
+        }
+        markChanged(order);
+        orderRepository.save(order);
+        log.debug("Order status updated to {}, remaining size: {}", order.getStatus(), order.getRemainingSize());
+
+        eventPublisher.publishEvent(OrderEvent.ofFill(order, fill).withReservedBalance(reservedBalance));
         return mapToOrderResponse(order);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int triggerOrders(Collection<Long> orderIds) {
+        List<Order> orders = orderRepository.findByIdInAndStatusIn(orderIds, EnumSet.of(OrderStatus.PENDING_TRIGGER));
+        LocalDateTime now = LocalDateTime.now();
+        for (Order order : orders) {
+            // Triggered orders join the queue behind the orders that were already pending
+            order.setStatus(OrderStatus.PENDING);
+            order.setPriorityDate(now);
+            markChanged(order);
+        }
+        orderRepository.saveAll(orders);
+
+        orders.forEach(order -> eventPublisher.publishEvent(OrderEvent.of(OrderEventType.TRIGGERED, order)));
+        log.info("Triggered {} of {} stop orders", orders.size(), orderIds.size());
+        return orders.size();
+    }
+
+    @Override
+    // Not read-only: a lagging replica may miss changes below the visible sequence
+    @Transactional
+    public OrderChangesResponse getOrderChanges(Long customerId, long after, Integer limit) {
+        // Taken before the query, every change up to it is committed and visible to the query
+        long visibleThrough = orderChangeSequence.visibleThrough();
+        int batchSize = Math.max(1, Math.min(limit != null ? limit : orderProperties.getChangesBatchSize(),
+                orderProperties.getChangesMaxBatchSize()));
+        // Keyed by sequence: an order archived between the two reads is found in both
+        Map<Long, OrderChangeResponse> found = new TreeMap<>();
+        orderRepository.findChanges(customerId, after, visibleThrough, PageRequest.of(0, batchSize))
+                .forEach(order -> found.put(order.getChangeSeq(), OrderChangeResponse.builder()
+                        .sequence(order.getChangeSeq())
+                        .order(mapToOrderResponse(order))
+                        .build()));
+        // Read second, an order moved meanwhile is no longer in the orders table but already in the archive
+        orderArchiveRepository.findChanges(customerId, after, visibleThrough, batchSize)
+                .forEach(change -> found.put(change.getSequence(), change));
+        List<OrderChangeResponse> changes = found.values().stream()
+                .limit(batchSize)
+                .collect(Collectors.toList());
+        log.debug("Found {} order changes for customer ID: {} after {}", changes.size(), customerId, after);
+
+        return OrderChangesResponse.builder()
+                .customerId(customerId)
+                .lastSequence(changes.isEmpty() ? after : changes.get(changes.size() - 1).getSequence())
+                .hasMore(changes.size() == batchSize)
+                .changes(changes)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FillResponse> getFills(Long orderId) {
+        log.debug("Getting fills for order ID: {}", orderId);
+        return fillRepository.findByOrderIdOrderById(orderId)
+                .stream()
+                .map(this::mapToFillResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public int expireOrders(Collection<Long> orderIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> orders = orderRepository.findByIdInAndStatusIn(orderIds, OrderStatus.OPEN)
+                .stream()
+                .filter(order -> order.getExpireDate() != null && !order.getExpireDate().isAfter(now))
+                .collect(Collectors.toList());
+
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        // Reservations are released per asset, so a batch touches each asset row once
+        Map<Long, Map<String, List<Order>>> releases = new HashMap<>();
+        for (Order order : orders) {
+            order.setStatus(OrderStatus.EXPIRED);
+            markChanged(order);
+            releases.computeIfAbsent(order.getCustomerId(), id -> new HashMap<>())
+                    .computeIfAbsent(reservedAssetName(order), name -> new ArrayList<>())
+                    .add(order);
+        }
+        orderRepository.saveAll(orders);
+
+        List<OrderEvent> events = new ArrayList<>(orders.size());
+        releases.forEach((customerId, ordersByAsset) -> ordersByAsset.forEach((assetName, released) -> {
+            Asset asset = assetRepository.findByCustomerIdAndAssetName(customerId, assetName)
+                    .orElseThrow(() -> new ResourceNotFoundException("Customer does not have " + assetName + " asset"));
+            for (Order order : released) {
+                ReservedBalance reservedBalance = ReservedBalance.before(asset);
+                asset.setUsableSize(asset.getUsableSize() + reservedAmount(order));
+                events.add(OrderEvent.of(OrderEventType.EXPIRED, order).withReservedBalance(reservedBalance.after(asset)));
+            }
+            assetRepository.save(asset);
+        }));
+
+        events.forEach(eventPublisher::publishEvent);
+        log.info("Expired {} orders", orders.size());
+        return orders.size();
+    }
+
+    // Asset holding the reservation of an order: TRY for BUY orders, the sold asset for SELL orders
+    private String reservedAssetName(Order order) {
+        return order.getOrderSide() == OrderSide.BUY ? "TRY" : order.getAssetName();
+    }
+
+    // Amount still reserved for the unfilled part of an open order
+    private double reservedAmount(Order order) {
+        return order.getOrderSide() == OrderSide.BUY
+                ? order.getRemainingSize() * order.getPrice()
+                : order.getRemainingSize();
+    }
+
+    // Returns the price the order is reserved and booked at
+    private double validateOrderType(OrderType orderType, CreateOrderRequest request) {
+        if (orderType != OrderType.STOP && (request.getPrice() == null || request.getPrice() <= 0)) {
+            throw new ApiException(orderType + " orders require a positive price");
+        }
+        if (!orderType.isStop()) {
+            if (request.getStopPrice() != null) {
+                throw new ApiException("Stop price is only allowed for STOP and STOP_LIMIT orders");
+            }
+            return request.getPrice();
+        }
+
+        if (request.getStopPrice() == null || request.getStopPrice() <= 0) {
+            throw new ApiException(orderType + " orders require a positive stop price");
+        }
+
+        // A stop that the last trade already crossed would never be triggered
+        priceService.getPrice(request.getAssetName()).ifPresent(lastPrice -> {
+            boolean crossed = request.getOrderSide() == OrderSide.BUY
+                    ? request.getStopPrice() <= lastPrice
+                    : request.getStopPrice() >= lastPrice;
+            if (crossed) {
+                throw new ApiException("Stop price " + request.getStopPrice()
+                        + " is already reached by the last trade price " + lastPrice);
+            }
+        });
+        // Funds of STOP orders are reserved at the stop price
+        return orderType == OrderType.STOP ? request.getStopPrice() : request.getPrice();
+    }
+
+    // Every order change takes the next number of the changes feed, called in the transaction that saves it
+    private void markChanged(Order order) {
+        order.setChangeSeq(orderChangeSequence.next());
+        order.setChangeDate(LocalDateTime.now());
+    }
+
+    private LocalDateTime resolveExpireDate(TimeInForce timeInForce, LocalDateTime requestedExpireDate, LocalDateTime now) {
+        return switch (timeInForce) {
+            case GTT -> {
+                if (requestedExpireDate == null || !requestedExpireDate.isAfter(now)) {
+                    throw new ApiException("GTT orders require an expire date in the future");
+                }
+                yield requestedExpireDate;
+            }
+            case DAY -> {
+                LocalDateTime close = now.toLocalDate().atTime(orderProperties.getDayCloseTime());
+                yield close.isAfter(now) ? close : close.plusDays(1);
+            }
+            case IOC -> now.plus(orderProperties.getIocWindow());
+            case GTC -> null;
+        };
+    }
+
     private OrderResponse mapToOrderResponse(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
@@ -231,8 +609,26 @@ public class OrderServiceImpl implements OrderService {
                 .orderSide(order.getOrderSide())
                 .size(order.getSize())
                 .price(order.getPrice())
+                .orderType(order.getOrderType())
+                .stopPrice(order.getStopPrice())
+                .filledSize(order.getFilledSize())
+                .remainingSize(order.getRemainingSize())
+                .averageFillPrice(order.getAverageFillPrice())
                 .status(order.getStatus())
                 .createDate(order.getCreateDate())
+                .priorityDate(order.getPriorityDate())
+                .timeInForce(order.getTimeInForce())
+                .expireDate(order.getExpireDate())
+                .build();
+    }
+
+    private FillResponse mapToFillResponse(Fill fill) {
+        return FillResponse.builder()
+                .id(fill.getId())
+                .orderId(fill.getOrderId())
+                .size(fill.getSize())
+                .price(fill.getPrice())
+                .fillDate(fill.getFillDate())
                 .build();
     }
 }
\ No newline at end of file
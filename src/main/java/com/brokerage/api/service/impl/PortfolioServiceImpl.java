@@ -0,0 +1,88 @@
+package com.brokerage.api.service.impl;
+
+import com.brokerage.api.dto.response.AssetValuationResponse;
+import com.brokerage.api.dto.response.PortfolioValuationResponse;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.model.Asset;
+import com.brokerage.api.repository.AssetRepository;
+import com.brokerage.api.service.BalanceVersionService;
+import com.brokerage.api.service.PortfolioService;
+import com.brokerage.api.service.PriceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PortfolioServiceImpl implements PortfolioService {
+
+    private static final String VALUATION_CURRENCY = "TRY";
+
+    private final AssetRepository assetRepository;
+    private final PriceService priceService;
+    private final BalanceVersionService balanceVersionService;
+
+    private final Map<Long, CachedValuation> valuations = new ConcurrentHashMap<>();
+
+    @Override
+    public PortfolioValuationResponse getPortfolioValuation(Long customerId) {
+        // Versions are read before the assets so a change racing with the computation leaves a stale-marked entry
+        long balanceVersion = balanceVersionService.getVersion(customerId);
+        long priceVersion = priceService.getVersion();
+
+        CachedValuation cached = valuations.get(customerId);
+        if (cached != null && cached.balanceVersion == balanceVersion && cached.priceVersion == priceVersion) {
+            log.debug("Serving cached valuation for customer ID: {}", customerId);
+            return cached.valuation;
+        }
+
+        PortfolioValuationResponse valuation = computeValuation(customerId);
+        valuations.put(customerId, new CachedValuation(balanceVersion, priceVersion, valuation));
+        return valuation;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        valuations.remove(event.getCustomerId());
+    }
+
+    private PortfolioValuationResponse computeValuation(Long customerId) {
+        log.debug("Computing portfolio valuation for customer ID: {}", customerId);
+        List<AssetValuationResponse> positions = new ArrayList<>();
+        double totalValue = 0.0;
+
+        for (Asset asset : assetRepository.findByCustomerId(customerId)) {
+            Double price = priceService.getPrice(asset.getAssetName()).orElse(null);
+            Double marketValue = price != null ? asset.getSize() * price : null;
+            if (marketValue != null) {
+                totalValue += marketValue;
+            }
+
+            positions.add(AssetValuationResponse.builder()
+                    .assetName(asset.getAssetName())
+                    .size(asset.getSize())
+                    .price(price)
+                    .marketValue(marketValue)
+                    .build());
+        }
+
+        return PortfolioValuationResponse.builder()
+                .customerId(customerId)
+                .currency(VALUATION_CURRENCY)
+                .totalValue(totalValue)
+                .positions(positions)
+                .valuationTime(LocalDateTime.now())
+                .build();
+    }
+
+    private record CachedValuation(long balanceVersion, long priceVersion, PortfolioValuationResponse valuation) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.brokerage.api.service.impl;
+
+import com.brokerage.api.dto.request.PriceUpdateRequest;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.event.OrderEventType;
+import com.brokerage.api.exception.ApiException;
+import com.brokerage.api.service.PriceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class PriceServiceImpl implements PriceService {
+
+    private static final String REFERENCE_CURRENCY = "TRY";
+
+    private final Map<String, Double> prices = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public Optional<Double> getPrice(String assetName) {
+        if (REFERENCE_CURRENCY.equals(assetName)) {
+            return Optional.of(1.0);
+        }
+        return Optional.ofNullable(prices.get(assetName));
+    }
+
+    @Override
+    public Map<String, Double> getPrices() {
+        return Collections.unmodifiableMap(prices);
+    }
+
+    @Override
+    public void updatePrice(String assetName, Double price) {
+        validate(assetName, price);
+        Double previous = prices.put(assetName, price);
+        if (!price.equals(previous)) {
+            version.incrementAndGet();
+            log.debug("Price of {} updated from {} to {}", assetName, previous, price);
+        }
+    }
+
+    @Override
+    public void updatePrices(List<PriceUpdateRequest> updates) {
+        for (PriceUpdateRequest update : updates) {
+            if (update == null) {
+                throw new ApiException("Price update is required");
+            }
+            validate(update.getAssetName(), update.getPrice());
+        }
+        updates.forEach(update -> updatePrice(update.getAssetName(), update.getPrice()));
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    private static void validate(String assetName, Double price) {
+        if (assetName == null || assetName.isBlank()) {
+            throw new ApiException("Asset name is required");
+        }
+        if (REFERENCE_CURRENCY.equals(assetName)) {
+            throw new ApiException("Price of " + REFERENCE_CURRENCY + " is fixed");
+        }
+        if (price == null || price <= 0) {
+            throw new ApiException("Price must be positive");
+        }
+    }
+
+    // Last trade price: every fill moves the mark of the traded asset
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() == OrderEventType.FILLED) {
+            updatePrice(event.getAssetName(), event.getFillPrice());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.brokerage.api.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard the current thread works on. A single repository call outside a transaction sets it for its duration; a
+ * transaction is pinned to the shard of its first repository call, because all its statements share one connection.
+ * The pin is registered as a transaction synchronization, so it ends with the transaction and is suspended along
+ * with it when a REQUIRES_NEW transaction starts.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        Integer pinned = pinnedShard();
+        return pinned != null ? pinned : CURRENT.get();
+    }
+
+    // Runs plain JDBC work, which the repository routing does not see, on the given shard
+    public static <T> T callOn(int shard, Supplier<T> call) {
+        Integer previous = set(shard);
+        try {
+            return call.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    static Integer pinnedShard() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Pin pin) {
+                return pin.shard();
+            }
+        }
+        return null;
+    }
+
+    static void pin(int shard) {
+        TransactionSynchronizationManager.registerSynchronization(new Pin(shard));
+    }
+
+    // Returns the previous shard, to be restored when the call is done
+    static Integer set(Integer shard) {
+        Integer previous = CURRENT.get();
+        if (shard != null) {
+            CURRENT.set(shard);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    private record Pin(int shard) implements TransactionSynchronization {
+    }
+}
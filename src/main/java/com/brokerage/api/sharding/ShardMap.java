@@ -0,0 +1,85 @@
+package com.brokerage.api.sharding;
+
+import com.brokerage.api.config.ShardingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Places customers on shards by consistent hashing, so adding a shard only moves the customers that land on its
+ * points of the ring. Rows keep the shard that created them in the upper bits of their id, which is how orders,
+ * assets and fills are found by id alone. Without sharding there is a single shard 0 and ids are plain sequence values.
+ */
+@Component
+public class ShardMap {
+
+    public static final int SHARD_ID_SHIFT = 48;
+
+    private final int shardCount;
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+
+    @Autowired
+    public ShardMap(ShardingProperties properties) {
+        this(properties.isEnabled() && !properties.getShards().isEmpty() ? properties.getShards().size() : 1,
+                properties.getVirtualNodes());
+    }
+
+    public ShardMap(int shardCount, int virtualNodes) {
+        if (shardCount < 1 || shardCount > 1 << (Long.SIZE - 1 - SHARD_ID_SHIFT)) {
+            throw new IllegalArgumentException("Unsupported number of shards: " + shardCount);
+        }
+        this.shardCount = shardCount;
+        for (int shard = 0; shard < shardCount; shard++) {
+            // Seeded by the shard, so the points do not coincide with the hashes of small customer ids
+            long seed = mix(Long.MIN_VALUE + shard);
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(mix(seed + node), shard);
+            }
+        }
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardForCustomer(Long customerId) {
+        if (customerId == null || shardCount == 1) {
+            return 0;
+        }
+        Map.Entry<Long, Integer> point = ring.ceilingEntry(mix(customerId));
+        return (point != null ? point : ring.firstEntry()).getValue();
+    }
+
+    // Ids that do not belong to any shard are looked up on shard 0, where they are not found either
+    public int shardOfId(Long id) {
+        if (id == null || id < 0) {
+            return 0;
+        }
+        long shard = id >>> SHARD_ID_SHIFT;
+        return shard < shardCount ? (int) shard : 0;
+    }
+
+    public long firstId(int shard) {
+        return ((long) shard << SHARD_ID_SHIFT) + 1;
+    }
+
+    public Map<Integer, List<Long>> groupByShard(Collection<Long> ids) {
+        Map<Integer, List<Long>> groups = new TreeMap<>();
+        ids.forEach(id -> groups.computeIfAbsent(shardOfId(id), shard -> new ArrayList<>()).add(id));
+        return groups;
+    }
+
+    // SplitMix64 finalizer, spreads sequential customer ids evenly over the ring
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
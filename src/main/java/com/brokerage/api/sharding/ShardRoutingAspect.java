@@ -0,0 +1,220 @@
+package com.brokerage.api.sharding;
+
+import com.brokerage.api.model.Asset;
+import com.brokerage.api.model.Fill;
+import com.brokerage.api.model.IdempotencyRecord;
+import com.brokerage.api.model.Order;
+import com.brokerage.api.repository.CustomerRepository;
+import com.brokerage.api.repository.ExposureCheckpointRepository;
+import com.brokerage.api.repository.UserRepository;
+import com.brokerage.api.tracing.QueryStats;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Routes every repository call to its shard. The shard comes from the arguments: customerId and customerIds parameters
+ * are placed by the shard map, ids (id, orderId, ids and the *ById methods) carry their shard, and saved entities are
+ * routed by their id or customer. Users, customers and exposure checkpoints always live on shard 0.
+ * <p>
+ * Calls without a shard key, or with keys on several shards, are queries over all customers. Outside a transaction
+ * they run on every involved shard in parallel and the results are merged; inside a transaction they use the shard
+ * the transaction is pinned to and fail if it is not pinned yet.
+ */
+@Aspect
+public class ShardRoutingAspect implements DisposableBean {
+
+    private static final Set<Class<?>> GLOBAL_REPOSITORIES = Set.of(UserRepository.class, CustomerRepository.class,
+            ExposureCheckpointRepository.class);
+
+    private final ShardMap shardMap;
+    private final ExecutorService fanOutExecutor;
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    public ShardRoutingAspect(ShardMap shardMap, int fanOutThreads) {
+        this.shardMap = shardMap;
+        this.fanOutExecutor = Executors.newFixedThreadPool(fanOutThreads, new CustomizableThreadFactory("shard-fan-out-"));
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return joinPoint.proceed();
+        }
+
+        Set<Integer> shards = resolveShards(joinPoint, method);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return proceedInTransaction(joinPoint, method, shards);
+        }
+        if (shards.size() == 1) {
+            return proceedOn(joinPoint, shards.iterator().next());
+        }
+        if (shards.isEmpty() || method.getName().startsWith("find")) {
+            return fanOut(joinPoint, method, shards.isEmpty() ? allShards() : shards);
+        }
+        throw new IllegalStateException(method.getName() + " writes to several shards " + shards);
+    }
+
+    @Override
+    public void destroy() {
+        fanOutExecutor.shutdown();
+    }
+
+    private Object proceedInTransaction(ProceedingJoinPoint joinPoint, Method method, Set<Integer> shards)
+            throws Throwable {
+        Integer pinned = ShardContext.pinnedShard();
+        if (shards.size() > 1 || (shards.isEmpty() && pinned == null)) {
+            throw new IllegalStateException("Transaction can not run " + method.getName() + " on shards "
+                    + (shards.isEmpty() ? allShards() : shards) + ", a transaction works on a single shard");
+        }
+        if (shards.isEmpty()) {
+            return joinPoint.proceed();
+        }
+
+        int shard = shards.iterator().next();
+        if (pinned == null) {
+            ShardContext.pin(shard);
+        } else if (pinned != shard) {
+            throw new IllegalStateException("Transaction on shard " + pinned + " can not run "
+                    + method.getName() + " on shard " + shard);
+        }
+        return joinPoint.proceed();
+    }
+
+    private Object proceedOn(ProceedingJoinPoint joinPoint, int shard) throws Throwable {
+        Integer previous = ShardContext.set(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    private Object fanOut(ProceedingJoinPoint joinPoint, Method method, Set<Integer> shards) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        QueryStats queryStats = QueryStats.current();
+        List<CompletableFuture<Object>> calls = new ArrayList<>();
+        for (int shard : shards) {
+            calls.add(CompletableFuture.supplyAsync(() -> {
+                Integer previous = ShardContext.set(shard);
+                QueryStats previousStats = QueryStats.bind(queryStats);
+                try {
+                    // proceed with arguments runs a copy of the invocation, so the shards can proceed concurrently
+                    return joinPoint.proceed(args);
+                } catch (Throwable e) {
+                    throw new CompletionException(e);
+                } finally {
+                    QueryStats.bind(previousStats);
+                    ShardContext.set(previous);
+                }
+            }, fanOutExecutor));
+        }
+
+        List<Object> results = new ArrayList<>();
+        try {
+            for (CompletableFuture<Object> call : calls) {
+                results.add(call.join());
+            }
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+        return merge(method.getReturnType(), results);
+    }
+
+    private Object merge(Class<?> type, List<Object> results) {
+        if (Iterable.class.isAssignableFrom(type)) {
+            List<Object> merged = new ArrayList<>();
+            results.forEach(result -> ((Iterable<?>) result).forEach(merged::add));
+            return merged;
+        }
+        if (type == Optional.class) {
+            return results.stream().map(Optional.class::cast).filter(Optional::isPresent).findFirst()
+                    .orElse(Optional.empty());
+        }
+        if (type == int.class || type == Integer.class) {
+            return results.stream().mapToInt(result -> ((Number) result).intValue()).sum();
+        }
+        if (type == long.class || type == Long.class) {
+            return results.stream().mapToLong(result -> ((Number) result).longValue()).sum();
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return results.contains(Boolean.TRUE);
+        }
+        return results.stream().filter(result -> result != null).findFirst().orElse(null);
+    }
+
+    private Set<Integer> resolveShards(ProceedingJoinPoint joinPoint, Method method) {
+        Set<Integer> shards = new TreeSet<>();
+        if (GLOBAL_REPOSITORIES.stream().anyMatch(type -> type.isInstance(joinPoint.getTarget()))) {
+            shards.add(0);
+            return shards;
+        }
+
+        // Library methods such as findById may be compiled without parameter names
+        String[] names = parameterNameDiscoverer.getParameterNames(method);
+        Object[] args = joinPoint.getArgs();
+        boolean byId = method.getName().endsWith("ById");
+        for (int i = 0; i < args.length; i++) {
+            String name = names != null ? names[i] : "";
+            Object arg = args[i];
+            if ("customerId".equals(name)) {
+                shards.add(shardMap.shardForCustomer((Long) arg));
+            } else if ("customerIds".equals(name)) {
+                ((Iterable<?>) arg).forEach(customerId -> shards.add(shardMap.shardForCustomer((Long) customerId)));
+            } else if ("id".equals(name) || "orderId".equals(name) || (i == 0 && byId && !(arg instanceof Iterable))) {
+                shards.add(shardMap.shardOfId((Long) arg));
+            } else if ("ids".equals(name) || (i == 0 && byId)) {
+                ((Iterable<?>) arg).forEach(id -> shards.add(shardMap.shardOfId((Long) id)));
+            } else if (arg instanceof Iterable<?> entities) {
+                entities.forEach(entity -> addEntityShard(shards, entity));
+            } else {
+                addEntityShard(shards, arg);
+            }
+        }
+        return shards;
+    }
+
+    // New rows go to their customer's shard, existing rows stay on the shard that created them
+    private void addEntityShard(Set<Integer> shards, Object entity) {
+        if (entity instanceof Order order) {
+            shards.add(entityShard(order.getId(), order.getCustomerId()));
+        } else if (entity instanceof Asset asset) {
+            shards.add(entityShard(asset.getId(), asset.getCustomerId()));
+        } else if (entity instanceof Fill fill) {
+            shards.add(fill.getId() != null ? shardMap.shardOfId(fill.getId()) : shardMap.shardOfId(fill.getOrderId()));
+        } else if (entity instanceof IdempotencyRecord record) {
+            // Kept next to the order it answers for, in the same transaction
+            shards.add(record.getId() != null ? shardMap.shardOfId(record.getId()) : shardMap.shardOfId(record.getOrderId()));
+        }
+    }
+
+    private int entityShard(Long id, Long customerId) {
+        return id != null ? shardMap.shardOfId(id) : shardMap.shardForCustomer(customerId);
+    }
+
+    private Set<Integer> allShards() {
+        Set<Integer> shards = new TreeSet<>();
+        for (int shard = 0; shard < shardMap.getShardCount(); shard++) {
+            shards.add(shard);
+        }
+        return shards;
+    }
+}
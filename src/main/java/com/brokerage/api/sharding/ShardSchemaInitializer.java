@@ -0,0 +1,55 @@
+package com.brokerage.api.sharding;
+
+import com.brokerage.api.model.Asset;
+import com.brokerage.api.model.Fill;
+import com.brokerage.api.model.IdempotencyRecord;
+import com.brokerage.api.model.Order;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Hibernate only creates the schema on shard 0. This copies it to the other shards and starts the id sequences of
+ * the sharded tables at the first id of each shard.
+ */
+@Slf4j
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final List<Class<?>> SHARDED_ENTITIES = List.of(Order.class, Asset.class, Fill.class,
+            IdempotencyRecord.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRoutingDataSource routingDataSource;
+    private final ShardMap shardMap;
+
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, ShardRoutingDataSource routingDataSource,
+                                  ShardMap shardMap) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.routingDataSource = routingDataSource;
+        this.shardMap = shardMap;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        List<String> script = new JdbcTemplate(routingDataSource.getShards().get(0))
+                .queryForList("SCRIPT NODATA NOPASSWORDS NOSETTINGS", String.class);
+
+        for (int shard = 1; shard < routingDataSource.getShards().size(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(routingDataSource.getShards().get(shard));
+            jdbcTemplate.batchUpdate(script.toArray(new String[0]));
+            for (Class<?> entity : SHARDED_ENTITIES) {
+                AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMappingMetamodel()
+                        .getEntityDescriptor(entity);
+                jdbcTemplate.execute("ALTER TABLE " + persister.getTableName() + " ALTER COLUMN "
+                        + persister.getIdentifierColumnNames()[0] + " RESTART WITH " + shardMap.firstId(shard));
+            }
+        }
+        log.info("Schema created on {} shards", routingDataSource.getShards().size());
+    }
+}
@@ -0,0 +1,95 @@
+package com.brokerage.api.tracing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the statements executed through its connections, the time spent in their execute calls and the rows read
+ * from their result sets into the QueryStats bound to the calling thread. Statements on threads without stats run
+ * unchanged apart from the proxy call.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            // createStatement, prepareStatement and prepareCall, proxied as the type they were asked for
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return statement(method.getReturnType(), statement);
+            }
+            return result;
+        });
+    }
+
+    private static <T> T statement(Class<T> type, Statement target) {
+        return proxy(type, type.cast(target), (proxy, method, args) -> {
+            QueryStats stats = QueryStats.current();
+            if (stats == null) {
+                return invoke(target, method, args);
+            }
+
+            Object result;
+            if (method.getName().startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    result = invoke(target, method, args);
+                } finally {
+                    stats.recordStatement(System.nanoTime() - start);
+                }
+            } else {
+                result = invoke(target, method, args);
+            }
+            // executeQuery and getResultSet, not getGeneratedKeys
+            if (result instanceof ResultSet resultSet && !method.getName().equals("getGeneratedKeys")) {
+                return resultSet(resultSet, stats);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet target, QueryStats stats) {
+        return proxy(ResultSet.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                stats.recordRow();
+            }
+            return result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
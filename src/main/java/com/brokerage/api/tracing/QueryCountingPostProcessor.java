@@ -0,0 +1,25 @@
+package com.brokerage.api.tracing;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the dataSource bean the repositories use in a QueryCountingDataSource. Only that bean is wrapped, so
+ * statements behind the replica and shard routing data sources are counted once.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.query-tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof QueryCountingDataSource)) {
+            return new QueryCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
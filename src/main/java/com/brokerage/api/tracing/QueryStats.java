@@ -0,0 +1,53 @@
+package com.brokerage.api.tracing;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JDBC statements, rows read and time spent executing statements on behalf of one request. Bound to the request
+ * thread by QueryTracingFilter and counted by QueryCountingDataSource; work handed to other threads, like the shard
+ * fan-out, binds the same instance there.
+ */
+public class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    // Returns the previously bound stats, to be restored when the work is done
+    public static QueryStats bind(QueryStats stats) {
+        QueryStats previous = CURRENT.get();
+        if (stats != null) {
+            CURRENT.set(stats);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    public long getStatements() {
+        return statements.get();
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    public long getNanos() {
+        return nanos.get();
+    }
+
+    void recordStatement(long elapsedNanos) {
+        statements.incrementAndGet();
+        nanos.addAndGet(elapsedNanos);
+    }
+
+    void recordRow() {
+        rows.incrementAndGet();
+    }
+}
@@ -0,0 +1,130 @@
+package com.brokerage.api.tracing;
+
+import com.brokerage.api.config.QueryTracingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the JDBC statements, rows and statement time of every request, including the security filters, and
+ * records them per endpoint as the http.server.requests.db.* metrics. Requests over the budget of
+ * app.query-tracing.max-statements or max-time are logged and counted. With app.query-tracing.headers the counts are
+ * also returned as X-DB-* response headers; the response is then buffered, because the counts are only known
+ * after the body was written. Streamed application/x-ndjson bodies are not buffered and get no headers.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.query-tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class QueryTracingFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-DB-Statements";
+    public static final String ROWS_HEADER = "X-DB-Rows";
+    public static final String TIME_HEADER = "X-DB-Time-Ms";
+    public static final String OVER_BUDGET_HEADER = "X-DB-Over-Budget";
+
+    private final QueryTracingProperties queryTracingProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = new QueryStats();
+        QueryStats previous = QueryStats.bind(stats);
+        ContentCachingResponseWrapper buffered = queryTracingProperties.isHeaders()
+                ? new StreamAwareResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            QueryStats.bind(previous);
+            boolean overBudget = record(request, stats);
+            if (buffered != null) {
+                buffered.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                buffered.setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+                buffered.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getNanos() / 1_000_000.0));
+                if (overBudget) {
+                    buffered.setHeader(OVER_BUDGET_HEADER, "true");
+                }
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    // Returns whether the request was over budget
+    private boolean record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("http.server.requests.db.rows")
+                .description("Rows read per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("http.server.requests.db.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        boolean overBudget = stats.getStatements() > queryTracingProperties.getMaxStatements()
+                || stats.getNanos() > queryTracingProperties.getMaxTime().toNanos();
+        if (overBudget) {
+            Counter.builder("http.server.requests.db.over.budget")
+                    .description("Requests over the statement or time budget")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} ran {} statements reading {} rows in {} ms, over the budget of {} statements and {} ms",
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(), stats.getRows(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getNanos()), queryTracingProperties.getMaxStatements(),
+                    queryTracingProperties.getMaxTime().toMillis());
+        }
+        return overBudget;
+    }
+
+    private static class StreamAwareResponseWrapper extends ContentCachingResponseWrapper {
+
+        StreamAwareResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return isStreamed() ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        private boolean isStreamed() {
+            return getContentType() != null
+                    && MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(getContentType()));
+        }
+    }
+}
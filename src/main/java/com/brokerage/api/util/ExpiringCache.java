@@ -0,0 +1,50 @@
+package com.brokerage.api.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded map whose entries expire a fixed time after they were added. All entries share the same time to live,
+ * so insertion order is also expiry order and expired entries are dropped from the eldest end.
+ */
+public class ExpiringCache<K, V> {
+
+    private final long ttlMs;
+    private final int maxSize;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>();
+
+    public ExpiringCache(long ttlMs, int maxSize) {
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+    }
+
+    public synchronized Optional<V> get(K key, long nowMs) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.expiresAtMs() <= nowMs) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    public synchronized void put(K key, V value, long nowMs) {
+        entries.remove(key);
+        entries.put(key, new Entry<>(value, nowMs + ttlMs));
+
+        var iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = iterator.next();
+            if (entries.size() <= maxSize && eldest.getValue().expiresAtMs() > nowMs) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAtMs) {
+    }
+}
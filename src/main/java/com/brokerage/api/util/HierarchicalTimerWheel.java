@@ -0,0 +1,121 @@
+package com.brokerage.api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical hashed timer wheel. Level 0 has one slot per tick; every higher level has slots covering a full
+ * rotation of the level below it and is cascaded into the lower levels when that rotation completes. Scheduling
+ * and expiring are O(1) amortized regardless of the number of timers, and only the slots that are due are touched.
+ * <p>
+ * Not thread-safe: all calls must come from one thread. Timers cannot be cancelled, callers are expected to
+ * ignore expirations of items that no longer need them.
+ */
+public class HierarchicalTimerWheel<T> {
+
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickMs;
+    private final int levels;
+    private final List<List<Timer<T>>> slots;
+    // Timers beyond the span of the top level, re-placed every time the top level completes a rotation
+    private final List<Timer<T>> overflow = new ArrayList<>();
+    // Timers that were already due when scheduled
+    private final List<Timer<T>> due = new ArrayList<>();
+
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimerWheel(long tickMs, int levels, long startTimeMs) {
+        if (tickMs <= 0 || levels < 1 || levels * SLOT_BITS >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timer wheel configuration");
+        }
+        this.tickMs = tickMs;
+        this.levels = levels;
+        this.slots = new ArrayList<>(levels * SLOTS);
+        for (int i = 0; i < levels * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = startTimeMs / tickMs;
+    }
+
+    // Deadlines are rounded up to the next tick, a timer never fires before its deadline
+    public void schedule(T item, long deadlineMs) {
+        place(new Timer<>(item, Math.floorDiv(deadlineMs + tickMs - 1, tickMs)));
+        size++;
+    }
+
+    // Moves the wheel forward to the given time, handing every timer that became due to the consumer
+    public void advance(long nowMs, Consumer<T> expired) {
+        fire(due, expired);
+
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            if ((currentTick & spanMask(levels)) == 0) {
+                cascade(overflow);
+            }
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & spanMask(level)) == 0) {
+                    cascade(slot(level, currentTick));
+                }
+            }
+            fire(slot(0, currentTick), expired);
+            fire(due, expired);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            due.add(timer);
+            return;
+        }
+        for (int level = 0; level < levels; level++) {
+            if (delta <= spanMask(level + 1)) {
+                slot(level, timer.deadlineTick).add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    private void cascade(List<Timer<T>> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Timer<T>> timers = new ArrayList<>(bucket);
+        bucket.clear();
+        timers.forEach(this::place);
+    }
+
+    private void fire(List<Timer<T>> bucket, Consumer<T> expired) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Timer<T>> timers = new ArrayList<>(bucket);
+        bucket.clear();
+        size -= timers.size();
+        timers.forEach(timer -> expired.accept(timer.item));
+    }
+
+    private List<Timer<T>> slot(int level, long tick) {
+        int index = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        return slots.get(level * SLOTS + index);
+    }
+
+    // Number of ticks covered by the given number of levels, minus one
+    private static long spanMask(int levels) {
+        return (1L << (SLOT_BITS * levels)) - 1;
+    }
+
+    private record Timer<T>(T item, long deadlineTick) {
+    }
+}
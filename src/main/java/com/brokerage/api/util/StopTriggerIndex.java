@@ -0,0 +1,73 @@
+package com.brokerage.api.util;
+
+import com.brokerage.api.model.OrderSide;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Stop orders waiting for their trigger price, sorted by stop price per instrument and side.
+ * <p>
+ * BUY stops trigger when the trade price rises to or above the stop price, SELL stops when it falls to or below it,
+ * so a trade only walks the triggered range of each side instead of every stop order of the instrument.
+ */
+public class StopTriggerIndex {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::stopPrice)
+            .thenComparingLong(Entry::orderId);
+
+    private final Map<String, Sides> instruments = new ConcurrentHashMap<>();
+
+    public void add(String assetName, OrderSide side, double stopPrice, long orderId) {
+        instruments.computeIfAbsent(assetName, name -> new Sides()).get(side).add(new Entry(stopPrice, orderId));
+    }
+
+    public boolean remove(String assetName, OrderSide side, double stopPrice, long orderId) {
+        Sides sides = instruments.get(assetName);
+        return sides != null && sides.get(side).remove(new Entry(stopPrice, orderId));
+    }
+
+    // Removes and returns the ids of all orders triggered by a trade at the given price
+    public List<Long> trigger(String assetName, double tradePrice) {
+        Sides sides = instruments.get(assetName);
+        List<Long> triggered = new ArrayList<>();
+        if (sides == null) {
+            return triggered;
+        }
+
+        // Stops come in the order a moving price crosses them, farthest from the trade price first. Removing through
+        // the set makes sure an entry seen by two concurrent trades is only triggered once
+        for (Entry entry : sides.buys.headSet(new Entry(tradePrice, Long.MAX_VALUE), true)) {
+            if (sides.buys.remove(entry)) {
+                triggered.add(entry.orderId());
+            }
+        }
+        for (Entry entry : sides.sells.tailSet(new Entry(tradePrice, Long.MIN_VALUE), true).descendingSet()) {
+            if (sides.sells.remove(entry)) {
+                triggered.add(entry.orderId());
+            }
+        }
+        return triggered;
+    }
+
+    public int size() {
+        return instruments.values().stream().mapToInt(sides -> sides.buys.size() + sides.sells.size()).sum();
+    }
+
+    private record Entry(double stopPrice, long orderId) {
+    }
+
+    private static class Sides {
+        private final NavigableSet<Entry> buys = new ConcurrentSkipListSet<>(ORDER);
+        private final NavigableSet<Entry> sells = new ConcurrentSkipListSet<>(ORDER);
+
+        private NavigableSet<Entry> get(OrderSide side) {
+            return side == OrderSide.BUY ? buys : sells;
+        }
+    }
+}
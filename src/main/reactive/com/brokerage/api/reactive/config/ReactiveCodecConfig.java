@@ -0,0 +1,79 @@
+package com.brokerage.api.reactive.config;
+
+import com.brokerage.api.config.BinaryContentConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The CBOR and Smile bodies of BinaryContentConfig for WebFlux. Smile replaces the default codecs, CBOR has none
+ * and is added as a custom one.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCodecConfig {
+
+    // Without explicit mime types the Jackson codecs claim the JSON ones
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> builders,
+                                                 ObjectProvider<ObjectMapper> objectMapper) {
+        return configurer -> {
+            ObjectMapper smileMapper = BinaryContentConfig.binaryMapper(builders.getObject(), new SmileFactory());
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE));
+
+            // Custom writers come before the default ones, JSON goes first so it still answers Accept: */*
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2JsonEncoder(objectMapper.getObject()));
+            ObjectMapper cborMapper = BinaryContentConfig.binaryMapper(builders.getObject(), new CBORFactory());
+            configurer.customCodecs().registerWithDefaultConfig(new ValueCborEncoder(cborMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+        };
+    }
+
+    /**
+     * Jackson2CborEncoder rejects every publisher, even a Mono. This one encodes a Mono as its value and a Flux as
+     * one CBOR array, like the JSON encoder does for non-streaming media types.
+     */
+    static class ValueCborEncoder extends Jackson2CborEncoder {
+
+        ValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return Flux.from(inputStream).collectList()
+                    .map(list -> encodeValue(list, bufferFactory, listType, mimeType, hints))
+                    .flux();
+        }
+    }
+}
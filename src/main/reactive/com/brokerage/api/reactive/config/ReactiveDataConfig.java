@@ -0,0 +1,49 @@
+package com.brokerage.api.reactive.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * With an R2DBC ConnectionFactory present Spring Boot no longer creates the JDBC DataSource, and the JPA transaction
+ * manager backs off because the R2DBC one is a TransactionManager as well. Writes and the schedulers still run on
+ * JPA, so both are defined here, over the same in-memory database the R2DBC reads use.
+ * <p>
+ * The R2DBC reads are not routed by customer, so this build refuses to start with sharding enabled instead of
+ * answering queries from the first shard only.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveDataConfig {
+
+    // Runs before any bean is created, so the cause is reported instead of a missing EntityManagerFactory
+    @Bean
+    public static BeanFactoryPostProcessor shardingNotSupported(Environment environment) {
+        return beanFactory -> {
+            if (environment.getProperty("app.sharding.enabled", Boolean.class, false)) {
+                throw new IllegalStateException("Sharding is not supported by the reactive build: R2DBC reads "
+                        + "would only see the first shard. Build without -Preactive to use the sharding profile.");
+            }
+        };
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
@@ -0,0 +1,20 @@
+package com.brokerage.api.reactive.controller;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs calls into the blocking JPA services off the event loop. Writes go through these services so that they keep
+ * their transactions, reservations, risk checks and order events.
+ */
+final class Blocking {
+
+    private Blocking() {
+    }
+
+    static <T> Mono<T> call(Callable<T> callable) {
+        return Mono.fromCallable(callable).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,136 @@
+package com.brokerage.api.reactive.controller;
+
+import com.brokerage.api.config.AssetProperties;
+import com.brokerage.api.dto.request.AssetFilterRequest;
+import com.brokerage.api.dto.response.AssetResponse;
+import com.brokerage.api.dto.response.PortfolioValuationResponse;
+import com.brokerage.api.exception.ResourceNotFoundException;
+import com.brokerage.api.reactive.repository.R2dbcAssetRepository;
+import com.brokerage.api.reactive.security.ReactiveSecurityService;
+import com.brokerage.api.security.CurrentUser;
+import com.brokerage.api.security.UserPrincipal;
+import com.brokerage.api.service.BalanceVersionService;
+import com.brokerage.api.service.BulkAssetService;
+import com.brokerage.api.service.PortfolioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reactive variant of AssetController with the same contract.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/assets")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAssetController {
+
+    private final PortfolioService portfolioService;
+    private final R2dbcAssetRepository assetRepository;
+    private final ReactiveSecurityService securityService;
+    private final BalanceVersionService balanceVersionService;
+    private final BulkAssetService bulkAssetService;
+    private final AssetProperties assetProperties;
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<AssetResponse>>> getAssetsByCustomerId(@RequestParam Long customerId,
+                                                                         @CurrentUser UserPrincipal currentUser,
+                                                                         ServerWebExchange exchange) {
+        return securityService.checkCustomerOwner(customerId, currentUser)
+                .then(Mono.fromSupplier(() -> {
+                    // The version is taken before the assets are read, a change in between only costs the next poll a 200
+                    Optional<String> eTag = balanceVersionService.getETag(customerId);
+                    if (eTag.isPresent() && exchange.checkNotModified(eTag.get())) {
+                        log.debug("Assets of customer ID: {} not modified", customerId);
+                        // checkNotModified has written the ETag header already
+                        return revalidated(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).build();
+                    }
+
+                    log.info("Getting assets for customer ID: {}", customerId);
+                    Flux<AssetResponse> assets = assetRepository.findByCustomerId(customerId);
+                    return eTag.isPresent()
+                            ? revalidated(ResponseEntity.ok()).eTag(eTag.get()).body(assets)
+                            : ResponseEntity.ok(assets);
+                }));
+    }
+
+    // Chunks are read with app.assets.bulk-query-threads queries at a time and emitted in the order they complete
+    @GetMapping("/bulk")
+    public Flux<AssetResponse> getAssetsByCustomerIds(@RequestParam(required = false) List<Long> customerIds,
+                                                      @RequestParam(required = false) Long fromCustomerId,
+                                                      @RequestParam(required = false) Long toCustomerId,
+                                                      @CurrentUser UserPrincipal currentUser) {
+        return securityService.checkAdmin(currentUser)
+                .thenMany(Flux.defer(() -> {
+                    List<Long> ids = bulkAssetService.resolveCustomerIds(customerIds, fromCustomerId, toCustomerId);
+                    log.info("Getting assets of {} customers", ids.size());
+                    return Flux.fromIterable(bulkAssetService.chunk(ids));
+                }))
+                .flatMap(assetRepository::findByCustomerIdIn, assetProperties.getBulkQueryThreads());
+    }
+
+    @GetMapping("/filter")
+    public Flux<AssetResponse> filterAssets(
+            @RequestParam Long customerId,
+            @RequestParam(required = false) String assetName,
+            @RequestParam(required = false) Boolean showOnlyPositive,
+            @CurrentUser UserPrincipal currentUser) {
+        log.info("Filtering assets for customer ID: {}, assetName: {}, showOnlyPositive: {}",
+                customerId, assetName, showOnlyPositive);
+
+        AssetFilterRequest request = AssetFilterRequest.builder()
+                .customerId(customerId)
+                .assetName(assetName)
+                .showOnlyPositive(showOnlyPositive)
+                .build();
+
+        return securityService.checkCustomerOwner(customerId, currentUser)
+                .thenMany(assetRepository.filter(request));
+    }
+
+    // Valuation needs the price cache and the balance version, so it stays on the blocking PortfolioService
+    @GetMapping("/valuation")
+    public Mono<PortfolioValuationResponse> getPortfolioValuation(@RequestParam Long customerId,
+                                                                  @CurrentUser UserPrincipal currentUser) {
+        log.info("Getting portfolio valuation for customer ID: {}", customerId);
+        return securityService.checkCustomerOwner(customerId, currentUser)
+                .then(Blocking.call(() -> portfolioService.getPortfolioValuation(customerId)));
+    }
+
+    @GetMapping("/{customerId}/{assetName}")
+    public Mono<AssetResponse> getAssetByCustomerIdAndName(
+            @PathVariable Long customerId,
+            @PathVariable String assetName,
+            @CurrentUser UserPrincipal currentUser) {
+        log.info("Getting asset for customer ID: {} and asset name: {}", customerId, assetName);
+        return securityService.checkCustomerOwner(customerId, currentUser)
+                .then(assetRepository.findByCustomerIdAndAssetName(customerId, assetName))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Asset not found")));
+    }
+
+    @GetMapping("/id/{assetId}")
+    public Mono<AssetResponse> getAssetById(@PathVariable Long assetId, @CurrentUser UserPrincipal currentUser) {
+        log.info("Getting asset by ID: {}", assetId);
+        return securityService.checkAssetOwner(assetId, currentUser)
+                .then(assetRepository.findById(assetId))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Asset not found with ID: " + assetId)));
+    }
+
+    // Same caching headers as AssetController
+    private static ResponseEntity.BodyBuilder revalidated(ResponseEntity.BodyBuilder builder) {
+        return builder.cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+}
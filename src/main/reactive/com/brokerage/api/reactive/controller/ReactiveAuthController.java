@@ -0,0 +1,57 @@
+package com.brokerage.api.reactive.controller;
+
+import com.brokerage.api.dto.request.LoginRequest;
+import com.brokerage.api.dto.response.JwtResponse;
+import com.brokerage.api.exception.GlobalExceptionHandler;
+import com.brokerage.api.security.JwtTokenProvider;
+import com.brokerage.api.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAuthController {
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final JwtTokenProvider tokenProvider;
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> login(@RequestBody LoginRequest loginRequest) {
+        log.info("Login attempt for user: {}", loginRequest.getUsername());
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                        loginRequest.getUsername(), loginRequest.getPassword()))
+                .<ResponseEntity<?>>map(authentication -> {
+                    UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+                    log.info("Login successful for user: {}", loginRequest.getUsername());
+                    return ResponseEntity.ok(JwtResponse.builder()
+                            .token(tokenProvider.generateToken(authentication))
+                            .id(principal.getId())
+                            .username(principal.getUsername())
+                            .roles(principal.getAuthorities().stream()
+                                    .map(GrantedAuthority::getAuthority)
+                                    .collect(Collectors.toList()))
+                            .build());
+                })
+                .onErrorResume(BadCredentialsException.class, e -> {
+                    log.error("Login failed for user: {} - Bad credentials", loginRequest.getUsername());
+                    return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
+                            new GlobalExceptionHandler.ErrorResponse(HttpStatus.UNAUTHORIZED.value(),
+                                    "Invalid username or password", null, LocalDateTime.now())));
+                });
+    }
+}
@@ -0,0 +1,134 @@
+package com.brokerage.api.reactive.controller;
+
+import com.brokerage.api.controller.OrderController;
+import com.brokerage.api.dto.request.AmendOrderRequest;
+import com.brokerage.api.dto.request.CreateOrderRequest;
+import com.brokerage.api.dto.request.OrderFilterRequest;
+import com.brokerage.api.dto.response.FillResponse;
+import com.brokerage.api.dto.response.OrderChangesResponse;
+import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.model.IdempotentOperation;
+import com.brokerage.api.reactive.repository.R2dbcOrderRepository;
+import com.brokerage.api.reactive.security.ReactiveSecurityService;
+import com.brokerage.api.security.CurrentUser;
+import com.brokerage.api.security.UserPrincipal;
+import com.brokerage.api.service.IdempotencyService;
+import com.brokerage.api.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Reactive variant of OrderController with the same contract. Queries stream from R2DBC, as a JSON array or, with
+ * Accept: application/x-ndjson, one order per line as rows arrive.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderController {
+
+    private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final R2dbcOrderRepository orderRepository;
+    private final ReactiveSecurityService securityService;
+
+    @PostMapping
+    public Mono<ResponseEntity<OrderResponse>> createOrder(
+            @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = OrderController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @CurrentUser UserPrincipal currentUser) {
+        log.info("Create order request received: {}", request);
+        return securityService.checkCustomerOwner(request.getCustomerId(), currentUser)
+                .then(idempotent(HttpStatus.CREATED, currentUser, idempotencyKey, IdempotentOperation.CREATE_ORDER,
+                        request, () -> orderService.createOrder(request)));
+    }
+
+    @GetMapping
+    public Flux<OrderResponse> getOrdersByCustomerIdAndDateRange(
+            @RequestParam Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @CurrentUser UserPrincipal currentUser) {
+        LocalDateTime start = startDate != null ? startDate : LocalDateTime.now().minusYears(10);
+        LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
+
+        return securityService.checkCustomerOwner(customerId, currentUser)
+                .thenMany(orderRepository.findByCustomerIdAndDateRange(customerId, start, end));
+    }
+
+    @GetMapping("/filter")
+    public Flux<OrderResponse> filterOrders(@RequestBody OrderFilterRequest request,
+                                            @CurrentUser UserPrincipal currentUser) {
+        LocalDateTime start = request.getStartDate() != null ? request.getStartDate() : LocalDateTime.now().minusYears(10);
+        LocalDateTime end = request.getEndDate() != null ? request.getEndDate() : LocalDateTime.now();
+
+        return securityService.checkCustomerOwner(request.getCustomerId(), currentUser)
+                .thenMany(orderRepository.findByCustomerIdAndDateRange(request.getCustomerId(), start, end));
+    }
+
+    @GetMapping("/changes")
+    public Mono<OrderChangesResponse> getOrderChanges(@RequestParam Long customerId,
+                                                      @RequestParam(defaultValue = "0") long after,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @CurrentUser UserPrincipal currentUser) {
+        return securityService.checkCustomerOwner(customerId, currentUser)
+                .then(Blocking.call(() -> orderService.getOrderChanges(customerId, after, limit)));
+    }
+
+    @GetMapping("/{orderId}/fills")
+    public Flux<FillResponse> getFills(@PathVariable Long orderId, @CurrentUser UserPrincipal currentUser) {
+        return securityService.checkOrderOwner(orderId, currentUser)
+                .thenMany(orderRepository.findFillsByOrderId(orderId));
+    }
+
+    @PatchMapping("/{orderId}")
+    public Mono<ResponseEntity<OrderResponse>> amendOrder(
+            @PathVariable Long orderId,
+            @RequestBody AmendOrderRequest request,
+            @CurrentUser UserPrincipal currentUser) {
+        return securityService.checkOrderOwner(orderId, currentUser)
+                .then(securityService.getCustomerIdUnlessAdmin(currentUser))
+                .flatMap(customerId -> Blocking.call(
+                        () -> orderService.amendOrder(orderId, request, customerId.orElse(null))))
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{orderId}")
+    public Mono<ResponseEntity<OrderResponse>> cancelOrder(
+            @PathVariable Long orderId,
+            @RequestHeader(value = OrderController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @CurrentUser UserPrincipal currentUser) {
+        return securityService.checkOrderOwner(orderId, currentUser)
+                .then(securityService.getCustomerIdUnlessAdmin(currentUser))
+                .flatMap(customerId -> {
+                    log.info("Cancelling order ID: {} for customer ID: {}", orderId, customerId.orElse(null));
+                    return idempotent(HttpStatus.OK, currentUser, idempotencyKey, IdempotentOperation.CANCEL_ORDER,
+                            orderId, () -> orderService.cancelOrder(orderId, customerId.orElse(null)));
+                });
+    }
+
+    // Without a key the action simply runs, with a key retries get the original response and a replay header
+    private Mono<ResponseEntity<OrderResponse>> idempotent(HttpStatus status, UserPrincipal currentUser,
+                                                           String idempotencyKey, IdempotentOperation operation,
+                                                           Object request, Supplier<OrderResponse> action) {
+        if (idempotencyKey == null) {
+            return Blocking.call(action::get).map(response -> ResponseEntity.status(status).body(response));
+        }
+
+        return Blocking.call(() -> idempotencyService.execute(currentUser.getId(), idempotencyKey, operation, request, action))
+                .map(result -> ResponseEntity.status(status)
+                        .header(OrderController.IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                        .body(result.response()));
+    }
+}
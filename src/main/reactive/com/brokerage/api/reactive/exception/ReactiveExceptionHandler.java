@@ -0,0 +1,55 @@
+package com.brokerage.api.reactive.exception;
+
+import com.brokerage.api.exception.ApiException;
+import com.brokerage.api.exception.GlobalExceptionHandler.ErrorResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+
+/**
+ * Error bodies of the reactive controllers, in the format of GlobalExceptionHandler.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<ErrorResponse> handleApiException(ApiException ex, ServerWebExchange exchange) {
+        return errorResponse(ex.getStatus(), ex.getMessage(), exchange);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex, ServerWebExchange exchange) {
+        return errorResponse(HttpStatus.FORBIDDEN, ex.getMessage(), exchange);
+    }
+
+    // Missing parameters, unreadable bodies and the like
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(ResponseStatusException ex, ServerWebExchange exchange) {
+        return errorResponse(ex.getStatusCode(), ex.getReason(), exchange);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex, ServerWebExchange exchange) {
+        return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), exchange);
+    }
+
+    private ResponseEntity<ErrorResponse> errorResponse(HttpStatusCode status, String message, ServerWebExchange exchange) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.value(),
+                message,
+                "uri=" + exchange.getRequest().getPath().value(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, status);
+    }
+}
@@ -0,0 +1,86 @@
+package com.brokerage.api.reactive.repository;
+
+import com.brokerage.api.dto.request.AssetFilterRequest;
+import com.brokerage.api.dto.response.AssetResponse;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking reads of the assets table, mapped straight to AssetResponse.
+ */
+@Repository
+@RequiredArgsConstructor
+public class R2dbcAssetRepository {
+
+    private static final String ASSET_COLUMNS = "id, customer_id, asset_name, size, usable_size";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<AssetResponse> findByCustomerId(Long customerId) {
+        return databaseClient.sql("SELECT " + ASSET_COLUMNS + " FROM assets WHERE customer_id = :customerId ORDER BY id")
+                .bind("customerId", customerId)
+                .map((row, metadata) -> mapToAssetResponse(row))
+                .all();
+    }
+
+    public Flux<AssetResponse> findByCustomerIdIn(Collection<Long> customerIds) {
+        return databaseClient.sql("SELECT " + ASSET_COLUMNS + " FROM assets WHERE customer_id IN (:customerIds) "
+                        + "ORDER BY customer_id, id")
+                .bind("customerIds", customerIds)
+                .map((row, metadata) -> mapToAssetResponse(row))
+                .all();
+    }
+
+    // Same filters as AssetService.filterAssets, applied in the query instead of on the loaded list
+    public Flux<AssetResponse> filter(AssetFilterRequest request) {
+        boolean byName = request.getAssetName() != null && !request.getAssetName().isEmpty();
+        boolean onlyPositive = Boolean.TRUE.equals(request.getShowOnlyPositive());
+
+        StringBuilder sql = new StringBuilder("SELECT " + ASSET_COLUMNS + " FROM assets WHERE customer_id = :customerId");
+        if (byName) {
+            sql.append(" AND UPPER(asset_name) = UPPER(:assetName)");
+        }
+        if (onlyPositive) {
+            sql.append(" AND size > 0");
+        }
+        sql.append(" ORDER BY id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("customerId", request.getCustomerId());
+        if (byName) {
+            spec = spec.bind("assetName", request.getAssetName());
+        }
+        return spec.map((row, metadata) -> mapToAssetResponse(row)).all();
+    }
+
+    public Mono<AssetResponse> findByCustomerIdAndAssetName(Long customerId, String assetName) {
+        return databaseClient.sql("SELECT " + ASSET_COLUMNS + " FROM assets WHERE customer_id = :customerId AND asset_name = :assetName")
+                .bind("customerId", customerId)
+                .bind("assetName", assetName)
+                .map((row, metadata) -> mapToAssetResponse(row))
+                .one();
+    }
+
+    public Mono<AssetResponse> findById(Long assetId) {
+        return databaseClient.sql("SELECT " + ASSET_COLUMNS + " FROM assets WHERE id = :assetId")
+                .bind("assetId", assetId)
+                .map((row, metadata) -> mapToAssetResponse(row))
+                .one();
+    }
+
+    private AssetResponse mapToAssetResponse(Row row) {
+        return AssetResponse.builder()
+                .id(row.get("id", Long.class))
+                .customerId(row.get("customer_id", Long.class))
+                .assetName(row.get("asset_name", String.class))
+                .size(row.get("size", Double.class))
+                .usableSize(row.get("usable_size", Double.class))
+                .build();
+    }
+}
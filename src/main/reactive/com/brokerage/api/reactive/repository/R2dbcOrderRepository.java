@@ -0,0 +1,119 @@
+package com.brokerage.api.reactive.repository;
+
+import com.brokerage.api.dto.response.FillResponse;
+import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.model.OrderType;
+import com.brokerage.api.model.TimeInForce;
+import com.brokerage.api.repository.OrderArchiveRepository;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking reads of the orders and fills tables, mapped straight to the response DTOs. Rows are emitted as the
+ * driver produces them, so a streamed result set is never held in memory as a whole.
+ */
+@Repository
+@RequiredArgsConstructor
+public class R2dbcOrderRepository {
+
+    private static final String ORDER_COLUMNS = "id, customer_id, asset_name, order_side, size, price, order_type, "
+            + "stop_price, filled_size, remaining_size, average_fill_price, status, create_date, priority_date, "
+            + "time_in_force, expire_date";
+
+    private final DatabaseClient databaseClient;
+
+    // Closed orders moved to the monthly archive partitions of OrderArchiveRepository are merged in
+    public Flux<OrderResponse> findByCustomerIdAndDateRange(Long customerId, LocalDateTime startDate,
+                                                            LocalDateTime endDate) {
+        return archivePartitions(YearMonth.from(startDate), YearMonth.from(endDate))
+                .flatMapMany(partitions -> {
+                    String orders = "SELECT " + ORDER_COLUMNS + " FROM orders "
+                            + "WHERE customer_id = :customerId AND create_date BETWEEN :startDate AND :endDate";
+                    String sql = partitions.isEmpty() ? orders + " ORDER BY create_date, id"
+                            : partitions.stream()
+                            .map(partition -> orders.replace(" orders ", " " + partition + " "))
+                            .collect(Collectors.joining(" UNION ALL ")) + " UNION ALL " + orders
+                            + " ORDER BY create_date, id";
+                    return databaseClient.sql(sql)
+                            .bind("customerId", customerId)
+                            .bind("startDate", startDate)
+                            .bind("endDate", endDate)
+                            .map((row, metadata) -> mapToOrderResponse(row))
+                            .all();
+                });
+    }
+
+    // Falls back to the archive partitions, so the fills of archived orders stay accessible
+    public Mono<Long> findCustomerIdById(Long orderId) {
+        return findCustomerIdById("orders", orderId)
+                .switchIfEmpty(Mono.defer(() -> archivePartitions(YearMonth.of(0, 1), YearMonth.of(9999, 12))
+                        .flatMap(partitions -> Flux.fromIterable(partitions)
+                                .concatMap(partition -> findCustomerIdById(partition, orderId))
+                                .next())));
+    }
+
+    private Mono<Long> findCustomerIdById(String table, Long orderId) {
+        return databaseClient.sql("SELECT customer_id FROM " + table + " WHERE id = :orderId")
+                .bind("orderId", orderId)
+                .map((row, metadata) -> row.get("customer_id", Long.class))
+                .one();
+    }
+
+    public Flux<FillResponse> findFillsByOrderId(Long orderId) {
+        return databaseClient.sql("SELECT id, order_id, size, price, fill_date FROM fills WHERE order_id = :orderId ORDER BY id")
+                .bind("orderId", orderId)
+                .map((row, metadata) -> FillResponse.builder()
+                        .id(row.get("id", Long.class))
+                        .orderId(row.get("order_id", Long.class))
+                        .size(row.get("size", Double.class))
+                        .price(row.get("price", Double.class))
+                        .fillDate(row.get("fill_date", LocalDateTime.class))
+                        .build())
+                .all();
+    }
+
+    private Mono<List<String>> archivePartitions(YearMonth from, YearMonth to) {
+        return databaseClient.sql("SELECT table_name FROM information_schema.tables "
+                        + "WHERE table_schema = 'PUBLIC' AND LOWER(table_name) LIKE 'orders\\_archive\\_%'")
+                .map((row, metadata) -> row.get("table_name", String.class))
+                .all()
+                .mapNotNull(table -> OrderArchiveRepository.partitionMonth(table).orElse(null))
+                .filter(month -> !month.isBefore(from) && !month.isAfter(to))
+                .sort()
+                .map(OrderArchiveRepository::partitionName)
+                .collectList();
+    }
+
+    private OrderResponse mapToOrderResponse(Row row) {
+        String timeInForce = row.get("time_in_force", String.class);
+        return OrderResponse.builder()
+                .id(row.get("id", Long.class))
+                .customerId(row.get("customer_id", Long.class))
+                .assetName(row.get("asset_name", String.class))
+                .orderSide(OrderSide.valueOf(row.get("order_side", String.class)))
+                .size(row.get("size", Double.class))
+                .price(row.get("price", Double.class))
+                .orderType(OrderType.valueOf(row.get("order_type", String.class)))
+                .stopPrice(row.get("stop_price", Double.class))
+                .filledSize(row.get("filled_size", Double.class))
+                .remainingSize(row.get("remaining_size", Double.class))
+                .averageFillPrice(row.get("average_fill_price", Double.class))
+                .status(OrderStatus.valueOf(row.get("status", String.class)))
+                .createDate(row.get("create_date", LocalDateTime.class))
+                .priorityDate(row.get("priority_date", LocalDateTime.class))
+                .timeInForce(timeInForce != null ? TimeInForce.valueOf(timeInForce) : null)
+                .expireDate(row.get("expire_date", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.brokerage.api.reactive.repository;
+
+import com.brokerage.api.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking lookups of users, their roles and their customer, used for authentication and ownership checks.
+ */
+@Repository
+@RequiredArgsConstructor
+public class R2dbcUserRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<UserPrincipal> findPrincipalByUsername(String username) {
+        return databaseClient.sql("SELECT u.id, u.username, u.password, r.role FROM users u "
+                        + "LEFT JOIN user_roles r ON r.user_id = u.id WHERE u.username = :username")
+                .bind("username", username)
+                .map((row, metadata) -> new UserRow(
+                        row.get("id", Long.class),
+                        row.get("username", String.class),
+                        row.get("password", String.class),
+                        row.get("role", String.class)))
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(rows -> {
+                    UserRow user = rows.get(0);
+                    List<GrantedAuthority> authorities = rows.stream()
+                            .map(UserRow::role)
+                            .filter(Objects::nonNull)
+                            .map(SimpleGrantedAuthority::new)
+                            .collect(Collectors.toList());
+                    return new UserPrincipal(user.id(), user.username(), user.password(), authorities);
+                });
+    }
+
+    public Mono<Long> findCustomerIdByUserId(Long userId) {
+        return databaseClient.sql("SELECT id FROM customers WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one();
+    }
+
+    // One row per role of the user
+    private record UserRow(Long id, String username, String password, String role) {
+    }
+}
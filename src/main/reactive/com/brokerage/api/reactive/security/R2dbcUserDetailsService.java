@@ -0,0 +1,20 @@
+package com.brokerage.api.reactive.security;
+
+import com.brokerage.api.reactive.repository.R2dbcUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class R2dbcUserDetailsService implements ReactiveUserDetailsService {
+
+    private final R2dbcUserRepository userRepository;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return userRepository.findPrincipalByUsername(username).cast(UserDetails.class);
+    }
+}
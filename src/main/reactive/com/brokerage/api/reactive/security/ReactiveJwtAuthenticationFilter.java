@@ -0,0 +1,57 @@
+package com.brokerage.api.reactive.security;
+
+import com.brokerage.api.security.JwtTokenProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Reactive counterpart of JwtAuthenticationFilter: a valid bearer token puts its user into the security context of
+ * the rest of the chain, anything else passes on unauthenticated.
+ */
+@Slf4j
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private final JwtTokenProvider tokenProvider;
+    private final ReactiveUserDetailsService userDetailsService;
+
+    public ReactiveJwtAuthenticationFilter(JwtTokenProvider tokenProvider, ReactiveUserDetailsService userDetailsService) {
+        this.tokenProvider = tokenProvider;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String jwt = getJwtFromRequest(exchange.getRequest());
+        if (!StringUtils.hasText(jwt) || !tokenProvider.validateToken(jwt)) {
+            return chain.filter(exchange);
+        }
+
+        String username = tokenProvider.getUsernameFromJWT(jwt);
+        return userDetailsService.findByUsername(username)
+                .map(userDetails -> ReactiveSecurityContextHolder.withAuthentication(
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities())))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.error("User not found in database despite valid token: {}", username);
+                    return Context.empty();
+                }))
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+
+    private String getJwtFromRequest(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
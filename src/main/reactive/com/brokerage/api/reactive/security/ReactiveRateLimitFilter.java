@@ -0,0 +1,79 @@
+package com.brokerage.api.reactive.security;
+
+import com.brokerage.api.exception.GlobalExceptionHandler;
+import com.brokerage.api.security.RateLimiter;
+import com.brokerage.api.security.UserPrincipal;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reactive counterpart of RateLimitFilter, sharing the RateLimiter buckets. Runs after authentication inside the
+ * security chain.
+ */
+@Slf4j
+public class ReactiveRateLimitFilter implements WebFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveRateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RateLimiter.EndpointClass endpointClass = HttpMethod.GET.equals(exchange.getRequest().getMethod())
+                ? RateLimiter.EndpointClass.QUERIES
+                : RateLimiter.EndpointClass.ORDERS;
+
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(context -> context.getAuthentication())
+                .filter(authentication -> authentication.getPrincipal() instanceof UserPrincipal)
+                .map(authentication -> {
+                    UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+                    long waitNanos = rateLimiter.tryAcquire(principal.getId(), endpointClass, principal.getAuthorities());
+                    if (waitNanos > 0) {
+                        // Counted in rate_limit.rejected, a client above its limit would otherwise flood the log
+                log.debug("Rate limit of {} requests exceeded by user {}", endpointClass, principal.getUsername());
+                    }
+                    return waitNanos;
+                })
+                .defaultIfEmpty(0L)
+                .flatMap(waitNanos -> waitNanos > 0 ? reject(exchange, waitNanos) : chain.filter(exchange));
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, long waitNanos) {
+        // Retry-After has a resolution of seconds, rounded up so a retry at that time is allowed
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new GlobalExceptionHandler.ErrorResponse(
+                    HttpStatus.TOO_MANY_REQUESTS.value(),
+                    "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds",
+                    "uri=" + exchange.getRequest().getPath().value(),
+                    LocalDateTime.now()));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+}
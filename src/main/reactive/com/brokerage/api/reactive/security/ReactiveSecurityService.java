@@ -0,0 +1,83 @@
+package com.brokerage.api.reactive.security;
+
+import com.brokerage.api.dto.response.AssetResponse;
+import com.brokerage.api.reactive.repository.R2dbcAssetRepository;
+import com.brokerage.api.reactive.repository.R2dbcOrderRepository;
+import com.brokerage.api.reactive.repository.R2dbcUserRepository;
+import com.brokerage.api.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Ownership checks of the reactive controllers, the counterpart of the SecurityService expressions used in the
+ * servlet controllers' @PreAuthorize annotations. Admins pass every check, customers only for their own data.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveSecurityService {
+
+    private final R2dbcUserRepository userRepository;
+    private final R2dbcOrderRepository orderRepository;
+    private final R2dbcAssetRepository assetRepository;
+
+    public static boolean isAdmin(UserPrincipal principal) {
+        return principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    public Mono<Long> getCustomerId(UserPrincipal principal) {
+        return userRepository.findCustomerIdByUserId(principal.getId())
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("No customer associated with user: {}", principal.getUsername());
+                    return new AccessDeniedException("No customer profile found for this user");
+                }));
+    }
+
+    // Admins act on any order, so no customer ID is passed and the services use the customer ID of the order
+    public Mono<Optional<Long>> getCustomerIdUnlessAdmin(UserPrincipal principal) {
+        return isAdmin(principal) ? Mono.just(Optional.empty()) : getCustomerId(principal).map(Optional::of);
+    }
+
+    public Mono<Void> checkAdmin(UserPrincipal principal) {
+        return deniedUnless(isAdmin(principal), "Only admins can access this resource");
+    }
+
+    public Mono<Void> checkCustomerOwner(Long customerId, UserPrincipal principal) {
+        if (isAdmin(principal)) {
+            return Mono.empty();
+        }
+        return getCustomerId(principal)
+                .flatMap(ownCustomerId -> deniedUnless(ownCustomerId.equals(customerId),
+                        "You do not have permission to access this customer's data"));
+    }
+
+    public Mono<Void> checkOrderOwner(Long orderId, UserPrincipal principal) {
+        if (isAdmin(principal)) {
+            return Mono.empty();
+        }
+        return Mono.zip(getCustomerId(principal), orderRepository.findCustomerIdById(orderId)
+                        .switchIfEmpty(Mono.error(() -> new AccessDeniedException("Order not found"))))
+                .flatMap(ids -> deniedUnless(ids.getT1().equals(ids.getT2()),
+                        "You do not have permission to access this order"));
+    }
+
+    public Mono<Void> checkAssetOwner(Long assetId, UserPrincipal principal) {
+        if (isAdmin(principal)) {
+            return Mono.empty();
+        }
+        return Mono.zip(getCustomerId(principal), assetRepository.findById(assetId)
+                        .map(AssetResponse::getCustomerId)
+                        .switchIfEmpty(Mono.error(() -> new AccessDeniedException("Asset not found"))))
+                .flatMap(ids -> deniedUnless(ids.getT1().equals(ids.getT2()),
+                        "You do not have permission to access this asset"));
+    }
+
+    private Mono<Void> deniedUnless(boolean allowed, String message) {
+        return allowed ? Mono.empty() : Mono.error(new AccessDeniedException(message));
+    }
+}
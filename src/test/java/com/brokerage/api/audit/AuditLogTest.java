@@ -0,0 +1,193 @@
+package com.brokerage.api.audit;
+
+import com.brokerage.api.config.AuditProperties;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.event.OrderEvent.ReservedBalance;
+import com.brokerage.api.event.OrderEventType;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.model.OrderType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuditLogTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditProperties auditProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLog auditLog;
+
+    @BeforeEach
+    void setUp() {
+        auditProperties = new AuditProperties();
+        auditProperties.setDirectory(directory.toString());
+        auditProperties.setBufferSize(16);
+        meterRegistry = new SimpleMeterRegistry();
+        auditLog = new AuditLog(auditProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        auditLog.destroy();
+    }
+
+    @Test
+    void onOrderEvent_WritesRecordWithBalance() throws Exception {
+        auditLog.afterPropertiesSet();
+        auditLog.onOrderEvent(event(1L).withReservedBalance(
+                new ReservedBalance(10000.0, 10000.0, 10000.0, 8500.0)));
+        auditLog.flush();
+        auditLog.destroy();
+
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(auditLog.getFilePath()));
+        assertEquals(AuditRecord.FILE_HEADER_SIZE + AuditRecord.SIZE, content.limit());
+        AuditRecord.Decoded record = AuditRecord.read(content, AuditRecord.FILE_HEADER_SIZE);
+        assertTrue(record.valid());
+        assertEquals(OrderEventType.CREATED, record.action());
+        assertEquals(1L, record.orderId());
+        assertEquals(7L, record.customerId());
+        assertEquals("AAPL", record.assetName());
+        assertEquals(OrderSide.BUY, record.side());
+        assertEquals(OrderType.LIMIT, record.orderType());
+        assertEquals(OrderStatus.PENDING, record.status());
+        assertEquals(10.0, record.size());
+        assertEquals(150.0, record.price());
+        assertTrue(Double.isNaN(record.fillSize()));
+        assertEquals(10000.0, record.usableBefore());
+        assertEquals(8500.0, record.usableAfter());
+        assertEquals(0L, record.userId());
+    }
+
+    @Test
+    void onOrderEvent_RotatesAtMaxFileSize() throws Exception {
+        auditProperties.setMaxFileSize(DataSize.ofBytes(AuditRecord.FILE_HEADER_SIZE + 4L * AuditRecord.SIZE));
+        auditLog.afterPropertiesSet();
+        for (long orderId = 1; orderId <= 40; orderId++) {
+            auditLog.onOrderEvent(event(orderId));
+        }
+        auditLog.flush();
+        auditLog.destroy();
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.sorted().toList();
+        }
+        assertTrue(files.size() >= 10);
+        long records = 0;
+        for (Path file : files) {
+            long size = Files.size(file);
+            assertTrue(size <= auditProperties.getMaxFileSize().toBytes());
+            records += (size - AuditRecord.FILE_HEADER_SIZE) / AuditRecord.SIZE;
+            assertTrue(AuditLogDecoder.decode(file, new PrintStream(new ByteArrayOutputStream())));
+        }
+        assertEquals(40, records);
+    }
+
+    @Test
+    void decode_ReportsCorruptAndTruncatedRecords() throws Exception {
+        auditLog.afterPropertiesSet();
+        auditLog.onOrderEvent(event(1L));
+        auditLog.onOrderEvent(event(2L));
+        auditLog.flush();
+        auditLog.destroy();
+
+        Path file = auditLog.getFilePath();
+        byte[] content = Files.readAllBytes(file);
+        content[AuditRecord.FILE_HEADER_SIZE + 70] ^= 1;
+        Files.write(file, content);
+        Files.write(file, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertFalse(AuditLogDecoder.decode(file, new PrintStream(output, true, StandardCharsets.UTF_8)));
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("order=1") && lines.get(0).endsWith(" CORRUPT"));
+        assertTrue(lines.get(1).contains("order=2") && !lines.get(1).contains("CORRUPT"));
+        assertTrue(lines.get(2).contains("truncated record of 3 bytes"));
+    }
+
+    @Test
+    void writeFailure_RetriedWithNewFile() throws Exception {
+        auditProperties.setRetryInterval(Duration.ofMillis(10));
+        auditLog.afterPropertiesSet();
+        Path blocked = Files.createFile(directory.resolve("blocked"));
+        auditProperties.setDirectory(blocked.resolve("audit").toString());
+
+        auditLog.onOrderEvent(event(1L));
+        awaitStatus(Status.DOWN);
+        assertTrue(meterRegistry.get("audit.write.failures").counter().count() >= 1);
+        assertEquals(1.0, meterRegistry.get("audit.writer.failing").gauge().value());
+
+        Files.delete(blocked);
+        auditLog.flush();
+        awaitStatus(Status.UP);
+        auditLog.destroy();
+
+        AuditRecord.Decoded record = AuditRecord.read(ByteBuffer.wrap(Files.readAllBytes(auditLog.getFilePath())),
+                AuditRecord.FILE_HEADER_SIZE);
+        assertTrue(auditLog.getFilePath().startsWith(blocked));
+        assertEquals(1L, record.orderId());
+    }
+
+    @Test
+    void onOrderEvent_FullBufferWhileWriterFails_DropsRecord() throws Exception {
+        auditProperties.setBufferSize(2);
+        auditProperties.setRetryInterval(Duration.ofMillis(10));
+        auditLog.afterPropertiesSet();
+        auditProperties.setDirectory(Files.createFile(directory.resolve("blocked")).resolve("audit").toString());
+
+        auditLog.onOrderEvent(event(1L));
+        auditLog.onOrderEvent(event(2L));
+        awaitStatus(Status.DOWN);
+        auditLog.onOrderEvent(event(3L));
+
+        assertEquals(1.0, meterRegistry.get("audit.records.dropped").counter().count());
+        assertEquals(2.0, meterRegistry.get("audit.buffer.records").gauge().value());
+        assertEquals(1L, auditLog.health().getDetails().get("droppedRecords"));
+    }
+
+    private void awaitStatus(Status status) throws InterruptedException {
+        for (int i = 0; i < 500 && !auditLog.health().getStatus().equals(status); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(status, auditLog.health().getStatus());
+    }
+
+    private static OrderEvent event(long orderId) {
+        return OrderEvent.builder()
+                .type(OrderEventType.CREATED)
+                .orderId(orderId)
+                .customerId(7L)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .orderType(OrderType.LIMIT)
+                .size(10.0)
+                .price(150.0)
+                .status(OrderStatus.PENDING)
+                .remainingSize(10.0)
+                .build();
+    }
+}
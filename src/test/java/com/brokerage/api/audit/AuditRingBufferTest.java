@@ -0,0 +1,93 @@
+package com.brokerage.api.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuditRingBufferTest {
+
+    private static final long WAIT = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    void capacity_RoundedUpToAPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer(5).getCapacity());
+        assertEquals(8, new AuditRingBuffer(8).getCapacity());
+        assertEquals(2, new AuditRingBuffer(1).getCapacity());
+    }
+
+    @Test
+    void drain_StopsAtTheFirstUnpublishedSlot() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(8);
+        long first = buffer.claim(WAIT);
+        long second = buffer.claim(WAIT);
+        buffer.publish(second);
+
+        assertEquals(0, buffer.drain((records, firstSequence, count) -> { }));
+
+        buffer.publish(first);
+        List<Long> drained = new ArrayList<>();
+        assertEquals(2, buffer.drain((records, firstSequence, count) -> {
+            assertEquals(2 * AuditRecord.SIZE, records.remaining());
+            drained.add(firstSequence);
+        }));
+        assertEquals(List.of(0L), drained);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void claim_FullRing_GivesUpAfterTimeout() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(2);
+        buffer.publish(buffer.claim(WAIT));
+        buffer.publish(buffer.claim(WAIT));
+
+        assertEquals(-1, buffer.claim(TimeUnit.MILLISECONDS.toNanos(5)));
+        assertEquals(2, buffer.size());
+
+        assertEquals(2, buffer.drain((records, firstSequence, count) -> { }));
+        assertEquals(2, buffer.claim(WAIT));
+    }
+
+    @Test
+    void claim_ManyProducersOneConsumer_EveryRecordDrainedOnceInOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        AuditRingBuffer buffer = new AuditRingBuffer(64);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> results = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long sequence = buffer.claim(WAIT);
+                    buffer.slots().putLong(buffer.offset(sequence), sequence);
+                    buffer.publish(sequence);
+                }
+            }));
+        }
+
+        long[] next = {0};
+        while (next[0] < (long) producers * perProducer) {
+            buffer.drain((ByteBuffer records, long firstSequence, int count) -> {
+                assertEquals(next[0], firstSequence);
+                for (int i = 0; i < count; i++) {
+                    assertEquals(next[0]++, records.getLong(records.position() + i * AuditRecord.SIZE));
+                }
+            });
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,44 @@
+package com.brokerage.api.benchmark;
+
+import com.brokerage.api.metrics.OrderMetrics;
+import com.brokerage.api.metrics.OrderMetrics.Stage;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+import java.util.Arrays;
+
+/**
+ * Reports the cost of recording one order entry stage in OrderMetrics, as the median over repeated rounds after a
+ * warmup:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) com.brokerage.api.benchmark.MetricsBenchmark \
+ *     [recordsPerRound=200000] [rounds=20] [warmupRounds=10]
+ * </pre>
+ */
+public class MetricsBenchmark {
+
+    public static void main(String[] args) {
+        int recordsPerRound = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int warmupRounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        OrderMetrics orderMetrics = new OrderMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        Stage[] stages = Stage.values();
+
+        long[] nanosPerRecord = new long[rounds];
+        for (int round = -warmupRounds; round < rounds; round++) {
+            long start = System.nanoTime();
+            long stageStart = start;
+            for (int i = 0; i < recordsPerRound; i++) {
+                stageStart = orderMetrics.record(stages[i % stages.length], stageStart);
+            }
+            if (round >= 0) {
+                nanosPerRecord[round] = (System.nanoTime() - start) / recordsPerRound;
+            }
+        }
+
+        long[] sorted = Arrays.stream(nanosPerRecord).sorted().toArray();
+        System.out.printf("record p50 %d ns, max %d ns over %d rounds%n",
+                sorted[sorted.length / 2], sorted[sorted.length - 1], rounds);
+    }
+}
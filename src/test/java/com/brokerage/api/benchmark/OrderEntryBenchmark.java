@@ -0,0 +1,151 @@
+package com.brokerage.api.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for the order path: every client creates a small BUY order for customer1 and cancels
+ * it again, for a warmup and a measured period. Used to compare logging setups.
+ * <p>
+ * Start the application with rate limiting disabled, once without and once with the prodlog Spring profile, and
+ * run against each:
+ * <pre>
+ * java -cp target/test-classes com.brokerage.api.benchmark.OrderEntryBenchmark \
+ *     [baseUrl=http://localhost:8080] [clients=32] [seconds=30] [warmupSeconds=10]
+ * </pre>
+ */
+public class OrderEntryBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ORDER_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String ORDER =
+            "{\"customerId\":1,\"assetName\":\"AAPL\",\"orderSide\":\"BUY\",\"size\":1,\"price\":10}";
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        String token = login(httpClient, baseUrl);
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < clients; i++) {
+                results.add(executor.submit(() -> runClient(httpClient, baseUrl, token, measureFrom, end, errors)));
+            }
+            long[] latencies = results.stream().flatMapToLong(result -> {
+                try {
+                    return Arrays.stream(result.get());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).sorted().toArray();
+
+            System.out.printf("clients=%d seconds=%d orders=%d errors=%d%n", clients, seconds, latencies.length, errors.get());
+            System.out.printf("throughput=%.0f orders/s%n", latencies.length / (double) seconds);
+            System.out.printf("create p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Latencies of the create requests, each order is canceled right after so the open order count stays flat
+    private static long[] runClient(HttpClient httpClient, String baseUrl, String token,
+                                    long measureFrom, long end, AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (true) {
+            long sent = System.nanoTime();
+            if (sent >= end) {
+                break;
+            }
+
+            HttpRequest create = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(60))
+                    .POST(HttpRequest.BodyPublishers.ofString(ORDER))
+                    .build();
+            String orderId;
+            try {
+                HttpResponse<String> response = httpClient.send(create, HttpResponse.BodyHandlers.ofString());
+                Matcher matcher = ORDER_ID.matcher(response.body());
+                if (response.statusCode() != 201 || !matcher.find()) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+                orderId = matcher.group(1);
+            } catch (Exception e) {
+                errors.incrementAndGet();
+                continue;
+            }
+
+            long received = System.nanoTime();
+            if (sent >= measureFrom && received < end) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = received - sent;
+            }
+
+            HttpRequest cancel = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders/" + orderId))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .DELETE()
+                    .build();
+            try {
+                if (httpClient.send(cancel, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                    errors.incrementAndGet();
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static String login(HttpClient httpClient, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"customer1\",\"password\":\"password123\"}"))
+                .build();
+        String body = httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
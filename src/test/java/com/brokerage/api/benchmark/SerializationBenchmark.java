@@ -0,0 +1,108 @@
+package com.brokerage.api.benchmark;
+
+import com.brokerage.api.config.BinaryContentConfig;
+import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.model.OrderType;
+import com.brokerage.api.model.TimeInForce;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the response bodies of GET /api/orders for one list of orders: JSON as served by default, CBOR and Smile
+ * as configured by BinaryContentConfig. Reports the payload size and the median time to write and to read back the
+ * whole list, over repeated rounds after a warmup:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) com.brokerage.api.benchmark.SerializationBenchmark \
+ *     [orders=10000] [rounds=50] [warmupRounds=20]
+ * </pre>
+ */
+public class SerializationBenchmark {
+
+    private static final String[] ASSETS = {"AAPL", "MSFT", "GOOGL", "AMZN", "TSLA", "NVDA", "META", "JPM"};
+
+    public static void main(String[] args) throws Exception {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int warmupRounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("cbor", BinaryContentConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory()));
+        mappers.put("smile", BinaryContentConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory()));
+
+        List<OrderResponse> list = orders(orders);
+        System.out.printf("%-6s %12s %12s %12s%n", "format", "bytes", "write p50", "read p50");
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            ObjectWriter writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, OrderResponse.class));
+            ObjectReader reader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, OrderResponse.class));
+
+            byte[] body = writer.writeValueAsBytes(list);
+            if (!list.equals(reader.readValue(body))) {
+                throw new IllegalStateException(entry.getKey() + " does not read back what it wrote");
+            }
+
+            long[] writes = new long[rounds];
+            long[] reads = new long[rounds];
+            for (int i = -warmupRounds; i < rounds; i++) {
+                long start = System.nanoTime();
+                body = writer.writeValueAsBytes(list);
+                long written = System.nanoTime();
+                reader.readValue(body);
+                long read = System.nanoTime();
+                if (i >= 0) {
+                    writes[i] = written - start;
+                    reads[i] = read - written;
+                }
+            }
+            System.out.printf("%-6s %12d %9.2f ms %9.2f ms%n", entry.getKey(), body.length, median(writes), median(reads));
+        }
+    }
+
+    private static List<OrderResponse> orders(int count) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderResponse> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double size = 1 + random.nextInt(500);
+            double filled = random.nextBoolean() ? 0 : Math.floor(size * random.nextDouble());
+            LocalDateTime created = now.minusNanos(random.nextLong(86_400_000_000_000L));
+            orders.add(OrderResponse.builder()
+                    .id((long) i + 1)
+                    .customerId(1L + random.nextInt(100))
+                    .assetName(ASSETS[random.nextInt(ASSETS.length)])
+                    .orderSide(random.nextBoolean() ? OrderSide.BUY : OrderSide.SELL)
+                    .size(size)
+                    .price(Math.round(random.nextDouble() * 50_000) / 100.0)
+                    .orderType(OrderType.LIMIT)
+                    .filledSize(filled)
+                    .remainingSize(size - filled)
+                    .averageFillPrice(filled > 0 ? Math.round(random.nextDouble() * 50_000) / 100.0 : null)
+                    .status(filled > 0 ? OrderStatus.PARTIALLY_FILLED : OrderStatus.PENDING)
+                    .createDate(created)
+                    .priorityDate(created)
+                    .timeInForce(TimeInForce.GTC)
+                    .build());
+        }
+        return orders;
+    }
+
+    private static double median(long[] nanos) {
+        long[] sorted = Arrays.stream(nanos).sorted().toArray();
+        return sorted[sorted.length / 2] / 1_000_000.0;
+    }
+}
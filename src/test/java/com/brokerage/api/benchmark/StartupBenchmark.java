@@ -0,0 +1,167 @@
+package com.brokerage.api.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the time from launching the application to its first successful order: a customer1 login followed by a
+ * POST /api/orders, retried until both succeed. Every setup is started from the jar built by the startup Maven
+ * profile, runs times in turn, and the medians are reported:
+ * <ul>
+ *   <li>default - no options</li>
+ *   <li>faststart - the faststart Spring profile: lazy initialization and deferred seeding</li>
+ *   <li>faststart+aot - with the AOT-generated context (-Dspring.aot.enabled=true)</li>
+ *   <li>faststart+aot+cds - with a class data sharing archive of the classes a training run loaded</li>
+ * </ul>
+ * The archive is created by a training run of the last setup first, unless one newer than the jar exists. The
+ * startup Maven profile runs this in the verify phase, it can also be run on its own:
+ * <pre>
+ * java -cp target/test-classes com.brokerage.api.benchmark.StartupBenchmark \
+ *     [jar=target/startup/brokerage-api-1.0.0.jar] [runs=3] [port=18080]
+ * </pre>
+ */
+public class StartupBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern STARTED = Pattern.compile("Started BrokerageApiApplication in ([0-9.]+) seconds");
+    private static final String LOGIN = "{\"username\":\"customer1\",\"password\":\"password123\"}";
+    private static final String ORDER =
+            "{\"customerId\":1,\"assetName\":\"AAPL\",\"orderSide\":\"BUY\",\"size\":1,\"price\":10}";
+    private static final Duration TIMEOUT = Duration.ofMinutes(5);
+
+    private record Setup(String name, List<String> jvmOptions, List<String> arguments) {
+    }
+
+    private record Run(double startedSeconds, double firstOrderSeconds) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args.length > 0 ? args[0] : "target/startup/brokerage-api-1.0.0.jar");
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : 18080;
+        if (!Files.exists(jar)) {
+            throw new IllegalArgumentException(jar + " not found, build it with mvn -Pstartup package");
+        }
+
+        Path directory = jar.toAbsolutePath().getParent();
+        Path archive = directory.resolve("brokerage-api.jsa");
+        List<String> faststart = List.of("--spring.profiles.active=faststart");
+        List<Setup> setups = new ArrayList<>(List.of(
+                new Setup("default", List.of(), List.of()),
+                new Setup("faststart", List.of(), faststart),
+                new Setup("faststart+aot", List.of("-Dspring.aot.enabled=true"), faststart)));
+
+        Setup withArchive = new Setup("faststart+aot+cds",
+                List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + archive), faststart);
+        // An archive only matches the jar it was trained with
+        if (Files.exists(archive) && Files.getLastModifiedTime(archive).compareTo(Files.getLastModifiedTime(jar)) < 0) {
+            Files.delete(archive);
+        }
+        if (!Files.exists(archive)) {
+            System.out.println("Training run for " + archive.getFileName());
+            run(new Setup("training", List.of("-Dspring.aot.enabled=true", "-XX:ArchiveClassesAtExit=" + archive),
+                    faststart), jar, port, directory);
+        }
+        if (Files.exists(archive)) {
+            setups.add(withArchive);
+        } else {
+            System.out.println("No archive was written by the training run, skipping " + withArchive.name());
+        }
+
+        List<List<Run>> results = new ArrayList<>();
+        setups.forEach(setup -> results.add(new ArrayList<>()));
+        for (int i = 0; i < runs; i++) {
+            for (int s = 0; s < setups.size(); s++) {
+                Run run = run(setups.get(s), jar, port, directory);
+                System.out.printf("%-18s run %d: started %6.2f s, first order %6.2f s%n",
+                        setups.get(s).name(), i + 1, run.startedSeconds(), run.firstOrderSeconds());
+                results.get(s).add(run);
+            }
+        }
+
+        System.out.printf("%n%-18s %12s %18s%n", "setup", "started p50", "first order p50");
+        for (int s = 0; s < setups.size(); s++) {
+            System.out.printf("%-18s %10.2f s %16.2f s%n", setups.get(s).name(),
+                    median(results.get(s).stream().mapToDouble(Run::startedSeconds).toArray()),
+                    median(results.get(s).stream().mapToDouble(Run::firstOrderSeconds).toArray()));
+        }
+    }
+
+    private static Run run(Setup setup, Path jar, int port, Path directory) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(setup.jvmOptions());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--app.audit.directory=" + directory.resolve("audit"));
+        command.addAll(setup.arguments());
+        Path log = directory.resolve(setup.name() + ".log");
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            awaitFirstOrder(httpClient, "http://localhost:" + port, process, log);
+            double firstOrderSeconds = (System.nanoTime() - start) / 1e9;
+
+            Matcher started = STARTED.matcher(Files.readString(log));
+            return new Run(started.find() ? Double.parseDouble(started.group(1)) : Double.NaN, firstOrderSeconds);
+        } finally {
+            // A regular shutdown, so a training run writes its archive
+            process.destroy();
+            if (!process.waitFor(1, TimeUnit.MINUTES)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void awaitFirstOrder(HttpClient httpClient, String baseUrl, Process process, Path log)
+            throws Exception {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(LOGIN))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                Matcher token = TOKEN.matcher(login.body());
+                if (login.statusCode() == 200 && token.find()) {
+                    HttpResponse<Void> order = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                            .header("Authorization", "Bearer " + token.group(1))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(ORDER))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    if (order.statusCode() == 201) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("No successful order within " + TIMEOUT + ", see " + log);
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = Arrays.stream(values).sorted().toArray();
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
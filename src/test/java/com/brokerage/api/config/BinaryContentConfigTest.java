@@ -0,0 +1,114 @@
+package com.brokerage.api.config;
+
+import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.model.OrderType;
+import com.brokerage.api.model.TimeInForce;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class BinaryContentConfigTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123456789);
+
+    private final BinaryContentConfig config = new BinaryContentConfig();
+    private final ObjectMapper cborMapper = BinaryContentConfig.binaryMapper(builder(), new CBORFactory());
+
+    @Test
+    void binaryMapper_WritesEpochNanosAndEnumOrdinals() throws Exception {
+        JsonNode node = cborMapper.readTree(cborMapper.writeValueAsBytes(order()));
+
+        long expectedNanos = CREATED.atZone(ZoneId.systemDefault()).toEpochSecond() * 1_000_000_000L + 123456789;
+        assertTrue(node.get("createDate").isIntegralNumber());
+        assertEquals(expectedNanos, node.get("createDate").longValue());
+        assertEquals(OrderSide.SELL.ordinal(), node.get("orderSide").intValue());
+        assertEquals(OrderStatus.PENDING.ordinal(), node.get("status").intValue());
+        assertTrue(node.get("expireDate").isNull());
+    }
+
+    @Test
+    void binaryMapper_ReadsWhatItWritesAndIsoStrings() throws Exception {
+        OrderResponse order = order();
+
+        assertEquals(order, cborMapper.readValue(cborMapper.writeValueAsBytes(order), OrderResponse.class));
+
+        byte[] iso = cborMapper.writeValueAsBytes(Map.of("createDate", "2024-03-01T09:30:15.123456789"));
+        assertEquals(CREATED, cborMapper.readValue(iso, OrderResponse.class).getCreateDate());
+    }
+
+    @Test
+    void negotiation_DefaultsToJsonAndHonoursAccept() throws Exception {
+        HttpMessageConverters converters = new HttpMessageConverters(
+                config.cborHttpMessageConverter(builder()), config.smileHttpMessageConverter(builder()));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new OrdersController())
+                .setMessageConverters(converters.getConverters().toArray(new HttpMessageConverter[0]))
+                .build();
+
+        mockMvc.perform(get("/orders"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"));
+        mockMvc.perform(get("/orders").header("Accept", "*/*"))
+                .andExpect(content().contentType("application/json"));
+        mockMvc.perform(get("/orders").header("Accept", "application/x-jackson-smile"))
+                .andExpect(content().contentType("application/x-jackson-smile"));
+
+        MvcResult cbor = mockMvc.perform(get("/orders").header("Accept", "application/cbor"))
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn();
+        OrderResponse[] orders = cborMapper.readValue(cbor.getResponse().getContentAsByteArray(), OrderResponse[].class);
+        assertEquals(List.of(order()), List.of(orders));
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json();
+    }
+
+    private static OrderResponse order() {
+        return OrderResponse.builder()
+                .id(7L)
+                .customerId(1L)
+                .assetName("AAPL")
+                .orderSide(OrderSide.SELL)
+                .size(10.0)
+                .price(150.0)
+                .orderType(OrderType.LIMIT)
+                .filledSize(0.0)
+                .remainingSize(10.0)
+                .status(OrderStatus.PENDING)
+                .createDate(CREATED)
+                .priorityDate(CREATED)
+                .timeInForce(TimeInForce.GTC)
+                .build();
+    }
+
+    @RestController
+    static class OrdersController {
+
+        @GetMapping("/orders")
+        List<OrderResponse> orders() {
+            return List.of(order());
+        }
+    }
+}
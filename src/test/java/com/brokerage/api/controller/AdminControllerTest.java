@@ -0,0 +1,82 @@
+package com.brokerage.api.controller;
+
+import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.exception.GlobalExceptionHandler;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.risk.InstrumentExposureTracker;
+import com.brokerage.api.risk.PreTradeRiskEngine;
+import com.brokerage.api.service.OrderService;
+import com.brokerage.api.service.PriceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class AdminControllerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private PriceService priceService;
+
+    @Mock
+    private PreTradeRiskEngine riskEngine;
+
+    @Mock
+    private InstrumentExposureTracker exposureTracker;
+
+    @InjectMocks
+    private AdminController adminController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(adminController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void matchOrder_Valid_Matches() throws Exception {
+        when(orderService.matchOrder(1L, 5.0, null))
+                .thenReturn(OrderResponse.builder().id(1L).status(OrderStatus.PARTIALLY_FILLED).build());
+
+        mockMvc.perform(post("/api/admin/orders/match")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderId\": 1, \"size\": 5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    public void matchOrder_InvalidRequest_Returns400() throws Exception {
+        mockMvc.perform(post("/api/admin/orders/match")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"size\": 5}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.orderId").value("Order ID is required"));
+
+        mockMvc.perform(post("/api/admin/orders/match")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderId\": 1, \"size\": -5, \"price\": 0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.size").value("Size must be positive"))
+                .andExpect(jsonPath("$.errors.price").value("Price must be positive"));
+
+        verify(orderService, never()).matchOrder(any(), any(), any());
+    }
+}
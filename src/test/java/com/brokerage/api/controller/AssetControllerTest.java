@@ -0,0 +1,90 @@
+package com.brokerage.api.controller;
+
+import com.brokerage.api.dto.response.AssetResponse;
+import com.brokerage.api.service.AssetService;
+import com.brokerage.api.service.BalanceVersionService;
+import com.brokerage.api.service.PortfolioService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AssetControllerTest {
+
+    private static final String ETAG = "W/\"1700000000000-7\"";
+
+    @Mock
+    private AssetService assetService;
+
+    @Mock
+    private PortfolioService portfolioService;
+
+    @Mock
+    private BalanceVersionService balanceVersionService;
+
+    @InjectMocks
+    private AssetController assetController;
+
+    @Test
+    public void getAssetsByCustomerId_ReturnsETag() {
+        List<AssetResponse> assets = List.of(AssetResponse.builder().customerId(1L).assetName("TRY").build());
+        when(balanceVersionService.getETag(1L)).thenReturn(Optional.of(ETAG));
+        when(assetService.getAssetsByCustomerId(1L)).thenReturn(assets);
+
+        ResponseEntity<List<AssetResponse>> response = assetController.getAssetsByCustomerId(1L, webRequest(null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals(List.of("Accept"), response.getHeaders().getVary());
+        assertSame(assets, response.getBody());
+    }
+
+    @Test
+    public void getAssetsByCustomerId_NotModifiedWithoutReadingAssets() {
+        when(balanceVersionService.getETag(1L)).thenReturn(Optional.of(ETAG));
+
+        ServletWebRequest request = webRequest(ETAG);
+
+        ResponseEntity<List<AssetResponse>> response = assetController.getAssetsByCustomerId(1L, request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, request.getResponse().getHeader("ETag"));
+        assertNull(response.getBody());
+        verifyNoInteractions(assetService);
+    }
+
+    @Test
+    public void getAssetsByCustomerId_StaleTagOrNoTag_ReadsAssets() {
+        when(balanceVersionService.getETag(1L)).thenReturn(Optional.of(ETAG), Optional.empty());
+        when(assetService.getAssetsByCustomerId(1L)).thenReturn(List.of());
+
+        assertEquals(HttpStatus.OK,
+                assetController.getAssetsByCustomerId(1L, webRequest("W/\"1700000000000-6\"")).getStatusCode());
+        ResponseEntity<List<AssetResponse>> untagged = assetController.getAssetsByCustomerId(1L, webRequest(ETAG));
+
+        assertEquals(HttpStatus.OK, untagged.getStatusCode());
+        assertNull(untagged.getHeaders().getETag());
+        verify(assetService, times(2)).getAssetsByCustomerId(1L);
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/assets");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
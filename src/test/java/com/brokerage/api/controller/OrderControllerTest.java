@@ -2,12 +2,15 @@ package com.brokerage.api.controller;
 
 import com.brokerage.api.dto.request.CreateOrderRequest;
 import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.metrics.OrderMetrics;
+import com.brokerage.api.model.IdempotentOperation;
 import com.brokerage.api.model.OrderSide;
 import com.brokerage.api.model.OrderStatus;
 import com.brokerage.api.model.User;
 import com.brokerage.api.repository.CustomerRepository;
 import com.brokerage.api.repository.UserRepository;
 import com.brokerage.api.security.UserPrincipal;
+import com.brokerage.api.service.IdempotencyService;
 import com.brokerage.api.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,12 +39,18 @@ public class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private OrderMetrics orderMetrics;
+
     @InjectMocks
     private OrderController orderController;
 
@@ -106,7 +115,7 @@ public class OrderControllerTest {
         when(orderService.createOrder(any(CreateOrderRequest.class))).thenReturn(expectedResponse);
 
         // When
-        ResponseEntity<OrderResponse> responseEntity = orderController.createOrder(request, adminPrincipal);
+        ResponseEntity<OrderResponse> responseEntity = orderController.createOrder(request, null, adminPrincipal);
 
         // Then
         assertNotNull(responseEntity);
@@ -120,6 +129,35 @@ public class OrderControllerTest {
         verify(orderService, times(1)).createOrder(request);
     }
 
+    @Test
+    public void createOrder_WithIdempotencyKey_ReplaysOriginalResponse() {
+        // Given
+        CreateOrderRequest request = CreateOrderRequest.builder()
+                .customerId(1L)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(10.0)
+                .price(150.0)
+                .build();
+
+        OrderResponse originalResponse = OrderResponse.builder()
+                .id(1L)
+                .status(OrderStatus.PENDING)
+                .build();
+
+        when(idempotencyService.execute(eq(1L), eq("retry-1"), eq(IdempotentOperation.CREATE_ORDER), eq(request), any()))
+                .thenReturn(new IdempotencyService.Result(originalResponse, true));
+
+        // When
+        ResponseEntity<OrderResponse> responseEntity = orderController.createOrder(request, "retry-1", adminPrincipal);
+
+        // Then
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertEquals("true", responseEntity.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(1L, responseEntity.getBody().getId());
+        verify(orderService, never()).createOrder(any());
+    }
+
     @Test
     public void getOrdersByCustomerIdAndDateRange_Success() {
         // Given
@@ -185,7 +223,7 @@ public class OrderControllerTest {
         when(orderService.cancelOrder(eq(1L), any())).thenReturn(expectedResponse);
 
         // When
-        ResponseEntity<OrderResponse> responseEntity = orderController.cancelOrder(1L, adminPrincipal);
+        ResponseEntity<OrderResponse> responseEntity = orderController.cancelOrder(1L, null, adminPrincipal);
 
         // Then
         assertNotNull(responseEntity);
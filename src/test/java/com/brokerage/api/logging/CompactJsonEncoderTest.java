@@ -0,0 +1,51 @@
+package com.brokerage.api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactJsonEncoderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CompactJsonEncoder encoder = new CompactJsonEncoder();
+
+    @Test
+    void encode_WritesKeyValuePairsAsFields() {
+        LoggingEvent event = new LoggingEvent("test", context.getLogger("com.brokerage.api.orders"), Level.INFO,
+                "CREATED", null, null);
+        event.setTimeStamp(1700000000000L);
+        event.setThreadName("http-nio-8080-exec-1");
+        event.setKeyValuePairs(List.of(
+                new KeyValuePair("orderId", 12L),
+                new KeyValuePair("asset", "AAPL"),
+                new KeyValuePair("price", Double.NaN)));
+
+        String json = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        assertEquals("{\"ts\":1700000000000,\"level\":\"INFO\",\"logger\":\"com.brokerage.api.orders\","
+                + "\"thread\":\"http-nio-8080-exec-1\",\"msg\":\"CREATED\",\"orderId\":12,\"asset\":\"AAPL\","
+                + "\"price\":\"NaN\"}\n", json);
+    }
+
+    @Test
+    void encode_EscapesMessageAndAddsStackTrace() {
+        LoggingEvent event = new LoggingEvent("test", context.getLogger("test"), Level.ERROR,
+                "Failed \"{}\"\n", new IllegalStateException("boom"), new Object[]{"a\\b"});
+        event.setThreadName("main");
+
+        String json = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        assertTrue(json.contains("\"msg\":\"Failed \\\"a\\\\b\\\"\\n\""), json);
+        assertTrue(json.contains("\"error\":\"java.lang.IllegalStateException: boom\\n"), json);
+        assertTrue(json.endsWith("}\n"));
+        assertEquals(1, json.lines().count());
+    }
+}
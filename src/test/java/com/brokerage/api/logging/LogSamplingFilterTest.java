@@ -0,0 +1,50 @@
+package com.brokerage.api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LogSamplingFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final LogSamplingFilter filter = new LogSamplingFilter(Map.of(
+            "com.brokerage.api.controller", 10,
+            "com.brokerage.api.controller.AuthController", 1));
+
+    @Test
+    void decide_KeepsOneInNOfACategory() {
+        long kept = IntStream.range(0, 100)
+                .mapToObj(i -> event(i % 2 == 0 ? "com.brokerage.api.controller.AssetController"
+                        : "com.brokerage.api.controller.OrderController", Level.INFO))
+                .filter(event -> filter.decide(event) == FilterReply.NEUTRAL)
+                .count();
+
+        assertEquals(10, kept);
+    }
+
+    @Test
+    void decide_LongestPrefixWins() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(event("com.brokerage.api.controller.AuthController", Level.INFO)));
+        }
+    }
+
+    @Test
+    void decide_WarningsAndOtherCategoriesAreNeverDropped() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(event("com.brokerage.api.controller.AssetController", Level.WARN)));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(event("com.brokerage.api.service.AssetService", Level.INFO)));
+        }
+    }
+
+    private LoggingEvent event(String loggerName, Level level) {
+        return new LoggingEvent("test", context.getLogger(loggerName), level, "message", null, null);
+    }
+}
@@ -0,0 +1,75 @@
+package com.brokerage.api.metrics;
+
+import com.brokerage.api.metrics.OrderMetrics.Outcome;
+import com.brokerage.api.metrics.OrderMetrics.Stage;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OrderMetricsTest {
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final OrderMetrics orderMetrics = new OrderMetrics(registry);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void record_PublishesPercentileHistogram() {
+        long start = System.nanoTime() - 2_000_000;
+        long end = orderMetrics.record(Stage.BALANCE_READ, start);
+
+        assertTrue(end - start >= 2_000_000);
+        assertEquals(1, registry.get("orders.create.stage").tag("stage", "balance_read").timer().count());
+        assertTrue(registry.scrape().lines().anyMatch(line -> line.startsWith("orders_create_stage_seconds_bucket")
+                && line.contains("stage=\"balance_read\"")));
+        assertTrue(registry.scrape().contains("orders_create_outcome_total{outcome=\"insufficient_funds\""));
+    }
+
+    @Test
+    void recordCommit_CountsAcceptedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        orderMetrics.recordCommit();
+
+        assertEquals(0.0, registry.get("orders.create.outcome").tag("outcome", "accepted").counter().count());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+            synchronization.afterCommit();
+        }
+
+        assertEquals(1.0, registry.get("orders.create.outcome").tag("outcome", "accepted").counter().count());
+        assertEquals(1, registry.get("orders.create.stage").tag("stage", "commit").timer().count());
+    }
+
+    @Test
+    void recordCommit_RolledBackOrderIsNotCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        orderMetrics.recordCommit();
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertEquals(0.0, registry.get("orders.create.outcome").tag("outcome", "accepted").counter().count());
+        assertEquals(0, registry.get("orders.create.stage").tag("stage", "commit").timer().count());
+    }
+
+    @Test
+    void count_ReturnsTheRejection() {
+        IllegalStateException rejection = new IllegalStateException();
+
+        assertEquals(rejection, orderMetrics.count(Outcome.NOT_FOUND, rejection));
+        assertEquals(1.0, registry.get("orders.create.outcome").tag("outcome", "not_found").counter().count());
+    }
+}
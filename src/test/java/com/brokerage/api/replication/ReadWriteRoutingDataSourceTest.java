@@ -0,0 +1,57 @@
+package com.brokerage.api.replication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaReplicator replicator;
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() {
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routingDataSource().determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplicaWithinStaleness() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replicator.getLagNanos()).thenReturn(Duration.ofMillis(200).toNanos());
+
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, routingDataSource().determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionUsesPrimaryWhenReplicaTooStale() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replicator.getLagNanos()).thenReturn(Duration.ofSeconds(2).toNanos());
+
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routingDataSource().determineCurrentLookupKey());
+    }
+
+    private ReadWriteRoutingDataSource routingDataSource() {
+        return new ReadWriteRoutingDataSource(primary, replica, replicator, Duration.ofSeconds(1));
+    }
+}
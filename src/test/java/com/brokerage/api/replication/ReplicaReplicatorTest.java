@@ -0,0 +1,140 @@
+package com.brokerage.api.replication;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReplicaReplicatorTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaReplicator replicator;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = dataSource();
+        DataSource replicaDataSource = dataSource();
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replicator = new ReplicaReplicator(primaryDataSource, replicaDataSource);
+
+        primary.execute("CREATE TABLE assets (id BIGINT PRIMARY KEY, asset_name VARCHAR(20), size DECIMAL(19, 2))");
+        primary.update("INSERT INTO assets VALUES (1, 'TRY', 1000)");
+    }
+
+    @Test
+    void seed_CopiesSchemaAndRows() {
+        assertEquals(Long.MAX_VALUE, replicator.getLagNanos());
+
+        replicator.seed();
+
+        assertEquals(1000, replica.queryForObject("SELECT size FROM assets WHERE id = 1", Integer.class));
+        assertEquals(0, replicator.getLagNanos());
+    }
+
+    @Test
+    void apply_CopiesChangedAndDeletedRows() {
+        replicator.seed();
+
+        primary.update("UPDATE assets SET size = 500 WHERE id = 1");
+        primary.update("INSERT INTO assets VALUES (2, 'AAPL', 10)");
+        primary.update("DELETE FROM assets WHERE id = 2");
+        primary.update("INSERT INTO assets VALUES (3, 'MSFT', 5)");
+        replicator.record("assets", "id", 1L);
+        replicator.record("assets", "id", 2L);
+        replicator.record("assets", "id", 2L);
+        replicator.record("assets", "id", 3L);
+
+        assertEquals(1000, replica.queryForObject("SELECT size FROM assets WHERE id = 1", Integer.class));
+        assertEquals(true, replicator.getLagNanos() > 0);
+
+        replicator.apply();
+
+        assertEquals(500, replica.queryForObject("SELECT size FROM assets WHERE id = 1", Integer.class));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM assets WHERE id = 2", Integer.class));
+        assertEquals("MSFT", replica.queryForObject("SELECT asset_name FROM assets WHERE id = 3", String.class));
+        assertEquals(0, replicator.getLagNanos());
+    }
+
+    @Test
+    void apply_BeforeSeedKeepsChanges() {
+        primary.update("UPDATE assets SET size = 500 WHERE id = 1");
+        replicator.record("assets", "id", 1L);
+
+        replicator.apply();
+        replicator.seed();
+
+        assertEquals(500, replica.queryForObject("SELECT size FROM assets WHERE id = 1", Integer.class));
+        assertEquals(0, replicator.getLagNanos());
+    }
+
+    @Test
+    void apply_BulkDeleteRemovesRowsGoneFromPrimaryBeforeCopyingRows() {
+        primary.execute("CREATE TABLE idempotency_records (id BIGINT PRIMARY KEY, idempotency_key VARCHAR(20) UNIQUE)");
+        primary.update("INSERT INTO idempotency_records VALUES (1, 'a'), (2, 'b')");
+        replicator.seed();
+
+        // An expired key is purged and used again
+        primary.update("DELETE FROM idempotency_records WHERE id = 1");
+        primary.update("INSERT INTO idempotency_records VALUES (3, 'a')");
+        replicator.record("idempotency_records", "id", 3L);
+        replicator.recordBulkDelete("idempotency_records", "id");
+        replicator.apply();
+
+        assertEquals(List.of(2L, 3L), replica.queryForList("SELECT id FROM idempotency_records ORDER BY id", Long.class));
+    }
+
+    @Test
+    void apply_CopiesCollectionsAfterTheirOwners() {
+        primary.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        primary.execute("CREATE TABLE user_roles (user_id BIGINT REFERENCES users (id), role VARCHAR(20))");
+        primary.update("INSERT INTO users VALUES (1)");
+        primary.update("INSERT INTO user_roles VALUES (1, 'ROLE_CUSTOMER')");
+        replicator.seed();
+
+        primary.update("INSERT INTO user_roles VALUES (1, 'ROLE_ADMIN')");
+        primary.update("INSERT INTO users VALUES (2)");
+        primary.update("INSERT INTO user_roles VALUES (2, 'ROLE_CUSTOMER')");
+        replicator.recordCollection("user_roles", "user_id", 1L);
+        replicator.recordCollection("user_roles", "user_id", 2L);
+        replicator.record("users", "id", 2L);
+        replicator.apply();
+
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_CUSTOMER"), replica.queryForList(
+                "SELECT role FROM user_roles WHERE user_id = 1 ORDER BY role", String.class));
+        assertEquals(List.of("ROLE_CUSTOMER"), replica.queryForList(
+                "SELECT role FROM user_roles WHERE user_id = 2", String.class));
+    }
+
+    @Test
+    void recordCollection_JournalsOnlyOnceCommitted() {
+        primary.execute("CREATE TABLE user_roles (user_id BIGINT, role VARCHAR(20))");
+        replicator.seed();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            primary.update("INSERT INTO user_roles VALUES (1, 'ROLE_CUSTOMER')");
+            replicator.recordCollection("user_roles", "user_id", 1L);
+            assertEquals(0, replicator.getLagNanos());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        replicator.apply();
+
+        assertEquals(List.of("ROLE_CUSTOMER"), replica.queryForList("SELECT role FROM user_roles", String.class));
+    }
+
+    private DataSource dataSource() {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
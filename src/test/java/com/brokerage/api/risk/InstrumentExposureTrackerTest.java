@@ -0,0 +1,179 @@
+package com.brokerage.api.risk;
+
+import com.brokerage.api.dto.response.InstrumentExposureResponse;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.event.OrderEvent.ReservedBalance;
+import com.brokerage.api.event.OrderEventType;
+import com.brokerage.api.model.ExposureCheckpoint;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.repository.AssetRepository;
+import com.brokerage.api.repository.ExposureCheckpointRepository;
+import com.brokerage.api.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InstrumentExposureTrackerTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ExposureCheckpointRepository checkpointRepository;
+
+    private InstrumentExposureTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new InstrumentExposureTracker(assetRepository, orderRepository, checkpointRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        // With sharding every shard returns its own rows for an instrument
+        when(assetRepository.sumByAssetName()).thenReturn(List.of(
+                totals("TRY", 10000.0, 8500.0), totals("TRY", 5000.0, 5000.0), totals("AAPL", 100.0, 90.0)));
+        when(orderRepository.sumNotionalByAssetNameAndSide(OrderStatus.OPEN)).thenReturn(List.of(
+                notional("AAPL", OrderSide.BUY, 1500.0), notional("AAPL", OrderSide.SELL, 1600.0)));
+        tracker.load();
+    }
+
+    @Test
+    void load_SumsRowsPerInstrument() {
+        assertExposure("AAPL", 100.0, 90.0, 1500.0, 1600.0);
+        assertExposure("TRY", 15000.0, 13500.0, 0.0, 0.0);
+        assertEquals(10.0, exposure("AAPL").getReservedSize());
+    }
+
+    @Test
+    void onOrderEvent_FollowsOrderLifecycle() {
+        // BUY 10 AAPL at 150 reserves 1500 TRY
+        tracker.onOrderEvent(event(OrderEventType.CREATED, OrderSide.BUY, 10.0, 150.0, 10.0)
+                .withReservedBalance(new ReservedBalance(10000.0, 8500.0, 10000.0, 7000.0)));
+        assertExposure("AAPL", 100.0, 90.0, 3000.0, 1600.0);
+        assertExposure("TRY", 15000.0, 12000.0, 0.0, 0.0);
+
+        // 4 filled at 145: 580 TRY spent, 20 released, 4 AAPL bought
+        tracker.onOrderEvent(OrderEvent.builder()
+                .type(OrderEventType.FILLED).assetName("AAPL").orderSide(OrderSide.BUY).size(10.0).price(150.0)
+                .status(OrderStatus.PARTIALLY_FILLED).remainingSize(6.0).fillSize(4.0).fillPrice(145.0)
+                .reservedBalance(new ReservedBalance(10000.0, 7000.0, 9420.0, 7020.0))
+                .build());
+        assertExposure("AAPL", 104.0, 94.0, 2400.0, 1600.0);
+        assertExposure("TRY", 14420.0, 12020.0, 0.0, 0.0);
+
+        // Amended to 8 at 140: remaining 4 at 140 replaces 6 at 150
+        tracker.onOrderEvent(OrderEvent.builder()
+                .type(OrderEventType.AMENDED).assetName("AAPL").orderSide(OrderSide.BUY).size(8.0).price(140.0)
+                .status(OrderStatus.PARTIALLY_FILLED).remainingSize(4.0).previousRemainingSize(6.0).previousPrice(150.0)
+                .reservedBalance(new ReservedBalance(9420.0, 7020.0, 9420.0, 7360.0))
+                .build());
+        assertExposure("AAPL", 104.0, 94.0, 2060.0, 1600.0);
+
+        tracker.onOrderEvent(event(OrderEventType.CANCELED, OrderSide.BUY, 8.0, 140.0, 4.0)
+                .withReservedBalance(new ReservedBalance(9420.0, 7360.0, 9420.0, 7920.0)));
+        assertExposure("AAPL", 104.0, 94.0, 1500.0, 1600.0);
+        assertExposure("TRY", 14420.0, 12920.0, 0.0, 0.0);
+    }
+
+    @Test
+    void onOrderEvent_SellFillCreditsTry() {
+        tracker.onOrderEvent(OrderEvent.builder()
+                .type(OrderEventType.FILLED).assetName("AAPL").orderSide(OrderSide.SELL).size(10.0).price(160.0)
+                .status(OrderStatus.MATCHED).remainingSize(0.0).fillSize(10.0).fillPrice(165.0)
+                .reservedBalance(new ReservedBalance(100.0, 90.0, 90.0, 90.0))
+                .build());
+
+        assertExposure("AAPL", 90.0, 90.0, 1500.0, 0.0);
+        assertExposure("TRY", 16650.0, 15150.0, 0.0, 0.0);
+    }
+
+    @Test
+    void checkpoint_WritesEveryInstrument() {
+        tracker.checkpoint();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ExposureCheckpoint>> saved = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        ExposureCheckpoint apple = saved.getValue().stream()
+                .filter(checkpoint -> checkpoint.getAssetName().equals("AAPL")).findFirst().orElseThrow();
+        assertEquals(100.0, apple.getTotalSize());
+        assertEquals(1600.0, apple.getOpenSellNotional());
+        assertNotNull(apple.getCheckpointDate());
+    }
+
+    private void assertExposure(String assetName, double totalSize, double totalUsable, double openBuyNotional,
+                                double openSellNotional) {
+        InstrumentExposureResponse exposure = exposure(assetName);
+        assertEquals(totalSize, exposure.getTotalSize(), 1e-9);
+        assertEquals(totalUsable, exposure.getTotalUsable(), 1e-9);
+        assertEquals(openBuyNotional, exposure.getOpenBuyNotional(), 1e-9);
+        assertEquals(openSellNotional, exposure.getOpenSellNotional(), 1e-9);
+    }
+
+    private InstrumentExposureResponse exposure(String assetName) {
+        return tracker.getExposures().stream()
+                .filter(exposure -> exposure.getAssetName().equals(assetName))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static OrderEvent event(OrderEventType type, OrderSide side, double size, double price,
+                                    double remainingSize) {
+        return OrderEvent.builder()
+                .type(type)
+                .assetName("AAPL")
+                .orderSide(side)
+                .size(size)
+                .price(price)
+                .status(type == OrderEventType.CREATED ? OrderStatus.PENDING : OrderStatus.CANCELED)
+                .remainingSize(remainingSize)
+                .build();
+    }
+
+    private static AssetRepository.InstrumentTotals totals(String assetName, double totalSize, double totalUsable) {
+        return new AssetRepository.InstrumentTotals() {
+            public String getAssetName() {
+                return assetName;
+            }
+
+            public Double getTotalSize() {
+                return totalSize;
+            }
+
+            public Double getTotalUsable() {
+                return totalUsable;
+            }
+        };
+    }
+
+    private static OrderRepository.SideNotional notional(String assetName, OrderSide side, double notional) {
+        return new OrderRepository.SideNotional() {
+            public String getAssetName() {
+                return assetName;
+            }
+
+            public OrderSide getOrderSide() {
+                return side;
+            }
+
+            public Double getNotional() {
+                return notional;
+            }
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package com.brokerage.api.risk;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.event.OrderEventType;
+import com.brokerage.api.exception.RiskLimitExceededException;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.repository.AssetRepository;
+import com.brokerage.api.repository.OrderRepository;
+import com.brokerage.api.service.impl.PriceServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PreTradeRiskEngineTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private RiskProperties riskProperties;
+    private RiskExposureTracker exposureTracker;
+    private PriceServiceImpl priceService;
+    private PreTradeRiskEngine riskEngine;
+
+    @BeforeEach
+    void setUp() {
+        riskProperties = new RiskProperties();
+        riskProperties.setMaxOrderNotional(10000.0);
+        riskProperties.setMaxOpenOrders(2);
+        riskProperties.setMaxPosition(100.0);
+        riskProperties.setPriceBandPercent(10.0);
+
+        exposureTracker = new RiskExposureTracker(assetRepository, orderRepository);
+        priceService = new PriceServiceImpl();
+
+        riskEngine = new PreTradeRiskEngine(Arrays.asList(
+                new MaxOrderNotionalCheck(riskProperties),
+                new MaxOpenOrdersCheck(riskProperties, exposureTracker),
+                new PositionLimitCheck(riskProperties, exposureTracker),
+                new PriceBandCheck(riskProperties, priceService)
+        ), riskProperties);
+    }
+
+    @Test
+    void check_WithinLimits_Passes() {
+        assertDoesNotThrow(() -> riskEngine.check(buy(10.0, 150.0)));
+        assertEquals(0L, riskEngine.getRejectionCounts().get("max-order-notional"));
+    }
+
+    @Test
+    void check_NotionalAboveLimit_Rejected() {
+        assertThrows(RiskLimitExceededException.class, () -> riskEngine.check(buy(100.0, 150.0)));
+        assertEquals(1L, riskEngine.getRejectionCounts().get("max-order-notional"));
+    }
+
+    @Test
+    void check_TooManyOpenOrders_Rejected() {
+        // Given
+        exposureTracker.onOrderEvent(created(1L, 1.0));
+        exposureTracker.onOrderEvent(created(2L, 1.0));
+
+        // When & Then
+        assertThrows(RiskLimitExceededException.class, () -> riskEngine.check(buy(1.0, 150.0)));
+        assertEquals(1L, riskEngine.getRejectionCounts().get("max-open-orders"));
+    }
+
+    @Test
+    void check_CanceledOrdersReleaseOpenOrderCount() {
+        // Given
+        exposureTracker.onOrderEvent(created(1L, 1.0));
+        exposureTracker.onOrderEvent(created(2L, 1.0));
+        exposureTracker.onOrderEvent(event(OrderEventType.CANCELED, 2L, 1.0));
+
+        // When & Then
+        assertDoesNotThrow(() -> riskEngine.check(buy(1.0, 150.0)));
+    }
+
+    @Test
+    void check_PartiallyFilledOrdersStayOpen() {
+        // Given
+        exposureTracker.onOrderEvent(created(1L, 2.0));
+        exposureTracker.onOrderEvent(created(2L, 2.0));
+        exposureTracker.onOrderEvent(OrderEvent.builder()
+                .type(OrderEventType.FILLED)
+                .orderId(2L)
+                .customerId(1L)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(2.0)
+                .price(10.0)
+                .status(OrderStatus.PARTIALLY_FILLED)
+                .remainingSize(1.0)
+                .fillSize(1.0)
+                .fillPrice(10.0)
+                .build());
+
+        // When & Then
+        assertThrows(RiskLimitExceededException.class, () -> riskEngine.check(buy(1.0, 150.0)));
+    }
+
+    @Test
+    void check_AmendCountsOnlyAddedSize() {
+        // Given
+        exposureTracker.onOrderEvent(created(1L, 60.0));
+        exposureTracker.onOrderEvent(created(2L, 30.0));
+        RiskOrder amend = buy(40.0, 10.0).toBuilder()
+                .amend(true)
+                .previousSize(30.0)
+                .build();
+
+        // When & Then
+        assertDoesNotThrow(() -> riskEngine.check(amend));
+        assertThrows(RiskLimitExceededException.class, () -> riskEngine.check(amend.toBuilder().size(41.0).build()));
+    }
+
+    @Test
+    void check_PositionAboveLimit_Rejected() {
+        // Given
+        exposureTracker.onOrderEvent(created(1L, 60.0));
+
+        // When & Then
+        assertThrows(RiskLimitExceededException.class, () -> riskEngine.check(buy(50.0, 10.0)));
+        assertEquals(1L, riskEngine.getRejectionCounts().get("position-limit"));
+    }
+
+    @Test
+    void check_PriceOutsideBand_Rejected() {
+        // Given
+        priceService.updatePrice("AAPL", 100.0);
+
+        // When & Then
+        assertDoesNotThrow(() -> riskEngine.check(buy(1.0, 109.0)));
+        assertThrows(RiskLimitExceededException.class, () -> riskEngine.check(buy(1.0, 111.0)));
+        assertEquals(1L, riskEngine.getRejectionCounts().get("price-band"));
+    }
+
+    @Test
+    void check_Disabled_Passes() {
+        riskProperties.setEnabled(false);
+        assertDoesNotThrow(() -> riskEngine.check(buy(1000.0, 150.0)));
+    }
+
+    private RiskOrder buy(double size, double price) {
+        return RiskOrder.builder()
+                .customerId(1L)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(size)
+                .price(price)
+                .build();
+    }
+
+    private OrderEvent created(Long orderId, double size) {
+        return event(OrderEventType.CREATED, orderId, size);
+    }
+
+    private OrderEvent event(OrderEventType type, Long orderId, double size) {
+        return OrderEvent.builder()
+                .type(type)
+                .orderId(orderId)
+                .customerId(1L)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(size)
+                .price(10.0)
+                .remainingSize(size)
+                .build();
+    }
+}
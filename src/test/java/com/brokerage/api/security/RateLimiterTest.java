@@ -0,0 +1,75 @@
+package com.brokerage.api.security;
+import com.brokerage.api.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private RateLimitProperties.Limit limit;
+
+    @BeforeEach
+    void setUp() {
+        limit = new RateLimitProperties.Limit();
+        limit.setRequestsPerSecond(10);
+        limit.setBurst(5);
+    }
+
+    @Test
+    void bucket_AllowsBurstThenRejects() {
+        // Given
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(limit);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        assertEquals(SECOND / 10, bucket.tryAcquire(0));
+    }
+
+    @Test
+    void bucket_RefillsAtSustainedRate() {
+        // Given
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(limit);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        // When & Then
+        assertEquals(0, bucket.tryAcquire(SECOND / 10));
+        assertTrue(bucket.tryAcquire(SECOND / 10) > 0);
+        assertFalse(bucket.isIdle(SECOND / 10));
+        assertTrue(bucket.isIdle(SECOND));
+    }
+
+    @Test
+    void tryAcquire_UsesMostGenerousRoleAndSeparatesEndpointClasses() {
+        // Given
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.RoleLimits customer = new RateLimitProperties.RoleLimits();
+        customer.getOrders().setRequestsPerSecond(0.001);
+        customer.getOrders().setBurst(1);
+        properties.getRoles().put("ROLE_CUSTOMER", customer);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimiter rateLimiter = new RateLimiter(properties, meterRegistry);
+        var authorities = List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"));
+
+        // When & Then
+        assertEquals(0, rateLimiter.tryAcquire(1L, RateLimiter.EndpointClass.ORDERS, authorities));
+        assertTrue(rateLimiter.tryAcquire(1L, RateLimiter.EndpointClass.ORDERS, authorities) > 0);
+        assertEquals(0, rateLimiter.tryAcquire(2L, RateLimiter.EndpointClass.ORDERS, authorities));
+        assertEquals(0, rateLimiter.tryAcquire(1L, RateLimiter.EndpointClass.QUERIES, authorities));
+        // Roles without configured limits are not limited
+        assertEquals(0, rateLimiter.tryAcquire(3L, RateLimiter.EndpointClass.ORDERS,
+                List.of(new SimpleGrantedAuthority("ROLE_OTHER"))));
+        assertEquals(3, rateLimiter.getBucketCount());
+        assertEquals(1.0, meterRegistry.get("rate_limit.rejected").tag("endpoint_class", "orders").counter().count());
+        assertEquals(0.0, meterRegistry.get("rate_limit.rejected").tag("endpoint_class", "queries").counter().count());
+    }
+}
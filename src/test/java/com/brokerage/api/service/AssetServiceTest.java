@@ -58,8 +58,8 @@ public class AssetServiceTest {
     @Test
     void getAssetsByCustomerId_Success() {
         // Given
-        List<Asset> assets = Arrays.asList(tryAsset, stockAsset);
-        when(assetRepository.findByCustomerId(customerId)).thenReturn(assets);
+        List<AssetResponse> assets = Arrays.asList(toResponse(tryAsset), toResponse(stockAsset));
+        when(assetRepository.findResponsesByCustomerId(customerId)).thenReturn(assets);
 
         // When
         List<AssetResponse> responses = assetService.getAssetsByCustomerId(customerId);
@@ -99,8 +99,8 @@ public class AssetServiceTest {
     @Test
     void filterAssets_ByAssetName_Success() {
         // Given
-        List<Asset> assets = Arrays.asList(tryAsset, stockAsset);
-        when(assetRepository.findByCustomerId(customerId)).thenReturn(assets);
+        List<AssetResponse> assets = Arrays.asList(toResponse(tryAsset), toResponse(stockAsset));
+        when(assetRepository.findResponsesByCustomerId(customerId)).thenReturn(assets);
 
         AssetFilterRequest request = AssetFilterRequest.builder()
                 .customerId(customerId)
@@ -127,8 +127,8 @@ public class AssetServiceTest {
                 .usableSize(0.0)
                 .build();
 
-        List<Asset> assets = Arrays.asList(tryAsset, stockAsset, emptyAsset);
-        when(assetRepository.findByCustomerId(customerId)).thenReturn(assets);
+        List<AssetResponse> assets = Arrays.asList(toResponse(tryAsset), toResponse(stockAsset), toResponse(emptyAsset));
+        when(assetRepository.findResponsesByCustomerId(customerId)).thenReturn(assets);
 
         AssetFilterRequest request = AssetFilterRequest.builder()
                 .customerId(customerId)
@@ -172,4 +172,10 @@ public class AssetServiceTest {
         // Then
         verify(assetRepository, never()).save(any(Asset.class));
     }
+
+    // What the projection query returns for an asset row
+    private AssetResponse toResponse(Asset asset) {
+        return new AssetResponse(asset.getId(), asset.getCustomerId(), asset.getAssetName(), asset.getSize(),
+                asset.getUsableSize());
+    }
 }
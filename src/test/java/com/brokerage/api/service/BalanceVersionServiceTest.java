@@ -0,0 +1,62 @@
+package com.brokerage.api.service;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.event.OrderEventType;
+import com.brokerage.api.replication.ReplicaReplicator;
+import com.brokerage.api.service.impl.BalanceVersionServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BalanceVersionServiceTest {
+
+    private final BalanceVersionServiceImpl balanceVersionService = new BalanceVersionServiceImpl(Optional.empty());
+
+    @Test
+    void getVersion_IncreasesOnlyForTheChangedCustomer() {
+        long before = balanceVersionService.getVersion(1L);
+        String eTagBefore = balanceVersionService.getETag(1L).orElseThrow();
+
+        balanceVersionService.onOrderEvent(event(1L));
+
+        assertTrue(balanceVersionService.getVersion(1L) > before);
+        assertNotEquals(eTagBefore, balanceVersionService.getETag(1L).orElseThrow());
+        assertEquals(0L, balanceVersionService.getVersion(2L));
+        assertTrue(eTagBefore.startsWith("W/\""));
+    }
+
+    @Test
+    void getVersion_SeedingMovesEveryCustomer() {
+        balanceVersionService.onOrderEvent(event(1L));
+        long changed = balanceVersionService.getVersion(1L);
+        long untouched = balanceVersionService.getVersion(2L);
+
+        balanceVersionService.onDatabaseSeeded();
+
+        assertTrue(balanceVersionService.getVersion(1L) > changed);
+        assertTrue(balanceVersionService.getVersion(2L) > untouched);
+    }
+
+    @Test
+    void getETag_EmptyWhileReplicaLags() {
+        ReplicaReplicator replicator = mock(ReplicaReplicator.class);
+        BalanceVersionServiceImpl service = new BalanceVersionServiceImpl(Optional.of(replicator));
+
+        when(replicator.getLagNanos()).thenReturn(5_000_000L);
+        assertTrue(service.getETag(1L).isEmpty());
+
+        when(replicator.getLagNanos()).thenReturn(0L);
+        assertTrue(service.getETag(1L).isPresent());
+    }
+
+    private static OrderEvent event(Long customerId) {
+        return OrderEvent.builder()
+                .type(OrderEventType.CANCELED)
+                .orderId(1L)
+                .customerId(customerId)
+                .assetName("AAPL")
+                .build();
+    }
+}
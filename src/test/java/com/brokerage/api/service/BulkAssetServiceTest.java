@@ -0,0 +1,98 @@
+package com.brokerage.api.service;
+
+import com.brokerage.api.config.AssetProperties;
+import com.brokerage.api.dto.response.AssetResponse;
+import com.brokerage.api.exception.ApiException;
+import com.brokerage.api.repository.AssetRepository;
+import com.brokerage.api.service.impl.BulkAssetServiceImpl;
+import com.brokerage.api.sharding.ShardMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class BulkAssetServiceTest {
+
+    private final AssetRepository assetRepository = mock(AssetRepository.class);
+    private final ShardMap shardMap = new ShardMap(2, 16);
+    private final AssetProperties assetProperties = new AssetProperties();
+    private final BulkAssetServiceImpl bulkAssetService;
+
+    BulkAssetServiceTest() {
+        assetProperties.setBulkChunkSize(3);
+        assetProperties.setBulkQueryThreads(2);
+        assetProperties.setBulkMaxCustomers(10);
+        bulkAssetService = new BulkAssetServiceImpl(assetRepository, shardMap, assetProperties,
+                mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkAssetService.destroy();
+    }
+
+    @Test
+    void resolveCustomerIds_AcceptsSetOrRange() {
+        assertEquals(List.of(1L, 5L), bulkAssetService.resolveCustomerIds(List.of(5L, 1L, 5L), null, null));
+        assertEquals(List.of(3L, 4L, 5L), bulkAssetService.resolveCustomerIds(null, 3L, 5L));
+
+        assertThrows(ApiException.class, () -> bulkAssetService.resolveCustomerIds(null, null, null));
+        assertThrows(ApiException.class, () -> bulkAssetService.resolveCustomerIds(List.of(1L), 1L, 2L));
+        assertThrows(ApiException.class, () -> bulkAssetService.resolveCustomerIds(null, 5L, 3L));
+        assertThrows(ApiException.class, () -> bulkAssetService.resolveCustomerIds(null, 1L, 11L));
+    }
+
+    @Test
+    void chunk_GroupsByShardAndBoundsSize() {
+        List<Long> customerIds = LongStream.rangeClosed(1, 10).boxed().collect(Collectors.toList());
+
+        List<List<Long>> chunks = bulkAssetService.chunk(customerIds);
+
+        assertEquals(customerIds, chunks.stream().flatMap(List::stream).sorted().collect(Collectors.toList()));
+        for (List<Long> chunk : chunks) {
+            assertTrue(chunk.size() <= 3);
+            assertEquals(1, chunk.stream().map(shardMap::shardForCustomer).distinct().count());
+        }
+    }
+
+    @Test
+    void getAssetsByCustomerIds_PassesEveryChunkOnCallingThread() {
+        when(assetRepository.findResponsesByCustomerIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> customerIds = invocation.getArgument(0);
+            return customerIds.stream()
+                    .map(customerId -> AssetResponse.builder().customerId(customerId).assetName("TRY").build())
+                    .collect(Collectors.toList());
+        });
+        List<Long> customerIds = LongStream.rangeClosed(1, 10).boxed().collect(Collectors.toList());
+        Thread caller = Thread.currentThread();
+        List<AssetResponse> assets = new ArrayList<>();
+
+        bulkAssetService.getAssetsByCustomerIds(customerIds, chunk -> {
+            assertSame(caller, Thread.currentThread());
+            assets.addAll(chunk);
+        });
+
+        assertEquals(Set.copyOf(customerIds), assets.stream().map(AssetResponse::getCustomerId).collect(Collectors.toSet()));
+        verify(assetRepository, times(bulkAssetService.chunk(customerIds).size())).findResponsesByCustomerIdIn(anyCollection());
+    }
+
+    @Test
+    void getAssetsByCustomerIds_FailedChunkFailsRequest() {
+        when(assetRepository.findResponsesByCustomerIdIn(anyCollection()))
+                .thenThrow(new IllegalStateException("Connection lost"));
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> bulkAssetService.getAssetsByCustomerIds(List.of(1L, 2L), chunk -> fail("No chunk was read")));
+        assertEquals("Connection lost", failure.getMessage());
+    }
+}
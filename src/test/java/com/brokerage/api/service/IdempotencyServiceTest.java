@@ -0,0 +1,152 @@
+package com.brokerage.api.service;
+import com.brokerage.api.config.IdempotencyProperties;
+import com.brokerage.api.dto.request.CreateOrderRequest;
+import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.exception.ApiException;
+import com.brokerage.api.model.IdempotencyRecord;
+import com.brokerage.api.model.IdempotentOperation;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.repository.IdempotencyRecordRepository;
+import com.brokerage.api.service.impl.IdempotencyServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+    private IdempotencyServiceImpl idempotencyService;
+    private CreateOrderRequest request;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        idempotencyService = new IdempotencyServiceImpl(recordRepository, new IdempotencyProperties(),
+                new TransactionTemplate(transactionManager), objectMapper);
+
+        request = CreateOrderRequest.builder()
+                .customerId(1L)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(10.0)
+                .price(150.0)
+                .build();
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void execute_RetryWithSameKey_ReplaysFromCache() {
+        // Given
+        when(recordRepository.findByUserIdAndIdempotencyKeyAndExpireDateAfter(anyLong(), anyString(), any()))
+                .thenReturn(Optional.empty());
+
+        // When
+        IdempotencyService.Result first = idempotencyService.execute(1L, "key-1", IdempotentOperation.CREATE_ORDER,
+                request, this::createOrder);
+        IdempotencyService.Result retry = idempotencyService.execute(1L, "key-1", IdempotentOperation.CREATE_ORDER,
+                request, this::createOrder);
+
+        // Then
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.response().getId(), retry.response().getId());
+        assertEquals(1, executions.get());
+        verify(recordRepository, times(1)).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void execute_KeyReusedForDifferentRequest_Rejected() {
+        // Given
+        when(recordRepository.findByUserIdAndIdempotencyKeyAndExpireDateAfter(anyLong(), anyString(), any()))
+                .thenReturn(Optional.empty());
+        idempotencyService.execute(1L, "key-1", IdempotentOperation.CREATE_ORDER, request, this::createOrder);
+        request.setSize(20.0);
+
+        // When & Then
+        assertThrows(ApiException.class, () -> idempotencyService.execute(1L, "key-1",
+                IdempotentOperation.CREATE_ORDER, request, this::createOrder));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_PersistedRecord_ReplayedAfterRestart() {
+        // Given
+        when(recordRepository.findByUserIdAndIdempotencyKeyAndExpireDateAfter(anyLong(), anyString(), any()))
+                .thenReturn(Optional.empty());
+        idempotencyService.execute(1L, "key-1", IdempotentOperation.CREATE_ORDER, request, this::createOrder);
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(recordRepository).saveAndFlush(saved.capture());
+
+        IdempotencyServiceImpl restarted = new IdempotencyServiceImpl(recordRepository, new IdempotencyProperties(),
+                new TransactionTemplate(transactionManager), objectMapper);
+        when(recordRepository.findByUserIdAndIdempotencyKeyAndExpireDateAfter(eq(1L), eq("key-1"), any()))
+                .thenReturn(Optional.of(saved.getValue()));
+
+        // When
+        IdempotencyService.Result retry = restarted.execute(1L, "key-1", IdempotentOperation.CREATE_ORDER,
+                request, this::createOrder);
+
+        // Then
+        assertTrue(retry.replayed());
+        assertEquals(1L, retry.response().getId());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_KeyExpiredButNotPurged_RunsAgain() {
+        // Given
+        when(recordRepository.findByUserIdAndIdempotencyKeyAndExpireDateAfter(anyLong(), anyString(), any()))
+                .thenReturn(Optional.empty());
+
+        // When
+        IdempotencyService.Result result = idempotencyService.execute(1L, "key-1", IdempotentOperation.CREATE_ORDER,
+                request, this::createOrder);
+
+        // Then
+        assertFalse(result.replayed());
+        assertEquals(1, executions.get());
+        InOrder inOrder = inOrder(recordRepository);
+        inOrder.verify(recordRepository).deleteExpiredByUserIdAndIdempotencyKey(eq(1L), eq("key-1"), any());
+        inOrder.verify(recordRepository).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    private OrderResponse createOrder() {
+        executions.incrementAndGet();
+        return OrderResponse.builder()
+                .id(1L)
+                .customerId(1L)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(10.0)
+                .price(150.0)
+                .status(OrderStatus.PENDING)
+                .createDate(LocalDateTime.now())
+                .build();
+    }
+}
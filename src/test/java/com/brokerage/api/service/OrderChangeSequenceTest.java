@@ -0,0 +1,95 @@
+package com.brokerage.api.service;
+
+import com.brokerage.api.repository.OrderArchiveRepository;
+import com.brokerage.api.service.impl.OrderChangeSequence;
+import com.brokerage.api.sharding.ShardMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class OrderChangeSequenceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OrderArchiveRepository orderArchiveRepository = mock(OrderArchiveRepository.class);
+    private final OrderChangeSequence sequence = new OrderChangeSequence(jdbcTemplate, orderArchiveRepository,
+            new ShardMap(3, 16), mock(ObjectProvider.class));
+
+    @BeforeEach
+    void setUp() {
+        // With sharding every shard returns its maximum, an empty shard returns null
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(7L, null, 41L);
+        sequence.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void next_ContinuesAfterStoredMaximum() {
+        assertEquals(41L, sequence.visibleThrough());
+
+        List<TransactionSynchronization> transaction = inTransaction(() -> assertEquals(42L, sequence.next()));
+
+        complete(transaction, TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(42L, sequence.visibleThrough());
+    }
+
+    @Test
+    void visibleThrough_WaitsForEarlierTransactions() {
+        List<TransactionSynchronization> first = inTransaction(() -> sequence.next());
+        List<TransactionSynchronization> second = inTransaction(() -> sequence.next());
+
+        // The later transaction commits first, its change must not be served before 42 is decided
+        complete(second, TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(41L, sequence.visibleThrough());
+
+        complete(first, TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(43L, sequence.visibleThrough());
+    }
+
+    @Test
+    void afterPropertiesSet_ContinuesAfterArchivedMaximum() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(7L, null, 41L);
+        when(orderArchiveRepository.findMaxChangeSeq(1)).thenReturn(50L);
+        OrderChangeSequence resumed = new OrderChangeSequence(jdbcTemplate, orderArchiveRepository,
+                new ShardMap(3, 16), mock(ObjectProvider.class));
+
+        resumed.afterPropertiesSet();
+
+        assertEquals(50L, resumed.visibleThrough());
+    }
+
+    @Test
+    void next_RequiresTransaction() {
+        assertThrows(IllegalStateException.class, sequence::next);
+        assertEquals(41L, sequence.visibleThrough());
+    }
+
+    private static List<TransactionSynchronization> inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void complete(List<TransactionSynchronization> transaction, int status) {
+        transaction.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
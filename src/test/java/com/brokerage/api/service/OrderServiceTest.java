@@ -1,23 +1,42 @@
 package com.brokerage.api.service;
+import com.brokerage.api.config.OrderProperties;
+import com.brokerage.api.dto.request.AmendOrderRequest;
 import com.brokerage.api.dto.request.CreateOrderRequest;
+import com.brokerage.api.dto.response.OrderChangeResponse;
+import com.brokerage.api.dto.response.OrderChangesResponse;
 import com.brokerage.api.dto.response.OrderResponse;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.exception.ApiException;
 import com.brokerage.api.exception.InsufficientFundsException;
 import com.brokerage.api.exception.ResourceNotFoundException;
+import com.brokerage.api.metrics.OrderMetrics;
 import com.brokerage.api.model.Asset;
+import com.brokerage.api.model.Fill;
 import com.brokerage.api.model.Order;
 import com.brokerage.api.model.OrderSide;
 import com.brokerage.api.model.OrderStatus;
+import com.brokerage.api.model.OrderType;
+import com.brokerage.api.model.TimeInForce;
 import com.brokerage.api.repository.AssetRepository;
+import com.brokerage.api.repository.FillRepository;
+import com.brokerage.api.repository.OrderArchiveRepository;
 import com.brokerage.api.repository.OrderRepository;
+import com.brokerage.api.risk.PreTradeRiskEngine;
+import com.brokerage.api.service.impl.OrderChangeSequence;
 import com.brokerage.api.service.impl.OrderServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +53,32 @@ public class OrderServiceTest {
     @Mock
     private AssetRepository assetRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FillRepository fillRepository;
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Mock
+    private PreTradeRiskEngine riskEngine;
+
+    @Mock
+    private PriceService priceService;
+
+    @Mock
+    private OrderChangeSequence orderChangeSequence;
+
+    @Spy
+    private OrderProperties orderProperties = new OrderProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -74,8 +119,10 @@ public class OrderServiceTest {
                 .orderSide(OrderSide.BUY)
                 .size(10.0)
                 .price(150.0)
+                .remainingSize(10.0)
                 .status(OrderStatus.PENDING)
-                .createDate(LocalDateTime.now())
+                .createDate(LocalDateTime.now().minusMinutes(5))
+                .priorityDate(LocalDateTime.now().minusMinutes(5))
                 .build();
 
         // order requests
@@ -121,6 +168,15 @@ public class OrderServiceTest {
         verify(assetRepository).save(argThat(asset ->
                 asset.getAssetName().equals("TRY") &&
                         asset.getUsableSize() == 8500.0)); // 10000 - (10 * 150)
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof OrderEvent orderEvent &&
+                orderEvent.getReservedBalance().getUsableBefore() == 10000.0 &&
+                orderEvent.getReservedBalance().getUsableAfter() == 8500.0));
+
+        // Every stage is timed and, without a transaction, the order is counted as accepted right away
+        for (String stage : List.of("risk_check", "balance_read", "reservation", "insert")) {
+            assertEquals(1, meterRegistry.get("orders.create.stage").tag("stage", stage).timer().count());
+        }
+        assertEquals(1.0, meterRegistry.get("orders.create.outcome").tag("outcome", "accepted").counter().count());
     }
 
     @Test
@@ -141,6 +197,8 @@ public class OrderServiceTest {
 
         // not called to save anything
         verify(orderRepository, never()).save(any(Order.class));
+        assertEquals(1.0, meterRegistry.get("orders.create.outcome").tag("outcome", "insufficient_funds").counter().count());
+        assertEquals(0.0, meterRegistry.get("orders.create.outcome").tag("outcome", "accepted").counter().count());
     }
 
     @Test
@@ -190,6 +248,176 @@ public class OrderServiceTest {
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    void createOrder_GttWithoutExpireDate_Rejected() {
+        // Given
+        buyRequest.setTimeInForce(TimeInForce.GTT);
+
+        // When & Then
+        assertThrows(ApiException.class, () -> orderService.createOrder(buyRequest));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void createOrder_DayOrder_ExpiresAtClose() {
+        // Given
+        buyRequest.setTimeInForce(TimeInForce.DAY);
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        OrderResponse response = orderService.createOrder(buyRequest);
+
+        // Then
+        assertEquals(TimeInForce.DAY, response.getTimeInForce());
+        assertEquals(orderProperties.getDayCloseTime(), response.getExpireDate().toLocalTime());
+        assertTrue(response.getExpireDate().isAfter(response.getCreateDate()));
+    }
+
+    @Test
+    void createOrder_StopLimit_WaitsForTrigger() {
+        // Given
+        buyRequest.setOrderType(OrderType.STOP_LIMIT);
+        buyRequest.setStopPrice(140.0);
+        when(priceService.getPrice("AAPL")).thenReturn(Optional.of(130.0));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        OrderResponse response = orderService.createOrder(buyRequest);
+
+        // Then
+        assertEquals(OrderStatus.PENDING_TRIGGER, response.getStatus());
+        assertEquals(140.0, response.getStopPrice());
+        assertEquals(8500.0, tryAsset.getUsableSize()); // reserved at the limit price
+    }
+
+    @Test
+    void createOrder_WithoutPositivePrice_Rejected() {
+        // Given
+        CreateOrderRequest noPrice = CreateOrderRequest.builder()
+                .customerId(customerId).assetName("AAPL").orderSide(OrderSide.BUY).size(10.0).build();
+        CreateOrderRequest zeroPrice = CreateOrderRequest.builder()
+                .customerId(customerId).assetName("AAPL").orderSide(OrderSide.BUY).size(10.0).price(0.0).build();
+        CreateOrderRequest stopLimitWithoutPrice = CreateOrderRequest.builder()
+                .customerId(customerId).assetName("AAPL").orderSide(OrderSide.BUY).size(10.0)
+                .orderType(OrderType.STOP_LIMIT).stopPrice(160.0).build();
+
+        // When & Then
+        for (CreateOrderRequest request : List.of(noPrice, zeroPrice, stopLimitWithoutPrice)) {
+            ApiException e = assertThrows(ApiException.class, () -> orderService.createOrder(request));
+            assertTrue(e.getMessage().contains("require a positive price"));
+        }
+        verifyNoInteractions(riskEngine);
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void createOrder_Stop_ReservedAtStopPriceWithoutChangingRequest() {
+        // Given
+        buyRequest.setOrderType(OrderType.STOP);
+        buyRequest.setStopPrice(160.0);
+        buyRequest.setPrice(null);
+        when(priceService.getPrice("AAPL")).thenReturn(Optional.of(130.0));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        OrderResponse response = orderService.createOrder(buyRequest);
+
+        // Then
+        assertEquals(160.0, response.getPrice());
+        assertEquals(8400.0, tryAsset.getUsableSize());
+        assertNull(buyRequest.getPrice());
+    }
+
+    @Test
+    void createOrder_StopAlreadyReached_Rejected() {
+        // Given
+        sellRequest.setOrderType(OrderType.STOP);
+        sellRequest.setStopPrice(140.0);
+        when(priceService.getPrice("AAPL")).thenReturn(Optional.of(135.0));
+
+        // When & Then
+        assertThrows(ApiException.class, () -> orderService.createOrder(sellRequest));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void triggerOrders_ReleasesStopOrdersIntoBook() {
+        // Given
+        pendingOrder.setOrderType(OrderType.STOP);
+        pendingOrder.setStopPrice(150.0);
+        pendingOrder.setStatus(OrderStatus.PENDING_TRIGGER);
+        LocalDateTime priorityDate = pendingOrder.getPriorityDate();
+        when(orderRepository.findByIdInAndStatusIn(List.of(1L, 2L), EnumSet.of(OrderStatus.PENDING_TRIGGER)))
+                .thenReturn(List.of(pendingOrder));
+
+        // When
+        int triggered = orderService.triggerOrders(List.of(1L, 2L));
+
+        // Then
+        assertEquals(1, triggered);
+        assertEquals(OrderStatus.PENDING, pendingOrder.getStatus());
+        assertTrue(pendingOrder.getPriorityDate().isAfter(priorityDate));
+        verify(eventPublisher).publishEvent(any(OrderEvent.class));
+    }
+
+    @Test
+    void matchOrder_PendingTrigger_NotFound() {
+        // Given
+        when(orderRepository.findByIdAndStatusIn(1L, OrderStatus.FILLABLE)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> orderService.matchOrder(1L));
+    }
+
+    @Test
+    void expireOrders_ReleasesReservationsPerAsset() {
+        // Given
+        Order first = Order.builder()
+                .id(1L)
+                .customerId(customerId)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(10.0)
+                .price(150.0)
+                .remainingSize(10.0)
+                .status(OrderStatus.PENDING)
+                .createDate(LocalDateTime.now().minusHours(1))
+                .timeInForce(TimeInForce.GTT)
+                .expireDate(LocalDateTime.now().minusSeconds(1))
+                .build();
+        Order second = Order.builder()
+                .id(2L)
+                .customerId(customerId)
+                .assetName("GOOGL")
+                .orderSide(OrderSide.BUY)
+                .size(5.0)
+                .price(100.0)
+                .remainingSize(5.0)
+                .status(OrderStatus.PENDING)
+                .createDate(LocalDateTime.now().minusHours(1))
+                .timeInForce(TimeInForce.GTT)
+                .expireDate(LocalDateTime.now().minusSeconds(1))
+                .build();
+
+        when(orderRepository.findByIdInAndStatusIn(List.of(1L, 2L), OrderStatus.OPEN))
+                .thenReturn(Arrays.asList(first, second));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
+
+        // When
+        int expired = orderService.expireOrders(List.of(1L, 2L));
+
+        // Then
+        assertEquals(2, expired);
+        assertEquals(OrderStatus.EXPIRED, first.getStatus());
+        assertEquals(OrderStatus.EXPIRED, second.getStatus());
+        verify(assetRepository, times(1)).save(argThat(asset ->
+                asset.getAssetName().equals("TRY") &&
+                        asset.getUsableSize() == 12000.0)); // 10000 + 10 * 150 + 5 * 100
+    }
+
     @Test
     void cancelOrder_PendingBuyOrder_Success() {
         // Given
@@ -200,6 +428,7 @@ public class OrderServiceTest {
                 .orderSide(OrderSide.BUY)
                 .size(10.0)
                 .price(150.0)
+                .remainingSize(10.0)
                 .status(OrderStatus.PENDING)
                 .createDate(LocalDateTime.now())
                 .build();
@@ -231,6 +460,7 @@ public class OrderServiceTest {
                 .orderSide(OrderSide.SELL)
                 .size(10.0)
                 .price(150.0)
+                .remainingSize(10.0)
                 .status(OrderStatus.PENDING)
                 .createDate(LocalDateTime.now())
                 .build();
@@ -252,13 +482,75 @@ public class OrderServiceTest {
                         asset.getUsableSize() == 110.0)); // 100 + 10
     }
 
+    @Test
+    void amendOrder_SizeDown_ReleasesDeltaAndKeepsPriority() {
+        // Given
+        LocalDateTime priorityDate = pendingOrder.getPriorityDate();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(pendingOrder));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
+
+        // When
+        OrderResponse response = orderService.amendOrder(1L, AmendOrderRequest.builder().size(6.0).build(), customerId);
+
+        // Then
+        assertEquals(6.0, response.getSize());
+        assertEquals(6.0, response.getRemainingSize());
+        assertEquals(priorityDate, response.getPriorityDate());
+        assertEquals(10600.0, tryAsset.getUsableSize()); // 10000 + 4 * 150
+        verify(riskEngine, never()).check(any());
+    }
+
+    @Test
+    void amendOrder_PriceUp_ReservesDeltaAndResetsPriority() {
+        // Given
+        LocalDateTime priorityDate = pendingOrder.getPriorityDate();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(pendingOrder));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
+
+        // When
+        OrderResponse response = orderService.amendOrder(1L, AmendOrderRequest.builder().price(160.0).build(), customerId);
+
+        // Then
+        assertEquals(160.0, response.getPrice());
+        assertTrue(response.getPriorityDate().isAfter(priorityDate));
+        assertEquals(9900.0, tryAsset.getUsableSize()); // 10000 - 10 * (160 - 150)
+        verify(riskEngine).check(any());
+    }
+
+    @Test
+    void amendOrder_InsufficientFunds() {
+        // Given
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(pendingOrder));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
+
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () ->
+                orderService.amendOrder(1L, AmendOrderRequest.builder().size(100.0).build(), customerId));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void amendOrder_SizeBelowFilled_Rejected() {
+        // Given
+        pendingOrder.setStatus(OrderStatus.PARTIALLY_FILLED);
+        pendingOrder.setFilledSize(6.0);
+        pendingOrder.setRemainingSize(4.0);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(pendingOrder));
+
+        // When & Then
+        assertThrows(ApiException.class, () ->
+                orderService.amendOrder(1L, AmendOrderRequest.builder().size(5.0).build(), customerId));
+        verify(assetRepository, never()).save(any(Asset.class));
+    }
+
     @Test
     void matchOrder_BuyOrder_Success() {
         // Given
-        when(orderRepository.findByIdAndStatus(1L, OrderStatus.PENDING)).thenReturn(Optional.of(pendingOrder));
+        when(orderRepository.findByIdAndStatusIn(1L, OrderStatus.FILLABLE)).thenReturn(Optional.of(pendingOrder));
         when(assetRepository.findByCustomerIdAndAssetName(customerId, "AAPL")).thenReturn(Optional.of(stockAsset));
         when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
         when(orderRepository.save(any(Order.class))).thenReturn(pendingOrder);
+        when(fillRepository.save(any(Fill.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         OrderResponse response = orderService.matchOrder(1L);
@@ -279,18 +571,85 @@ public class OrderServiceTest {
                         asset.getUsableSize() == 110.0)); // 100 + 10
     }
 
+    @Test
+    void matchOrder_PartialFillWithPriceImprovement() {
+        // Given
+        when(orderRepository.findByIdAndStatusIn(1L, OrderStatus.FILLABLE)).thenReturn(Optional.of(pendingOrder));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "AAPL")).thenReturn(Optional.of(stockAsset));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
+        when(fillRepository.save(any(Fill.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        orderService.matchOrder(1L, 4.0, 140.0);
+        OrderResponse response = orderService.matchOrder(1L, 2.0, 150.0);
+
+        // Then
+        assertEquals(OrderStatus.PARTIALLY_FILLED, response.getStatus());
+        assertEquals(6.0, response.getFilledSize());
+        assertEquals(4.0, response.getRemainingSize());
+        assertEquals((4 * 140.0 + 2 * 150.0) / 6, response.getAverageFillPrice(), 1e-9);
+
+        // TRY size reduced by the execution price, the improvement is released back to usable
+        assertEquals(10000.0 - 4 * 140 - 2 * 150, tryAsset.getSize());
+        assertEquals(10000.0 + 4 * 10, tryAsset.getUsableSize());
+        assertEquals(106.0, stockAsset.getSize());
+        verify(fillRepository, times(2)).save(any(Fill.class));
+    }
+
+    @Test
+    void matchOrder_FillSizeAboveRemaining_Rejected() {
+        // Given
+        pendingOrder.setStatus(OrderStatus.PARTIALLY_FILLED);
+        pendingOrder.setFilledSize(8.0);
+        pendingOrder.setRemainingSize(2.0);
+        when(orderRepository.findByIdAndStatusIn(1L, OrderStatus.FILLABLE)).thenReturn(Optional.of(pendingOrder));
+
+        // When & Then
+        assertThrows(ApiException.class, () -> orderService.matchOrder(1L, 3.0, 150.0));
+        verify(fillRepository, never()).save(any(Fill.class));
+    }
+
+    @Test
+    void matchOrder_BuyFillAboveLimitPrice_Rejected() {
+        // Given
+        when(orderRepository.findByIdAndStatusIn(1L, OrderStatus.FILLABLE)).thenReturn(Optional.of(pendingOrder));
+
+        // When & Then
+        assertThrows(ApiException.class, () -> orderService.matchOrder(1L, 1.0, 151.0));
+        verify(assetRepository, never()).save(any(Asset.class));
+    }
+
+    @Test
+    void cancelOrder_PartiallyFilledBuyOrder_ReleasesRemainingOnly() {
+        // Given
+        pendingOrder.setStatus(OrderStatus.PARTIALLY_FILLED);
+        pendingOrder.setFilledSize(6.0);
+        pendingOrder.setRemainingSize(4.0);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(pendingOrder));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
+        when(orderRepository.save(any(Order.class))).thenReturn(pendingOrder);
+
+        // When
+        OrderResponse response = orderService.cancelOrder(1L, customerId);
+
+        // Then
+        assertEquals(OrderStatus.CANCELED, response.getStatus());
+        assertEquals(6.0, response.getFilledSize());
+        assertEquals(10600.0, tryAsset.getUsableSize()); // 10000 + 4 * 150
+    }
+
     @Test
     void getOrdersByCustomerIdAndDateRange_Success() {
         // Given
         LocalDateTime startDate = LocalDateTime.now().minusDays(7);
         LocalDateTime endDate = LocalDateTime.now();
 
-        List<Order> orders = Arrays.asList(
-                Order.builder().id(1L).customerId(customerId).build(),
-                Order.builder().id(2L).customerId(customerId).build()
+        List<OrderResponse> orders = Arrays.asList(
+                OrderResponse.builder().id(1L).customerId(customerId).createDate(startDate.plusDays(1)).build(),
+                OrderResponse.builder().id(2L).customerId(customerId).createDate(startDate.plusDays(2)).build()
         );
 
-        when(orderRepository.findByCustomerIdAndDateRange(customerId, startDate, endDate)).thenReturn(orders);
+        when(orderRepository.findResponsesByCustomerIdAndDateRange(customerId, startDate, endDate)).thenReturn(orders);
 
         // When
         List<OrderResponse> responses = orderService.getOrdersByCustomerIdAndDateRange(customerId, startDate, endDate);
@@ -299,4 +658,122 @@ public class OrderServiceTest {
         assertNotNull(responses);
         assertEquals(2, responses.size());
     }
+
+    @Test
+    void getOrdersByCustomerIdAndDateRange_MergesArchivedOrders() {
+        // Given
+        LocalDateTime startDate = LocalDateTime.now().minusYears(1);
+        LocalDateTime endDate = LocalDateTime.now();
+
+        // The open order 3 stays in the orders table although it is older than the archived order 4
+        when(orderArchiveRepository.findByCustomerIdAndDateRange(customerId, startDate, endDate))
+                .thenReturn(List.of(
+                        OrderResponse.builder().id(1L).status(OrderStatus.MATCHED)
+                                .createDate(startDate.plusDays(1)).build(),
+                        OrderResponse.builder().id(4L).status(OrderStatus.CANCELED)
+                                .createDate(startDate.plusDays(90)).build()));
+        when(orderRepository.findResponsesByCustomerIdAndDateRange(customerId, startDate, endDate))
+                .thenReturn(List.of(
+                        OrderResponse.builder().id(3L).status(OrderStatus.PENDING)
+                                .createDate(startDate.plusDays(60)).build(),
+                        OrderResponse.builder().id(5L).status(OrderStatus.PENDING)
+                                .createDate(startDate.plusDays(90)).build()));
+
+        // When
+        List<OrderResponse> responses = orderService.getOrdersByCustomerIdAndDateRange(customerId, startDate, endDate);
+
+        // Then
+        assertEquals(List.of(1L, 3L, 4L, 5L), responses.stream().map(OrderResponse::getId).toList());
+    }
+
+    @Test
+    void matchOrder_TakesNewChangeSequence() {
+        // Given
+        pendingOrder.setChangeSeq(3L);
+        when(orderRepository.findByIdAndStatusIn(1L, OrderStatus.FILLABLE)).thenReturn(Optional.of(pendingOrder));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "AAPL")).thenReturn(Optional.of(stockAsset));
+        when(assetRepository.findByCustomerIdAndAssetName(customerId, "TRY")).thenReturn(Optional.of(tryAsset));
+        when(fillRepository.save(any(Fill.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderChangeSequence.next()).thenReturn(8L);
+
+        // When
+        orderService.matchOrder(1L);
+
+        // Then
+        verify(orderRepository).save(argThat(order -> order.getChangeSeq() == 8L));
+    }
+
+    @Test
+    void getOrderChanges_StopsAtVisibleSequenceAndBoundsBatch() {
+        // Given
+        orderProperties.setChangesMaxBatchSize(2);
+        pendingOrder.setChangeSeq(6L);
+        Order canceled = Order.builder()
+                .id(2L)
+                .customerId(customerId)
+                .assetName("AAPL")
+                .orderSide(OrderSide.SELL)
+                .size(1.0)
+                .price(150.0)
+                .remainingSize(1.0)
+                .status(OrderStatus.CANCELED)
+                .createDate(LocalDateTime.now())
+                .priorityDate(LocalDateTime.now())
+                .changeSeq(9L)
+                .build();
+        when(orderChangeSequence.visibleThrough()).thenReturn(12L);
+        when(orderRepository.findChanges(customerId, 5L, 12L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(pendingOrder, canceled));
+
+        // When
+        OrderChangesResponse response = orderService.getOrderChanges(customerId, 5L, 100);
+
+        // Then
+        assertEquals(List.of(6L, 9L), response.getChanges().stream().map(change -> change.getSequence()).toList());
+        assertEquals(OrderStatus.CANCELED, response.getChanges().get(1).getOrder().getStatus());
+        assertEquals(9L, response.getLastSequence());
+        assertTrue(response.isHasMore());
+    }
+
+    @Test
+    void getOrderChanges_MergesArchivedChanges() {
+        // Given
+        pendingOrder.setChangeSeq(8L);
+        OrderChangeResponse archived = OrderChangeResponse.builder()
+                .sequence(6L)
+                .order(OrderResponse.builder().id(2L).status(OrderStatus.MATCHED).build())
+                .build();
+        // Archived between the two reads, so it is returned by both
+        OrderChangeResponse moved = OrderChangeResponse.builder()
+                .sequence(8L)
+                .order(OrderResponse.builder().id(pendingOrder.getId()).status(OrderStatus.PENDING).build())
+                .build();
+        when(orderChangeSequence.visibleThrough()).thenReturn(12L);
+        when(orderRepository.findChanges(customerId, 5L, 12L, PageRequest.of(0, 2))).thenReturn(List.of(pendingOrder));
+        when(orderArchiveRepository.findChanges(customerId, 5L, 12L, 2)).thenReturn(List.of(archived, moved));
+
+        // When
+        OrderChangesResponse response = orderService.getOrderChanges(customerId, 5L, 2);
+
+        // Then
+        assertEquals(List.of(6L, 8L), response.getChanges().stream().map(change -> change.getSequence()).toList());
+        assertEquals(OrderStatus.MATCHED, response.getChanges().get(0).getOrder().getStatus());
+        assertEquals(8L, response.getLastSequence());
+        assertTrue(response.isHasMore());
+    }
+
+    @Test
+    void getOrderChanges_NoChangesKeepsSequence() {
+        // Given
+        when(orderChangeSequence.visibleThrough()).thenReturn(12L);
+        when(orderRepository.findChanges(customerId, 12L, 12L, PageRequest.of(0, 500))).thenReturn(List.of());
+
+        // When
+        OrderChangesResponse response = orderService.getOrderChanges(customerId, 12L, null);
+
+        // Then
+        assertTrue(response.getChanges().isEmpty());
+        assertEquals(12L, response.getLastSequence());
+        assertFalse(response.isHasMore());
+    }
 }
@@ -0,0 +1,134 @@
+package com.brokerage.api.service;
+import com.brokerage.api.dto.response.AssetValuationResponse;
+import com.brokerage.api.dto.response.PortfolioValuationResponse;
+import com.brokerage.api.event.OrderEvent;
+import com.brokerage.api.event.OrderEventType;
+import com.brokerage.api.model.Asset;
+import com.brokerage.api.model.OrderSide;
+import com.brokerage.api.repository.AssetRepository;
+import com.brokerage.api.service.impl.BalanceVersionServiceImpl;
+import com.brokerage.api.service.impl.PortfolioServiceImpl;
+import com.brokerage.api.service.impl.PriceServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PortfolioServiceTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    private PriceServiceImpl priceService;
+    private BalanceVersionServiceImpl balanceVersionService;
+    private PortfolioServiceImpl portfolioService;
+
+    private Long customerId;
+
+    @BeforeEach
+    void setUp() {
+        customerId = 1L;
+        priceService = new PriceServiceImpl();
+        balanceVersionService = new BalanceVersionServiceImpl(Optional.empty());
+        portfolioService = new PortfolioServiceImpl(assetRepository, priceService, balanceVersionService);
+
+        Asset tryAsset = Asset.builder()
+                .id(1L)
+                .customerId(customerId)
+                .assetName("TRY")
+                .size(10000.0)
+                .usableSize(8500.0)
+                .build();
+
+        Asset stockAsset = Asset.builder()
+                .id(2L)
+                .customerId(customerId)
+                .assetName("AAPL")
+                .size(100.0)
+                .usableSize(100.0)
+                .build();
+
+        Asset unpricedAsset = Asset.builder()
+                .id(3L)
+                .customerId(customerId)
+                .assetName("MSFT")
+                .size(5.0)
+                .usableSize(5.0)
+                .build();
+
+        when(assetRepository.findByCustomerId(customerId))
+                .thenReturn(Arrays.asList(tryAsset, stockAsset, unpricedAsset));
+    }
+
+    @Test
+    void getPortfolioValuation_Success() {
+        // Given
+        priceService.updatePrice("AAPL", 150.0);
+
+        // When
+        PortfolioValuationResponse response = portfolioService.getPortfolioValuation(customerId);
+
+        // Then
+        assertEquals("TRY", response.getCurrency());
+        assertEquals(25000.0, response.getTotalValue()); // 10000 + 100 * 150
+        assertEquals(3, response.getPositions().size());
+
+        AssetValuationResponse msft = response.getPositions().get(2);
+        assertNull(msft.getPrice());
+        assertNull(msft.getMarketValue());
+    }
+
+    @Test
+    void getPortfolioValuation_ServedFromCache() {
+        // When
+        PortfolioValuationResponse first = portfolioService.getPortfolioValuation(customerId);
+        PortfolioValuationResponse second = portfolioService.getPortfolioValuation(customerId);
+
+        // Then
+        assertSame(first, second);
+        verify(assetRepository, times(1)).findByCustomerId(customerId);
+    }
+
+    @Test
+    void getPortfolioValuation_InvalidatedOnPriceChange() {
+        // Given
+        priceService.updatePrice("AAPL", 150.0);
+        portfolioService.getPortfolioValuation(customerId);
+
+        // When
+        priceService.updatePrice("AAPL", 160.0);
+        PortfolioValuationResponse response = portfolioService.getPortfolioValuation(customerId);
+
+        // Then
+        assertEquals(26000.0, response.getTotalValue()); // 10000 + 100 * 160
+        verify(assetRepository, times(2)).findByCustomerId(customerId);
+    }
+
+    @Test
+    void getPortfolioValuation_InvalidatedOnBalanceChange() {
+        // Given
+        portfolioService.getPortfolioValuation(customerId);
+
+        // When
+        portfolioService.onOrderEvent(OrderEvent.builder()
+                .type(OrderEventType.CREATED)
+                .orderId(1L)
+                .customerId(customerId)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(10.0)
+                .price(150.0)
+                .build());
+        portfolioService.getPortfolioValuation(customerId);
+
+        // Then
+        verify(assetRepository, times(2)).findByCustomerId(customerId);
+    }
+}
@@ -0,0 +1,52 @@
+package com.brokerage.api.service;
+
+import com.brokerage.api.dto.request.PriceUpdateRequest;
+import com.brokerage.api.exception.ApiException;
+import com.brokerage.api.service.impl.PriceServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceServiceTest {
+
+    private PriceServiceImpl priceService;
+
+    @BeforeEach
+    void setUp() {
+        priceService = new PriceServiceImpl();
+        priceService.updatePrice("AAPL", 150.0);
+    }
+
+    @Test
+    void updatePrices_AppliesEveryPrice() {
+        priceService.updatePrices(List.of(price("AAPL", 155.0), price("MSFT", 300.0)));
+
+        assertEquals(Map.of("AAPL", 155.0, "MSFT", 300.0), priceService.getPrices());
+        assertEquals(3, priceService.getVersion());
+    }
+
+    @Test
+    void updatePrices_InvalidEntry_AppliesNone() {
+        List<List<PriceUpdateRequest>> batches = List.of(
+                List.of(price("MSFT", 300.0), price(null, 10.0)),
+                List.of(price("MSFT", 300.0), price("TRY", 2.0)),
+                List.of(price("MSFT", 300.0), price("GOOGL", 0.0)),
+                Arrays.asList(price("MSFT", 300.0), null));
+
+        for (List<PriceUpdateRequest> batch : batches) {
+            assertThrows(ApiException.class, () -> priceService.updatePrices(batch));
+        }
+
+        assertEquals(Map.of("AAPL", 150.0), priceService.getPrices());
+        assertEquals(1, priceService.getVersion());
+    }
+
+    private static PriceUpdateRequest price(String assetName, Double price) {
+        return PriceUpdateRequest.builder().assetName(assetName).price(price).build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.brokerage.api.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardMapTest {
+
+    @Test
+    void shardForCustomer_SpreadsCustomersEvenly() {
+        ShardMap shardMap = new ShardMap(4, 128);
+        int[] customers = new int[4];
+        for (long customerId = 1; customerId <= 10_000; customerId++) {
+            customers[shardMap.shardForCustomer(customerId)]++;
+        }
+
+        for (int count : customers) {
+            assertTrue(count > 2000 && count < 3000, "Uneven shard size " + count);
+        }
+    }
+
+    @Test
+    void shardForCustomer_AddingShardOnlyMovesCustomersToIt() {
+        ShardMap fourShards = new ShardMap(4, 128);
+        ShardMap fiveShards = new ShardMap(5, 128);
+        int moved = 0;
+        for (long customerId = 1; customerId <= 10_000; customerId++) {
+            int before = fourShards.shardForCustomer(customerId);
+            int after = fiveShards.shardForCustomer(customerId);
+            if (before != after) {
+                assertEquals(4, after);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > 1000 && moved < 3000, "Moved " + moved + " customers");
+    }
+
+    @Test
+    void shardOfId_DecodesShardOfFirstId() {
+        ShardMap shardMap = new ShardMap(4, 16);
+
+        assertEquals(1L, shardMap.firstId(0));
+        for (int shard = 0; shard < 4; shard++) {
+            assertEquals(shard, shardMap.shardOfId(shardMap.firstId(shard) + 1000));
+        }
+        // Ids outside the shards are looked up on shard 0
+        assertEquals(0, shardMap.shardOfId(shardMap.firstId(7)));
+        assertEquals(0, shardMap.shardOfId(null));
+    }
+
+    @Test
+    void singleShard_RoutesEverythingToShardZero() {
+        ShardMap shardMap = new ShardMap(1, 16);
+
+        assertEquals(0, shardMap.shardForCustomer(42L));
+        assertEquals(Map.of(0, List.of(1L, 2L, 3L)), shardMap.groupByShard(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void groupByShard() {
+        ShardMap shardMap = new ShardMap(3, 16);
+        long first = shardMap.firstId(2);
+
+        assertEquals(Map.of(0, List.of(5L, 6L), 2, List.of(first)),
+                shardMap.groupByShard(List.of(5L, first, 6L)));
+    }
+}
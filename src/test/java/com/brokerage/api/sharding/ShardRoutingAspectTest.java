@@ -0,0 +1,231 @@
+package com.brokerage.api.sharding;
+
+import com.brokerage.api.model.Order;
+import com.brokerage.api.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardRoutingAspectTest {
+
+    private final ShardMap shardMap = new ShardMap(3, 16);
+    private final RoutedOrderRepository target = new RoutedOrderRepository();
+    private ShardRoutingAspect aspect;
+    private OrderRepositoryUnderTest repository;
+
+    @BeforeEach
+    void setUp() {
+        aspect = new ShardRoutingAspect(shardMap, 3);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(aspect);
+        repository = proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        aspect.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void byId_RoutedToShardInUpperBits() {
+        long id = shardMap.firstId(2) + 41;
+
+        assertEquals(id, repository.findById(id).orElseThrow().getId());
+        assertEquals(2L, repository.countFillsById(id));
+        assertEquals(List.of(2, 2), target.shards);
+        assertEquals(2, id >>> ShardMap.SHARD_ID_SHIFT);
+    }
+
+    @Test
+    void byCustomer_RoutedToCustomerShard() {
+        long customerId = customerOn(1);
+
+        repository.findByCustomerId(customerId);
+
+        assertEquals(List.of(1), target.shards);
+    }
+
+    @Test
+    void byCustomerIds_RunOnEveryShardOfTheCustomers() {
+        List<Long> customerIds = new ArrayList<>(customersOn(2, 2));
+        customerIds.add(customerOn(0));
+
+        List<Order> orders = repository.findByCustomerIdIn(customerIds);
+
+        assertEquals(List.of(0, 2), target.sortedShards());
+        assertEquals(2, orders.size());
+    }
+
+    @Test
+    void keylessFind_FansOutAndMergesLists() {
+        List<Order> orders = repository.findByStatus(OrderStatus.PENDING);
+
+        assertEquals(List.of(0, 1, 2), target.sortedShards());
+        assertEquals(List.of(shardMap.firstId(0), shardMap.firstId(1), shardMap.firstId(2)),
+                orders.stream().map(Order::getId).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void keylessFind_FansOutAndMergesOptionals() {
+        assertEquals(shardMap.firstId(1), repository.findFirstByAssetName("AAPL").orElseThrow().getId());
+        assertTrue(repository.findFirstByAssetName("MSFT").isEmpty());
+        assertEquals(List.of(0, 0, 1, 1, 2, 2), target.sortedShards());
+    }
+
+    @Test
+    void deleteExpired_RunsOnEveryShardAndSumsCounts() {
+        assertEquals(3, repository.deleteExpired(LocalDateTime.now()));
+        assertEquals(List.of(0, 1, 2), target.sortedShards());
+    }
+
+    @Test
+    void inTransaction_FirstKeyPinsAndKeylessCallsFollowIt() {
+        beginTransaction();
+        long customerId = customerOn(2);
+
+        repository.findByCustomerId(customerId);
+        repository.findByStatus(OrderStatus.PENDING);
+
+        assertEquals(2, ShardContext.pinnedShard());
+        assertEquals(List.of(2, 2), target.shards);
+        IllegalStateException otherShard = assertThrows(IllegalStateException.class,
+                () -> repository.findByCustomerId(customerOn(0)));
+        assertTrue(otherShard.getMessage().contains("Transaction on shard 2"));
+    }
+
+    @Test
+    void inTransaction_KeylessCallWithoutPinFails() {
+        beginTransaction();
+
+        assertThrows(IllegalStateException.class, () -> repository.findByStatus(OrderStatus.PENDING));
+        assertThrows(IllegalStateException.class,
+                () -> repository.findByCustomerIdIn(List.of(customerOn(0), customerOn(1))));
+        assertTrue(target.shards.isEmpty());
+        assertNull(ShardContext.pinnedShard());
+    }
+
+    @Test
+    void outsideTransaction_WriteToSeveralShardsFails() {
+        assertThrows(IllegalStateException.class,
+                () -> repository.deleteByCustomerIdIn(List.of(customerOn(0), customerOn(1))));
+        assertTrue(target.shards.isEmpty());
+    }
+
+    private long customerOn(int shard) {
+        return customersOn(shard, 1).get(0);
+    }
+
+    private List<Long> customersOn(int shard, int count) {
+        return LongStream.iterate(1, customerId -> customerId + 1)
+                .filter(customerId -> shardMap.shardForCustomer(customerId) == shard)
+                .limit(count)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    public interface OrderRepositoryUnderTest extends Repository<Order, Long> {
+
+        Optional<Order> findById(Long id);
+
+        // Neither id nor orderId, routed as a *ById method
+        long countFillsById(Long value);
+
+        List<Order> findByCustomerId(Long customerId);
+
+        List<Order> findByCustomerIdIn(Collection<Long> customerIds);
+
+        List<Order> findByStatus(OrderStatus status);
+
+        Optional<Order> findFirstByAssetName(String assetName);
+
+        int deleteExpired(LocalDateTime now);
+
+        int deleteByCustomerIdIn(Collection<Long> customerIds);
+    }
+
+    // Answers with rows of the shard it is called on
+    private class RoutedOrderRepository implements OrderRepositoryUnderTest {
+
+        private final List<Integer> shards = Collections.synchronizedList(new ArrayList<>());
+
+        List<Integer> sortedShards() {
+            return shards.stream().sorted().collect(Collectors.toList());
+        }
+
+        private int shard() {
+            int shard = ShardContext.current();
+            shards.add(shard);
+            return shard;
+        }
+
+        private Order order(long id) {
+            return Order.builder().id(id).build();
+        }
+
+        @Override
+        public Optional<Order> findById(Long id) {
+            return shardMap.shardOfId(id) == shard() ? Optional.of(order(id)) : Optional.empty();
+        }
+
+        @Override
+        public long countFillsById(Long value) {
+            return shard();
+        }
+
+        @Override
+        public List<Order> findByCustomerId(Long customerId) {
+            return List.of(order(shardMap.firstId(shard())));
+        }
+
+        @Override
+        public List<Order> findByCustomerIdIn(Collection<Long> customerIds) {
+            return List.of(order(shardMap.firstId(shard())));
+        }
+
+        @Override
+        public List<Order> findByStatus(OrderStatus status) {
+            return List.of(order(shardMap.firstId(shard())));
+        }
+
+        @Override
+        public Optional<Order> findFirstByAssetName(String assetName) {
+            int shard = shard();
+            return assetName.equals("AAPL") && shard == 1
+                    ? Optional.of(order(shardMap.firstId(shard))) : Optional.empty();
+        }
+
+        @Override
+        public int deleteExpired(LocalDateTime now) {
+            shard();
+            return 1;
+        }
+
+        @Override
+        public int deleteByCustomerIdIn(Collection<Long> customerIds) {
+            shard();
+            return customerIds.size();
+        }
+    }
+}
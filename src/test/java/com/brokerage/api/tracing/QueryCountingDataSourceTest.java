@@ -0,0 +1,51 @@
+package com.brokerage.api.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryCountingDataSourceTest {
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new QueryCountingDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:query-counting;DB_CLOSE_DELAY=-1", "sa", "")));
+
+    @AfterEach
+    void tearDown() {
+        QueryStats.bind(null);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void countsStatementsRowsAndTimeOfTheBoundStats() {
+        jdbcTemplate.execute("CREATE TABLE prices (asset VARCHAR(16), price DOUBLE)");
+        QueryStats stats = new QueryStats();
+        QueryStats.bind(stats);
+
+        jdbcTemplate.update("INSERT INTO prices VALUES (?, ?)", "AAPL", 150.0);
+        jdbcTemplate.update("INSERT INTO prices VALUES (?, ?)", "GOOGL", 100.0);
+        List<String> assets = jdbcTemplate.queryForList("SELECT asset FROM prices", String.class);
+
+        assertEquals(2, assets.size());
+        assertEquals(3, stats.getStatements());
+        assertEquals(2, stats.getRows());
+        assertTrue(stats.getNanos() > 0);
+    }
+
+    @Test
+    void statementsWithoutBoundStatsAreNotCounted() {
+        QueryStats stats = new QueryStats();
+
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        QueryStats.bind(stats);
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        assertEquals(1, stats.getStatements());
+        assertEquals(1, stats.getRows());
+    }
+}
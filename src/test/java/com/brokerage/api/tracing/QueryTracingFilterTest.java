@@ -0,0 +1,93 @@
+package com.brokerage.api.tracing;
+
+import com.brokerage.api.config.QueryTracingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class QueryTracingFilterTest {
+
+    private final QueryTracingProperties properties = new QueryTracingProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryTracingFilter filter = new QueryTracingFilter(properties, meterRegistry);
+
+    @Test
+    void doFilter_RecordsMetricsPerEndpoint() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), statements(3));
+
+        assertEquals(3.0, meterRegistry.get("http.server.requests.db.statements")
+                .tag("method", "GET").tag("uri", "/api/orders/{orderId}").summary().totalAmount());
+        assertEquals(3.0, meterRegistry.get("http.server.requests.db.rows").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("http.server.requests.db.time").timer().count());
+        assertNull(meterRegistry.find("http.server.requests.db.over.budget").counter());
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    void doFilter_FlagsRequestsOverBudget() throws Exception {
+        properties.setHeaders(true);
+        properties.setMaxStatements(2);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, statements(3));
+
+        assertEquals("3", response.getHeader(QueryTracingFilter.STATEMENTS_HEADER));
+        assertEquals("3", response.getHeader(QueryTracingFilter.ROWS_HEADER));
+        assertEquals("true", response.getHeader(QueryTracingFilter.OVER_BUDGET_HEADER));
+        assertEquals("{}", response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(1.0, meterRegistry.get("http.server.requests.db.over.budget").counter().count());
+    }
+
+    @Test
+    void doFilter_NoHeadersByDefault() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, statements(1));
+
+        assertNull(response.getHeader(QueryTracingFilter.STATEMENTS_HEADER));
+        assertEquals("{}", response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void doFilter_StreamsNdjsonWithoutBuffering() throws Exception {
+        properties.setHeaders(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (request, wrapped) -> {
+            QueryStats.current().recordStatement(1_000);
+            wrapped.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            wrapped.getOutputStream().write("{}\n".getBytes(StandardCharsets.UTF_8));
+            // Reaches the client while the request is still running
+            assertEquals("{}\n", response.getContentAsString(StandardCharsets.UTF_8));
+        });
+
+        assertEquals("{}\n", response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(1.0, meterRegistry.get("http.server.requests.db.statements").summary().totalAmount());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/orders/{orderId}");
+        return request;
+    }
+
+    // Stands in for the controller: runs statements reading one row each, then writes the body
+    private static FilterChain statements(int count) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                QueryStats.current().recordStatement(1_000);
+                QueryStats.current().recordRow();
+            }
+            response.getWriter().write("{}");
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.brokerage.api.util;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalTimerWheelTest {
+
+    private static final long TICK_MS = 10;
+
+    @Test
+    void advance_FiresTimersWhenDue() {
+        // Given
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK_MS, 3, 0);
+        wheel.schedule("a", 50);
+        wheel.schedule("b", 100);
+        List<String> expired = new ArrayList<>();
+
+        // When & Then
+        wheel.advance(40, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(50, expired::add);
+        assertEquals(List.of("a"), expired);
+
+        wheel.advance(1000, expired::add);
+        assertEquals(List.of("a", "b"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_CascadesTimersFromHigherLevels() {
+        // Given
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK_MS, 3, 0);
+        long deadline = 300_000 * TICK_MS; // beyond level 1, below the top level span
+        wheel.schedule(1L, deadline);
+        List<Long> expired = new ArrayList<>();
+
+        // When & Then
+        wheel.advance(deadline - TICK_MS, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(deadline, expired::add);
+        assertEquals(List.of(1L), expired);
+    }
+
+    @Test
+    void advance_HandlesTimersBeyondTopLevel() {
+        // Given
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK_MS, 1, 0);
+        wheel.schedule(1L, 1000 * TICK_MS);
+        List<Long> expired = new ArrayList<>();
+
+        // When & Then
+        wheel.advance(999 * TICK_MS, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(1000 * TICK_MS, expired::add);
+        assertEquals(List.of(1L), expired);
+    }
+
+    @Test
+    void schedule_DeadlineBetweenTicks_NeverFiresEarly() {
+        // Given
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK_MS, 2, 0);
+        wheel.schedule(1L, 55);
+        List<Long> expired = new ArrayList<>();
+
+        // When & Then
+        wheel.advance(54, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(60, expired::add);
+        assertEquals(List.of(1L), expired);
+    }
+
+    @Test
+    void schedule_AlreadyDue_FiresOnNextAdvance() {
+        // Given
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK_MS, 2, 1000);
+        wheel.schedule(1L, 500);
+        List<Long> expired = new ArrayList<>();
+
+        // When
+        wheel.advance(1000, expired::add);
+
+        // Then
+        assertEquals(List.of(1L), expired);
+    }
+
+    @Test
+    void advance_RandomDeadlines_NeverEarlyNorLate() {
+        // Given
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(1, 2, 0);
+        Random random = new Random(42);
+        long[] deadlines = new long[5000];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = 1 + random.nextInt(200_000);
+            wheel.schedule((long) i, deadlines[i]);
+        }
+
+        // When & Then
+        for (long now = 0; now < 200_000 + 97; now += 97) {
+            long time = now;
+            wheel.advance(time, id -> {
+                assertTrue(deadlines[id.intValue()] <= time);
+                assertTrue(deadlines[id.intValue()] > time - 97);
+            });
+        }
+        assertEquals(0, wheel.size());
+    }
+}
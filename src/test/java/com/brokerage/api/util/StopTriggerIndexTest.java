@@ -0,0 +1,66 @@
+package com.brokerage.api.util;
+import com.brokerage.api.model.OrderSide;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StopTriggerIndexTest {
+
+    @Test
+    void trigger_BuyStopsAtOrBelowTradePrice() {
+        // Given
+        StopTriggerIndex index = new StopTriggerIndex();
+        index.add("AAPL", OrderSide.BUY, 110.0, 1L);
+        index.add("AAPL", OrderSide.BUY, 105.0, 2L);
+        index.add("AAPL", OrderSide.BUY, 120.0, 3L);
+
+        // When & Then
+        assertTrue(index.trigger("AAPL", 104.0).isEmpty());
+        assertEquals(List.of(2L, 1L), index.trigger("AAPL", 110.0));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void trigger_SellStopsAtOrAboveTradePrice() {
+        // Given
+        StopTriggerIndex index = new StopTriggerIndex();
+        index.add("AAPL", OrderSide.SELL, 90.0, 1L);
+        index.add("AAPL", OrderSide.SELL, 95.0, 2L);
+        index.add("AAPL", OrderSide.SELL, 80.0, 3L);
+
+        // When & Then
+        assertTrue(index.trigger("AAPL", 96.0).isEmpty());
+        assertEquals(List.of(2L, 1L), index.trigger("AAPL", 90.0));
+        assertEquals(List.of(3L), index.trigger("AAPL", 50.0));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void trigger_OnlyTouchesTradedInstrument() {
+        // Given
+        StopTriggerIndex index = new StopTriggerIndex();
+        index.add("AAPL", OrderSide.BUY, 100.0, 1L);
+        index.add("GOOGL", OrderSide.BUY, 100.0, 2L);
+
+        // When & Then
+        assertEquals(List.of(2L), index.trigger("GOOGL", 100.0));
+        assertTrue(index.trigger("MSFT", 100.0).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_CanceledStopIsNotTriggered() {
+        // Given
+        StopTriggerIndex index = new StopTriggerIndex();
+        index.add("AAPL", OrderSide.BUY, 100.0, 1L);
+        index.add("AAPL", OrderSide.BUY, 100.0, 2L);
+
+        // When
+        assertTrue(index.remove("AAPL", OrderSide.BUY, 100.0, 1L));
+        assertFalse(index.remove("AAPL", OrderSide.BUY, 100.0, 1L));
+
+        // Then
+        assertEquals(List.of(2L), index.trigger("AAPL", 100.0));
+    }
+}
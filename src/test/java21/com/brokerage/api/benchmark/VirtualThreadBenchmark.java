@@ -0,0 +1,132 @@
+package com.brokerage.api.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator comparing the platform-thread and virtual-thread request modes. Every client sends
+ * the next JDBC-backed query as soon as the previous one returned, for a warmup and a measured period.
+ * <p>
+ * Start the application once without and once with the vthreads Spring profile (rate limiting disabled) and run
+ * against each:
+ * <pre>
+ * java -cp target/test-classes com.brokerage.api.benchmark.VirtualThreadBenchmark \
+ *     [baseUrl=http://localhost:8080] [clients=5000] [seconds=30] [warmupSeconds=10]
+ * </pre>
+ */
+public class VirtualThreadBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        String token = login(httpClient, baseUrl);
+        List<URI> queries = List.of(
+                URI.create(baseUrl + "/api/assets?customerId=1"),
+                URI.create(baseUrl + "/api/orders?customerId=1"));
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                results.add(executor.submit(() -> runClient(httpClient, token, queries, client, measureFrom, end, errors)));
+            }
+        }
+
+        long[] latencies = results.stream().flatMapToLong(result -> {
+            try {
+                return Arrays.stream(result.get());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).sorted().toArray();
+
+        System.out.printf("clients=%d seconds=%d requests=%d errors=%d%n", clients, seconds, latencies.length, errors.get());
+        System.out.printf("throughput=%.0f req/s%n", latencies.length / (double) seconds);
+        System.out.printf("p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+    }
+
+    private static long[] runClient(HttpClient httpClient, String token, List<URI> queries, int client,
+                                    long measureFrom, long end, AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        for (int i = client; ; i++) {
+            long sent = System.nanoTime();
+            if (sent >= end) {
+                break;
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(queries.get(i % queries.size()))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+                continue;
+            }
+
+            long received = System.nanoTime();
+            if (sent >= measureFrom && received < end) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = received - sent;
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static String login(HttpClient httpClient, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin123\"}"))
+                .build();
+        String body = httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,96 @@
+package com.brokerage.api.reactive.controller;
+
+import com.brokerage.api.dto.response.AssetResponse;
+import com.brokerage.api.reactive.repository.R2dbcAssetRepository;
+import com.brokerage.api.reactive.security.ReactiveSecurityService;
+import com.brokerage.api.security.UserPrincipal;
+import com.brokerage.api.service.BalanceVersionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveAssetControllerTest {
+
+    private static final String ETAG = "W/\"1700000000000-7\"";
+
+    @Mock
+    private R2dbcAssetRepository assetRepository;
+
+    @Mock
+    private ReactiveSecurityService securityService;
+
+    @Mock
+    private BalanceVersionService balanceVersionService;
+
+    @InjectMocks
+    private ReactiveAssetController assetController;
+
+    private final UserPrincipal customer = new UserPrincipal(1L, "customer1", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+
+    @Test
+    void getAssetsByCustomerId_ReturnsETag() {
+        AssetResponse asset = AssetResponse.builder().customerId(1L).assetName("TRY").build();
+        when(securityService.checkCustomerOwner(1L, customer)).thenReturn(Mono.empty());
+        when(balanceVersionService.getETag(1L)).thenReturn(Optional.of(ETAG));
+        when(assetRepository.findByCustomerId(1L)).thenReturn(Flux.just(asset));
+
+        ResponseEntity<Flux<AssetResponse>> response =
+                assetController.getAssetsByCustomerId(1L, customer, exchange(null)).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        StepVerifier.create(response.getBody()).expectNext(asset).verifyComplete();
+    }
+
+    @Test
+    void getAssetsByCustomerId_MatchingETag_NotModifiedWithoutRead() {
+        when(securityService.checkCustomerOwner(1L, customer)).thenReturn(Mono.empty());
+        when(balanceVersionService.getETag(1L)).thenReturn(Optional.of(ETAG));
+        MockServerWebExchange exchange = exchange(ETAG);
+
+        ResponseEntity<Flux<AssetResponse>> response =
+                assetController.getAssetsByCustomerId(1L, customer, exchange).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, exchange.getResponse().getHeaders().getETag());
+        verifyNoInteractions(assetRepository);
+    }
+
+    @Test
+    void getAssetsByCustomerId_NotOwner_NoVersionLookup() {
+        when(securityService.checkCustomerOwner(2L, customer))
+                .thenReturn(Mono.error(new AccessDeniedException("denied")));
+
+        StepVerifier.create(assetController.getAssetsByCustomerId(2L, customer, exchange(ETAG)))
+                .expectError(AccessDeniedException.class)
+                .verify();
+        verifyNoInteractions(balanceVersionService, assetRepository);
+    }
+
+    private static MockServerWebExchange exchange(String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/assets?customerId=1");
+        if (ifNoneMatch != null) {
+            request.ifNoneMatch(ifNoneMatch);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,111 @@
+package com.brokerage.api.reactive.security;
+
+import com.brokerage.api.dto.response.AssetResponse;
+import com.brokerage.api.reactive.repository.R2dbcAssetRepository;
+import com.brokerage.api.reactive.repository.R2dbcOrderRepository;
+import com.brokerage.api.reactive.repository.R2dbcUserRepository;
+import com.brokerage.api.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveSecurityServiceTest {
+
+    @Mock
+    private R2dbcUserRepository userRepository;
+
+    @Mock
+    private R2dbcOrderRepository orderRepository;
+
+    @Mock
+    private R2dbcAssetRepository assetRepository;
+
+    @InjectMocks
+    private ReactiveSecurityService securityService;
+
+    private final UserPrincipal admin = new UserPrincipal(1L, "admin", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    private final UserPrincipal customer = new UserPrincipal(2L, "customer1", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+
+    @Test
+    void checkCustomerOwner_AdminPassesWithoutLookup() {
+        StepVerifier.create(securityService.checkCustomerOwner(5L, admin)).verifyComplete();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void checkCustomerOwner_OwnCustomerPasses() {
+        when(userRepository.findCustomerIdByUserId(2L)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(securityService.checkCustomerOwner(1L, customer)).verifyComplete();
+    }
+
+    @Test
+    void checkCustomerOwner_OtherCustomerDenied() {
+        when(userRepository.findCustomerIdByUserId(2L)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(securityService.checkCustomerOwner(3L, customer))
+                .verifyError(AccessDeniedException.class);
+    }
+
+    @Test
+    void checkCustomerOwner_UserWithoutCustomerDenied() {
+        when(userRepository.findCustomerIdByUserId(2L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(securityService.checkCustomerOwner(1L, customer))
+                .verifyError(AccessDeniedException.class);
+    }
+
+    @Test
+    void checkOrderOwner_OrderOfOtherCustomerDenied() {
+        when(userRepository.findCustomerIdByUserId(2L)).thenReturn(Mono.just(1L));
+        when(orderRepository.findCustomerIdById(10L)).thenReturn(Mono.just(3L));
+
+        StepVerifier.create(securityService.checkOrderOwner(10L, customer))
+                .verifyError(AccessDeniedException.class);
+    }
+
+    @Test
+    void checkOrderOwner_MissingOrderDenied() {
+        when(userRepository.findCustomerIdByUserId(2L)).thenReturn(Mono.just(1L));
+        when(orderRepository.findCustomerIdById(10L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(securityService.checkOrderOwner(10L, customer))
+                .verifyError(AccessDeniedException.class);
+    }
+
+    @Test
+    void checkAssetOwner_OwnAssetPasses() {
+        when(userRepository.findCustomerIdByUserId(2L)).thenReturn(Mono.just(1L));
+        when(assetRepository.findById(7L)).thenReturn(Mono.just(AssetResponse.builder().id(7L).customerId(1L).build()));
+
+        StepVerifier.create(securityService.checkAssetOwner(7L, customer)).verifyComplete();
+    }
+
+    @Test
+    void getCustomerIdUnlessAdmin() {
+        when(userRepository.findCustomerIdByUserId(2L)).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(securityService.getCustomerIdUnlessAdmin(admin))
+                .expectNext(Optional.empty())
+                .verifyComplete();
+        StepVerifier.create(securityService.getCustomerIdUnlessAdmin(customer))
+                .expectNext(Optional.of(1L))
+                .verifyComplete();
+    }
+}